@@ -1,4 +1,5 @@
 /*
+ * (#)module-info.java  0.9.0   10/19/2026
  * (#)module-info.java  0.8.0   09/24/2024
  * (#)module-info.java  0.5.0   09/19/2024
  * (#)module-info.java  0.4.0   09/19/2024
@@ -32,6 +33,8 @@
 /// @since  0.1.0
 module java23_demo.main {
     requires java.base;
+    requires static jdk.incubator.vector;
+    requires jdk.jfr;
     requires logging.utilities;
     requires org.slf4j;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package net.jmp.demo.java23;
 
 /*
+ * (#)Main.java 0.9.0   10/19/2026
  * (#)Main.java 0.8.0   09/24/2024
  * (#)Main.java 0.6.0   09/20/2024
  * (#)Main.java 0.5.0   09/19/2024
@@ -37,13 +38,15 @@ import module org.slf4j;
 
 import net.jmp.demo.java23.demos.*;
 
+import net.jmp.demo.java23.events.DemoEvent;
+
 import static net.jmp.util.logging.LoggerUtils.*;
 
 /// The main class. This class is instantiated
 /// and run from the bootstrap class when the
 /// application starts.
 ///
-/// @version    0.8.0
+/// @version    0.9.0
 /// @since      0.1.0
 final class Main implements Runnable {
     /// The logger.
@@ -95,13 +98,35 @@ final class Main implements Runnable {
                 new BeforeSuperDemo(),
                 new UnnamedVariablesDemo(),
                 new StructuredConcurrencyDemo(),
-                new PrimitivesDemo()
+                new PrimitivesDemo(),
+                new VectorApiDemo()
         );
 
-        demos.forEach(Demo::demo);
+        demos.forEach(this::runDemo);
 
         if (this.logger.isTraceEnabled()) {
             this.logger.trace(exit());
         }
     }
+
+    /// Run a demo, recording the run as
+    /// a flight recorder event.
+    ///
+    /// @param  demo    net.jmp.demo.java23.demos.Demo
+    private void runDemo(final Demo demo) {
+        final DemoEvent event = new DemoEvent();
+
+        event.begin();
+
+        try {
+            demo.demo();
+        } finally {
+            event.end();
+
+            if (event.shouldCommit()) {
+                event.setDemo(demo.getClass().getName());
+                event.commit();
+            }
+        }
+    }
 }
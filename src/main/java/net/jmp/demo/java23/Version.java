@@ -1,6 +1,7 @@
 package net.jmp.demo.java23;
 
 /*
+ * (#)Version.java  0.9.0   10/19/2026
  * (#)Version.java  0.8.0   09/24/2024
  * (#)Version.java  0.7.0   09/20/2024
  * (#)Version.java  0.6.0   09/19/2024
@@ -36,11 +37,11 @@ package net.jmp.demo.java23;
 /// The version class. This class simply
 /// provides a string constant.
 ///
-/// @version    0.8.0
+/// @version    0.9.0
 /// @since      0.1.0
 final class Version {
     /// The version.
-    static final String VERSION_STRING = "0.8.0";
+    static final String VERSION_STRING = "0.9.0";
 
     /// The default constructor.
     private Version() {
@@ -1,6 +1,7 @@
 package net.jmp.demo.java23.demos;
 
 /*
+ * (#)StreamGatherersDemo.java  0.9.0   10/19/2026
  * (#)StreamGatherersDemo.java  0.8.0   09/24/2024
  * (#)StreamGatherersDemo.java  0.7.0   09/21/2024
  * (#)StreamGatherersDemo.java  0.5.0   09/19/2024
@@ -33,11 +34,29 @@ package net.jmp.demo.java23.demos;
 import module java.base;
 import module org.slf4j;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import net.jmp.demo.java23.events.GathererEvent;
+
 import net.jmp.demo.java23.gatherers.*;
 
+import net.jmp.demo.java23.records.CardinalityEstimate;
+import net.jmp.demo.java23.records.ExecutionPlan;
+import net.jmp.demo.java23.records.Group;
+import net.jmp.demo.java23.records.HeavyHitter;
 import net.jmp.demo.java23.records.Money;
+import net.jmp.demo.java23.records.StageMetrics;
+import net.jmp.demo.java23.records.StepDiagnostics;
+import net.jmp.demo.java23.records.TimeWindow;
 
 import net.jmp.demo.java23.util.GatherersFactory;
+import net.jmp.demo.java23.util.KllSketch;
+import net.jmp.demo.java23.util.MetricsRegistry;
+import net.jmp.demo.java23.util.MoneyCodec;
+import net.jmp.demo.java23.util.PrimitiveGatherers;
+import net.jmp.demo.java23.util.StateBudget;
+import net.jmp.demo.java23.util.StateBudgetExceededException;
 
 import static net.jmp.util.logging.LoggerUtils.*;
 
@@ -49,9 +68,21 @@ import static net.jmp.util.logging.LoggerUtils.*;
 /// - [Stream Gatherers In Practice Part 2](https://softwaremill.com/stream-gatherers-in-practice-part-2/)
 /// - [Java Stream Gather Example](https://github.com/lukaszrola/java-stream-gather-example)
 ///
-/// @version    0.8.0
+/// @version    0.9.0
 /// @since      0.2.0
 public final class StreamGatherersDemo implements Demo {
+    /// The number of elements mapped by the map parallel benchmark.
+    private static final int MAP_BENCHMARK_SIZE = 2_048;
+
+    /// The number of warm-up rounds per mapping.
+    private static final int MAP_WARM_UP_ROUNDS = 5;
+
+    /// The number of timed rounds per mapping.
+    private static final int MAP_TIMED_ROUNDS = 10;
+
+    /// The number of mixing rounds per element, which makes the mapper CPU-bound.
+    private static final int MAP_WORK = 20_000;
+
     /// The logger.
     private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
 
@@ -70,8 +101,12 @@ public final class StreamGatherersDemo implements Demo {
         if (this.logger.isInfoEnabled()) {
             this.logger.info("Sliding windows: {}", this.slidingWindows());
             this.logger.info("Fixed windows: {}", this.fixedWindows());
+            this.logger.info("Sliding window views: {}", this.slidingWindowViews());
+            this.logger.info("Fixed window views: {}", this.fixedWindowViews());
             this.logger.info("Scan: {}", this.scan());
             this.logger.info("Fold: {}", this.fold());
+            this.logger.info("Scan mutable: {}", this.scanMutable());
+            this.logger.info("Fold mutable: {}", this.foldMutable());
             this.logger.info("MapConcurrent: {}", this.mapConcurrent());
         }
 
@@ -126,6 +161,64 @@ public final class StreamGatherersDemo implements Demo {
         return windows;
     }
 
+    /// Sliding windows as views over a recycled ring buffer.
+    /// Each view is joined in place and released, so the
+    /// ring buffer is reused without copying any window.
+    ///
+    /// @return java.util.List<java.lang.String>
+    private List<String> slidingWindowViews() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<String> countries = List.of("India", "Poland", "UK", "Australia", "USA", "Netherlands");
+
+        final List<String> windows = countries
+                .stream()
+                .gather(GatherersFactory.<String>windowSlidingView(3))
+                .map(view -> {
+                    try (view) {
+                        return String.join(", ", view);
+                    }
+                })
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(windows));
+        }
+
+        return windows;
+    }
+
+    /// Fixed windows as views over a recycled array.
+    /// Each view is joined in place and released, so
+    /// the array is handed back for the next window.
+    ///
+    /// @return java.util.List<java.lang.String>
+    private List<String> fixedWindowViews() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<String> composers = List.of("Mozart", "Bach", "Beethoven", "Mahler", "Bruckner", "Liszt", "Chopin", "Telemann", "Vivaldi");
+
+        final List<String> windows = composers
+                .stream()
+                .gather(GatherersFactory.<String>windowFixedView(2))
+                .map(view -> {
+                    try (view) {
+                        return String.join(", ", view);
+                    }
+                })
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(windows));
+        }
+
+        return windows;
+    }
+
     /// Scan.
     ///
     /// @return java.util.List<java.lang.String>
@@ -168,6 +261,57 @@ public final class StreamGatherersDemo implements Demo {
         return numbers;
     }
 
+    /// Scan into a mutable string builder. Appending
+    /// is linear; only the emitted snapshots are copies.
+    ///
+    /// @return java.util.List<java.lang.String>
+    private List<String> scanMutable() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<String> numbers = Stream.of(
+                1, 2, 3, 4, 5, 6, 7, 8, 9
+        ).gather(
+                GatherersFactory.<Integer, StringBuilder, String>scanMutable(
+                        StringBuilder::new,
+                        (builder, number) -> builder.append(number),
+                        StringBuilder::toString)
+        ).toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(numbers));
+        }
+
+        return numbers;
+    }
+
+    /// Fold into a mutable string builder on a parallel
+    /// stream. Each segment appends to its own builder
+    /// and the builders are combined in encounter order.
+    ///
+    /// @return java.lang.String
+    private String foldMutable() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final String numbers = Stream.of(
+                1, 2, 3, 4, 5, 6, 7, 8, 9
+        ).parallel().gather(
+                GatherersFactory.<Integer, StringBuilder>foldMutable(
+                        StringBuilder::new,
+                        (builder, number) -> builder.append(number),
+                        (left, right) -> left.append(right))
+        ).map(StringBuilder::toString).findFirst().orElse("");
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(numbers));
+        }
+
+        return numbers;
+    }
+
     /// Map concurrent.
     ///
     /// @return java.util.List<java.lang.String>
@@ -206,13 +350,44 @@ public final class StreamGatherersDemo implements Demo {
             );
 
             this.logger.info("DistinctBy: {}", this.customDistinctBy(money));
+            this.logger.info("DistinctUntilChangedBy: {}", this.customDistinctUntilChangedBy(money));
             this.logger.info("ReduceBy: {}", this.customReduceByGatherer(money));
             this.logger.info("MaxBy: {}", this.customMaxByGatherer(money));
+            this.logger.info("Pipeline plans: {}", this.customGathererPipeline(money));
             this.logger.info("MinBy: {}", this.customMinByGatherer(money));
             this.logger.info("MapNotNull: {}", this.customMapNotNullGatherer());
             this.logger.info("FindFirst: {}", this.customFindFirstGatherer(money));
             this.logger.info("FindLast: {}", this.customFindLastGatherer(money));
+            this.logger.info("TakeLast: {}", this.customTakeLastGatherer(money));
+            this.logger.info("FindLastN: {}", this.customFindLastNGatherer(money));
             this.logger.info("AndThen: {}", this.customGatherAndThen());
+            this.logger.info("Instrumented AndThen: {}", this.customInstrumentedGatherAndThen());
+            this.logger.info("MapParallel: {}", this.customMapParallelGatherer(money));
+            this.mapParallelBenchmark(MAP_BENCHMARK_SIZE, MAP_WARM_UP_ROUNDS, MAP_TIMED_ROUNDS).forEach(this.logger::info);
+            this.logger.info("Batch: {}", this.customBatchGatherer(money));
+            this.logger.info("SlidingSum: {}", this.customSlidingSumGatherer(money));
+            this.logger.info("SlidingMaxBy: {}", this.customSlidingMaxByGatherer(money));
+            this.logger.info("SlidingMedian: {}", this.customSlidingMedianGatherer());
+            this.logger.info("TumblingWindows: {}", this.customTumblingWindowGatherer());
+            this.logger.info("SessionWindows: {}", this.customSessionWindowGatherer());
+            this.logger.info("ParallelScan: {}", this.customParallelScanGatherer().getLast());
+            this.logger.info("Sample: {}", this.customReservoirSampleGatherer());
+            this.logger.info("ParallelSample: {}", this.customParallelReservoirSampleGatherer());
+            this.logger.info("CountDistinctBy: {}", this.customCountDistinctByGatherer());
+            this.logger.info("QuantilesBy: {}", this.customQuantilesByGatherer());
+            this.logger.info("HeavyHitters: {}", this.customHeavyHittersGatherer());
+            this.logger.info("ReorderBy: {}", this.customReorderGatherer());
+            this.logger.info("SortBy: {}", this.customExternalSortGatherer(money));
+            this.logger.info("Join: {}", this.customJoinGatherer(money));
+            this.logger.info("StreamingGroupBy: {}", this.customStreamingGroupGatherer());
+            this.logger.info("Throttle: {}", this.customThrottleGatherer());
+            this.logger.info("Debounce: {}", this.customDebounceGatherer());
+            this.logger.info("Primitive scan: {}", Arrays.toString(this.customPrimitiveScan()));
+            this.logger.info("Primitive distinct: {}", Arrays.toString(this.customPrimitiveDistinct()));
+            this.logger.info("Primitive sliding windows: {}", this.customPrimitiveWindowSliding().stream().map(Arrays::toString).toList());
+            this.logger.info("Diagnostics: {}", this.customDiagnosticGatherer());
+            this.logger.info("Recorded: {}", this.customRecordedGatherer());
+            this.logger.info("Budgeted: {}", this.customBudgetedGatherers());
         }
 
         if (this.logger.isTraceEnabled()) {
@@ -245,6 +420,31 @@ public final class StreamGatherersDemo implements Demo {
         return results;
     }
 
+    /// A custom distinct-until-changed-by gatherer. Unlike
+    /// distinct-by, a currency that returns after another
+    /// one is passed through again.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customDistinctUntilChangedBy(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.distinctUntilChangedBy(Money::currency))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
     /// A custom reduce-by gatherer.
     ///
     /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
@@ -282,9 +482,9 @@ public final class StreamGatherersDemo implements Demo {
         assert money != null;
         assert !money.isEmpty();
 
-        final Optional<Money> result = money.stream()
-                .parallel()
+        final Optional<Money> result = GatherersFactory.pipeline(money)
                 .gather(GatherersFactory.maxBy(Money::amount))
+                .stream()
                 .findFirst();
 
         assert result.isPresent();
@@ -296,6 +496,39 @@ public final class StreamGatherersDemo implements Demo {
         return result.get();
     }
 
+    /// A custom gatherer pipeline. The planner keeps the
+    /// small list and the step without a combiner sequential.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.ExecutionPlan>
+    private List<ExecutionPlan> customGathererPipeline(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+
+        final List<Integer> numbers = IntStream.range(0, 100_000).boxed().toList();
+
+        final List<ExecutionPlan> plans = List.of(
+                GatherersFactory.pipeline(money)
+                        .gather(GatherersFactory.maxBy(Money::amount))
+                        .plan(),
+                GatherersFactory.pipeline(numbers)
+                        .gather(GatherersFactory.maxBy(Integer::intValue))
+                        .plan(),
+                GatherersFactory.pipeline(numbers)
+                        .gather(GatherersFactory.distinctBy(Integer::intValue))
+                        .plan()
+        );
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(plans));
+        }
+
+        return plans;
+    }
+
     /// A custom min-by gatherer.
     ///
     /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
@@ -308,9 +541,9 @@ public final class StreamGatherersDemo implements Demo {
         assert money != null;
         assert !money.isEmpty();
 
-        final Optional<Money> result = money.stream()
-                .parallel()
+        final Optional<Money> result = GatherersFactory.pipeline(money)
                 .gather(GatherersFactory.minBy(Money::amount))
+                .stream()
                 .findFirst();
 
         assert result.isPresent();
@@ -394,6 +627,54 @@ public final class StreamGatherersDemo implements Demo {
         return result.get();
     }
 
+    /// A custom take last gatherer. Only a two-slot
+    /// ring buffer is kept while the stream is read.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customTakeLastGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.takeLast(2))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
+    /// A custom find last gatherer that returns
+    /// the last two matching elements.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customFindLastNGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.findLast(2, (Money m) -> m.currency().equals(Currency.getInstance("PLN"))))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
     /// Try two gatherers using andThen.
     ///
     /// @return java.util.List<net.jmp.demo.java23.records.Money>
@@ -423,6 +704,868 @@ public final class StreamGatherersDemo implements Demo {
         return results;
     }
 
+    /// Try two instrumented gatherers using andThen. Every
+    /// integrator call is timed so that the metrics show
+    /// which of the two stages dominates.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.StageMetrics>
+    private List<StageMetrics> customInstrumentedGatherAndThen() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Money> money = this.getMoneyWithNulls();
+        final MetricsRegistry registry = new MetricsRegistry();
+
+        final InstrumentedGatherer<Money, Money, Money> mapNotNullGatherer = GatherersFactory.instrument(
+                "mapNotNull",
+                new MapNotNullGatherer<Money, Money>(m -> m.multiply(BigDecimal.TWO)),
+                registry,
+                1);
+        final InstrumentedGatherer<Money, ReduceByGatherer.ReduceByGathererState<Money, Currency>, Money> reducerGatherer = GatherersFactory.instrument(
+                "reduceBy",
+                new ReduceByGatherer<Money, Currency>(Money::currency, Money::add),
+                registry,
+                1);
+
+        final List<Money> results = money.stream()
+                .gather(mapNotNullGatherer.andThen(reducerGatherer))
+                .toList();
+
+        assert results.size() == 2;
+
+        final List<StageMetrics> metrics = List.of(mapNotNullGatherer.metrics(), reducerGatherer.metrics());
+
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("Metrics: {}", registry.snapshot());
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(metrics));
+        }
+
+        return metrics;
+    }
+
+    /// A custom map parallel gatherer. The CPU-bound
+    /// multiplications are spread over two workers
+    /// while the results keep their encounter order.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customMapParallelGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.mapParallel(2, 1, m -> m.multiply(BigDecimal.TEN)))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
+    /// Time a CPU-bound mapper run sequentially, through the built-in
+    /// map concurrent gatherer, and through the map parallel gatherer,
+    /// each with one worker per processor. The mapped results are
+    /// checked to agree before the speedups are described.
+    ///
+    /// @param  size        int
+    /// @param  warmUps     int
+    /// @param  rounds      int
+    /// @return             java.util.List<java.lang.String>
+    private List<String> mapParallelBenchmark(final int size, final int warmUps, final int rounds) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(size, warmUps, rounds));
+        }
+
+        final int workers = Runtime.getRuntime().availableProcessors();
+        final List<Long> seeds = LongStream.range(0, size).boxed().toList();
+        final Function<Long, Long> mapper = StreamGatherersDemo::mix;
+
+        final Supplier<List<Long>> sequential = () -> seeds.stream()
+                .map(mapper)
+                .toList();
+        final Supplier<List<Long>> concurrent = () -> seeds.stream()
+                .gather(Gatherers.mapConcurrent(workers, mapper))
+                .toList();
+        final Supplier<List<Long>> parallel = () -> seeds.stream()
+                .gather(GatherersFactory.mapParallel(workers, 64, mapper))
+                .toList();
+
+        assert sequential.get().equals(concurrent.get());
+        assert sequential.get().equals(parallel.get());
+
+        final long sequentialNanos = this.time(sequential, warmUps, rounds);
+        final List<String> results = new ArrayList<>();
+
+        results.add(this.describe("mapConcurrent", sequentialNanos, this.time(concurrent, warmUps, rounds)));
+        results.add(this.describe("mapParallel", sequentialNanos, this.time(parallel, warmUps, rounds)));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
+    /// Describe the speedup of a mapping over the sequential one.
+    ///
+    /// @param  name            java.lang.String
+    /// @param  sequentialNanos long
+    /// @param  nanos           long
+    /// @return                 java.lang.String
+    private String describe(final String name, final long sequentialNanos, final long nanos) {
+        return String.format("%s: sequential %.3f ms, %s %.3f ms, speedup %.2fx",
+                name,
+                sequentialNanos / 1_000_000.0,
+                name,
+                nanos / 1_000_000.0,
+                (double) sequentialNanos / Math.max(1L, nanos));
+    }
+
+    /// Return the average nanoseconds per round of a mapping after warming it up.
+    /// The results are accumulated so the mapping cannot be optimized away.
+    ///
+    /// @param  mapping java.util.function.Supplier<java.util.List<java.lang.Long>>
+    /// @param  warmUps int
+    /// @param  rounds  int
+    /// @return         long
+    private long time(final Supplier<List<Long>> mapping, final int warmUps, final int rounds) {
+        long sink = 0;
+
+        for (int i = 0; i < warmUps; i++) {
+            sink += mapping.get().getLast();
+        }
+
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < rounds; i++) {
+            sink += mapping.get().getLast();
+        }
+
+        final long elapsed = (System.nanoTime() - start) / rounds;
+
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("Benchmark sink: {}", sink);
+        }
+
+        return elapsed;
+    }
+
+    /// Mix a value through many rounds of a 64-bit
+    /// hash step; the CPU-bound benchmark mapper.
+    ///
+    /// @param  value   java.lang.Long
+    /// @return         java.lang.Long
+    private static Long mix(final Long value) {
+        long z = value;
+
+        for (int i = 0; i < MAP_WORK; i++) {
+            z = (z ^ (z >>> 31)) * 0xbf58476d1ce4e5b9L + i;
+        }
+
+        return z;
+    }
+
+    /// A custom batch gatherer. The delay is long
+    /// enough that only the size limit triggers
+    /// a flush until the final partial batch.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<java.util.List<net.jmp.demo.java23.records.Money>>
+    private List<List<Money>> customBatchGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<List<Money>> batches = money.stream()
+                .gather(GatherersFactory.batch(2, Duration.ofMinutes(1)))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(batches));
+        }
+
+        return batches;
+    }
+
+    /// A custom sliding sum gatherer. The sum of each
+    /// window is kept up to date as elements enter and
+    /// leave it instead of being built from a new list.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<java.lang.Double>
+    private List<Double> customSlidingSumGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<Double> sums = money.stream()
+                .gather(GatherersFactory.slidingSum(2, m -> m.amount().doubleValue()))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(sums));
+        }
+
+        return sums;
+    }
+
+    /// A custom sliding max-by gatherer.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customSlidingMaxByGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.slidingMaxBy(2, Money::amount))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
+    /// A custom sliding median gatherer.
+    ///
+    /// @return java.util.List<java.lang.Double>
+    private List<Double> customSlidingMedianGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Double> medians = Stream.of(1, 5, 2, 8, 3, 9)
+                .gather(GatherersFactory.slidingMedian(3, Integer::doubleValue))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(medians));
+        }
+
+        return medians;
+    }
+
+    /// A custom event-time tumbling window gatherer. The events
+    /// are keyed by a millisecond timestamp and arrive out of order.
+    /// With five milliseconds of allowed lateness the event at 9 still
+    /// joins the first window, but the one at 3 arrives after that
+    /// window has been emitted and is dropped.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.TimeWindow<java.util.Map.Entry<java.lang.Long, java.lang.String>>>
+    private List<TimeWindow<Map.Entry<Long, String>>> customTumblingWindowGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Map.Entry<Long, String>> events = List.of(
+                Map.entry(1L, "a"),
+                Map.entry(4L, "b"),
+                Map.entry(12L, "c"),
+                Map.entry(9L, "d"),
+                Map.entry(15L, "e"),
+                Map.entry(23L, "f"),
+                Map.entry(3L, "g")
+        );
+
+        final List<TimeWindow<Map.Entry<Long, String>>> windows = events.stream()
+                .gather(GatherersFactory.<Map.Entry<Long, String>>tumblingWindows(Map.Entry::getKey, Duration.ofMillis(10), Duration.ofMillis(5)))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(windows));
+        }
+
+        return windows;
+    }
+
+    /// A custom event-time session window gatherer. A session
+    /// ends once no event has arrived for five milliseconds.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.TimeWindow<java.util.Map.Entry<java.lang.Long, java.lang.String>>>
+    private List<TimeWindow<Map.Entry<Long, String>>> customSessionWindowGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Map.Entry<Long, String>> events = List.of(
+                Map.entry(1L, "a"),
+                Map.entry(3L, "b"),
+                Map.entry(10L, "c"),
+                Map.entry(11L, "d"),
+                Map.entry(20L, "e")
+        );
+
+        final List<TimeWindow<Map.Entry<Long, String>>> sessions = events.stream()
+                .gather(GatherersFactory.<Map.Entry<Long, String>>sessionWindows(Map.Entry::getKey, Duration.ofMillis(5), Duration.ZERO))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(sessions));
+        }
+
+        return sessions;
+    }
+
+    /// A custom parallel prefix scan gatherer. The running
+    /// balance of one hundred deposits is computed on a
+    /// parallel stream and matches the sequential scan.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customParallelScanGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Money> balances = IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> new Money(BigDecimal.valueOf(i), Currency.getInstance("PLN")))
+                .parallel()
+                .gather(GatherersFactory.scanParallel(Money::add))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(balances));
+        }
+
+        return balances;
+    }
+
+    /// A custom reservoir sampling gatherer. Five of one
+    /// thousand numbers are sampled with a fixed seed so
+    /// the same sample is returned on every run.
+    ///
+    /// @return java.util.List<java.lang.Integer>
+    private List<Integer> customReservoirSampleGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Integer> sample = IntStream.rangeClosed(1, 1_000)
+                .boxed()
+                .gather(GatherersFactory.sample(5, 42L))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(sample));
+        }
+
+        return sample;
+    }
+
+    /// A custom reservoir sampling gatherer on a parallel
+    /// stream. Sixty-four of 65,536 numbers are sampled;
+    /// every segment draws from its own random stream, yet
+    /// the same sample is returned on every run.
+    ///
+    /// @return java.util.List<java.lang.Integer>
+    private List<Integer> customParallelReservoirSampleGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Integer> sample = IntStream.range(0, 1 << 16)
+                .parallel()
+                .boxed()
+                .gather(GatherersFactory.sample(64, 42L))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(sample));
+        }
+
+        return sample;
+    }
+
+    /// A custom approximate count distinct-by gatherer.
+    /// One hundred thousand numbers with ten thousand
+    /// distinct remainders are counted on a parallel
+    /// stream in four kilobytes of state.
+    ///
+    /// @return net.jmp.demo.java23.records.CardinalityEstimate
+    private CardinalityEstimate customCountDistinctByGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final CardinalityEstimate estimate = IntStream.range(0, 100_000)
+                .boxed()
+                .parallel()
+                .gather(GatherersFactory.countDistinctBy(number -> number % 10_000))
+                .findFirst()
+                .orElseThrow();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(estimate));
+        }
+
+        return estimate;
+    }
+
+    /// A custom quantiles-by gatherer. The 50th, 95th and
+    /// 99th percentiles of the amounts are estimated per
+    /// currency from KLL sketches built on a parallel stream.
+    ///
+    /// @return java.util.Map<java.lang.String, java.util.List<java.lang.Double>>
+    private Map<String, List<Double>> customQuantilesByGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final Stream<Money> zlotys = IntStream.rangeClosed(1, 1_000)
+                .mapToObj(i -> new Money(BigDecimal.valueOf(i), Currency.getInstance("PLN")));
+        final Stream<Money> euros = IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> new Money(BigDecimal.valueOf(i), Currency.getInstance("EUR")));
+
+        final Map<Currency, KllSketch> sketches = Stream.concat(zlotys, euros)
+                .parallel()
+                .gather(GatherersFactory.quantilesBy(Money::currency, money -> money.amount().doubleValue(), 200))
+                .findFirst()
+                .orElseThrow();
+
+        final Map<String, List<Double>> percentiles = new TreeMap<>();
+
+        sketches.forEach((currency, sketch) -> percentiles.put(
+                currency.getCurrencyCode(),
+                List.of(sketch.quantile(0.50), sketch.quantile(0.95), sketch.quantile(0.99))));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(percentiles));
+        }
+
+        return percentiles;
+    }
+
+    /// A custom heavy hitters gatherer. The two currencies
+    /// used most often are found in fixed memory.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.HeavyHitter<java.lang.String>>
+    private List<HeavyHitter<String>> customHeavyHittersGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final Map<String, Integer> frequencies = Map.of("PLN", 50, "EUR", 30, "USD", 15, "GBP", 5);
+
+        final List<HeavyHitter<String>> hitters = frequencies.entrySet().stream()
+                .flatMap(entry -> Stream.generate(() -> new Money(BigDecimal.ONE, Currency.getInstance(entry.getKey())))
+                        .limit(entry.getValue()))
+                .parallel()
+                .gather(GatherersFactory.heavyHitters((Money money) -> money.currency().getCurrencyCode(), 2))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(hitters));
+        }
+
+        return hitters;
+    }
+
+    /// A custom reorder-by gatherer. No event arrives more
+    /// than one position late, so a heap of two events is
+    /// enough to emit them in timestamp order.
+    ///
+    /// @return java.util.List<java.lang.String>
+    private List<String> customReorderGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Map.Entry<Long, String>> events = List.of(
+                Map.entry(1L, "a"),
+                Map.entry(3L, "c"),
+                Map.entry(2L, "b"),
+                Map.entry(4L, "d"),
+                Map.entry(6L, "f"),
+                Map.entry(5L, "e")
+        );
+
+        final List<String> ordered = events.stream()
+                .gather(GatherersFactory.<Map.Entry<Long, String>, Long>reorderBy(Map.Entry::getKey, 1))
+                .map(Map.Entry::getValue)
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(ordered));
+        }
+
+        return ordered;
+    }
+
+    /// A custom external sort gatherer. A memory budget of
+    /// two elements forces the money to be spilled to run
+    /// files that are merged back in amount order.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customExternalSortGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.sortBy(Money::amount, 2, new MoneyCodec()))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
+    /// A custom join gatherer. The money is converted to
+    /// euros by joining it with a small index of exchange
+    /// rates that is built once, behind a Bloom filter.
+    ///
+    /// @param  money   java.util.List<net.jmp.demo.java23.records.Money>
+    /// @return         java.util.List<net.jmp.demo.java23.records.Money>
+    private List<Money> customJoinGatherer(final List<Money> money) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(money));
+        }
+
+        assert money != null;
+        assert !money.isEmpty();
+
+        final Currency euro = Currency.getInstance("EUR");
+
+        final List<Map.Entry<Currency, BigDecimal>> rates = List.of(
+                Map.entry(Currency.getInstance("PLN"), new BigDecimal("0.25")),
+                Map.entry(euro, BigDecimal.ONE)
+        );
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.<Money, Currency, Map.Entry<Currency, BigDecimal>, Money>join(
+                        rates,
+                        Map.Entry::getKey,
+                        Money::currency,
+                        (m, rate) -> new Money(m.amount().multiply(rate.getValue()), euro),
+                        JoinGatherer.Mode.INNER,
+                        true))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
+    /// A custom streaming group-by gatherer. Each order's
+    /// events are emitted as a group as soon as its end
+    /// event arrives rather than at the end of the stream.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.Group<java.lang.String, java.lang.String>>
+    private List<Group<String, String>> customStreamingGroupGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<String> events = List.of(
+                "order-1:open",
+                "order-2:open",
+                "order-1:pay",
+                "order-1:end",
+                "order-2:end"
+        );
+
+        final List<Group<String, String>> groups = events.stream()
+                .gather(GatherersFactory.<String, String>streamingGroupBy(
+                        event -> event.substring(0, event.indexOf(':')),
+                        100,
+                        Duration.ofMinutes(1),
+                        event -> event.endsWith(":end"),
+                        1_024,
+                        String::length))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(groups));
+        }
+
+        return groups;
+    }
+
+    /// A custom throttle gatherer. Five numbers pass at
+    /// one hundred per second with a burst of one, so the
+    /// last one arrives forty milliseconds after the first.
+    ///
+    /// @return java.util.List<java.lang.Integer>
+    private List<Integer> customThrottleGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Integer> numbers = Stream.of(1, 2, 3, 4, 5)
+                .gather(GatherersFactory.throttle(100.0, 1))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(numbers));
+        }
+
+        return numbers;
+    }
+
+    /// A custom debounce gatherer. The keystrokes of a
+    /// search box arrive within the quiet period, so only
+    /// the final query is passed on.
+    ///
+    /// @return java.util.List<java.lang.String>
+    private List<String> customDebounceGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<String> queries = Stream.of("j", "ja", "jav", "java")
+                .gather(GatherersFactory.debounce(Duration.ofSeconds(1)))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(queries));
+        }
+
+        return queries;
+    }
+
+    /// A primitive scan. The running sums of an int
+    /// stream are computed without boxing a value.
+    ///
+    /// @return int[]
+    private int[] customPrimitiveScan() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final int[] sums = PrimitiveGatherers.scan(IntStream.rangeClosed(1, 5), Integer::sum).toArray();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(Arrays.toString(sums)));
+        }
+
+        return sums;
+    }
+
+    /// A primitive distinct. The values seen are kept
+    /// in a primitive hash set rather than boxed.
+    ///
+    /// @return double[]
+    private double[] customPrimitiveDistinct() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final double[] values = PrimitiveGatherers.distinct(DoubleStream.of(1.5, 2.5, 1.5, 3.5, 2.5)).toArray();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(Arrays.toString(values)));
+        }
+
+        return values;
+    }
+
+    /// A primitive sliding window. Each window
+    /// is a long array instead of a list of longs.
+    ///
+    /// @return java.util.List<long[]>
+    private List<long[]> customPrimitiveWindowSliding() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<long[]> windows = PrimitiveGatherers.windowSliding(LongStream.rangeClosed(1, 5), 3).toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(windows.stream().map(Arrays::toString).toList()));
+        }
+
+        return windows;
+    }
+
+    /// A custom diagnostic gatherer. The distinct-by step has
+    /// no combiner, so it is flagged as it serializes the
+    /// parallel stream, and the time spent in it is reported.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.StepDiagnostics>
+    private List<StepDiagnostics> customDiagnosticGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final Consumer<String> flagHandler = name -> {
+            if (this.logger.isWarnEnabled()) {
+                this.logger.warn("Gatherer step {} has no combiner and runs sequentially", name);
+            }
+        };
+
+        final Stream<Integer> numbers = IntStream.range(0, 10_000)
+                .boxed()
+                .parallel();
+
+        final var distinct = GatherersFactory.diagnose("distinctBy",
+                                                       GatherersFactory.distinctBy((Integer i) -> i % 100),
+                                                       flagHandler,
+                                                       numbers.isParallel());
+        final var max = GatherersFactory.diagnose("maxBy",
+                                                  GatherersFactory.maxBy((Integer i) -> i),
+                                                  flagHandler,
+                                                  numbers.isParallel());
+
+        final Optional<Integer> result = numbers
+                .gather(distinct)
+                .gather(max)
+                .findFirst();
+
+        assert result.isPresent();
+        assert result.get() == 99;
+
+        final List<StepDiagnostics> diagnostics = List.of(distinct.diagnostics(), max.diagnostics());
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(diagnostics));
+        }
+
+        return diagnostics;
+    }
+
+    /// A custom recorded gatherer. A flight recording is
+    /// started for the gatherer stage events, dumped to a
+    /// file, and read back the way it would be offline.
+    ///
+    /// @return java.util.List<java.lang.String>
+    private List<String> customRecordedGatherer() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<String> events;
+
+        try {
+            final Path file = Files.createTempFile("gatherers-", ".jfr");
+
+            try {
+                try (final Recording recording = new Recording()) {
+                    recording.enable(GathererEvent.NAME)
+                            .withThreshold(Duration.ZERO)
+                            .withoutStackTrace();
+                    recording.start();
+
+                    final List<Integer> distinct = IntStream.range(0, 1_000)
+                            .boxed()
+                            .gather(GatherersFactory.recorded("distinctBy", GatherersFactory.distinctBy((Integer i) -> i % 10)))
+                            .toList();
+
+                    assert distinct.size() == 10;
+
+                    recording.stop();
+                    recording.dump(file);
+                }
+
+                events = RecordingFile.readAllEvents(file).stream()
+                        .filter(event -> event.getEventType().getName().equals(GathererEvent.NAME))
+                        .map(event -> event.getString("stage") + ": " + event.getLong("elements"))
+                        .toList();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(events));
+        }
+
+        return events;
+    }
+
+    /// Try the three state budget policies. Distinct-by fails
+    /// fast and then degrades to a Bloom filter on ten thousand
+    /// distinct keys, and reduce-by spills five thousand groups to
+    /// temporary files. The groups are too many for one partition
+    /// file to be merged within the budget, so the merge splits
+    /// the partitions again. The metrics hold the estimated state
+    /// sizes and the number of breaches of each budget.
+    ///
+    /// @return java.util.SortedMap<java.lang.String, java.lang.Long>
+    private SortedMap<String, Long> customBudgetedGatherers() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final MetricsRegistry registry = new MetricsRegistry();
+
+        final StateBudget<Integer> failFast = new StateBudget<>("failFast", 16_384, StateBudget.Policy.FAIL_FAST,
+                StateBudget.DEFAULT_SAMPLING_INTERVAL, StateBudget::estimate, registry);
+        final StateBudget<Integer> approximate = new StateBudget<>("approximate", 16_384, StateBudget.Policy.APPROXIMATE,
+                StateBudget.DEFAULT_SAMPLING_INTERVAL, StateBudget::estimate, registry);
+        final StateBudget<Money> spill = new StateBudget<>("spill", 16_384, StateBudget.Policy.SPILL,
+                StateBudget.DEFAULT_SAMPLING_INTERVAL, StateBudget::estimate, registry);
+
+        try {
+            IntStream.range(0, 10_000)
+                    .boxed()
+                    .gather(GatherersFactory.distinctBy(Function.identity(), failFast))
+                    .toList();
+        } catch (final StateBudgetExceededException sbee) {
+            if (this.logger.isDebugEnabled()) {
+                this.logger.debug(sbee.getMessage());
+            }
+        }
+
+        final long distinct = IntStream.range(0, 20_000)
+                .map(i -> i % 10_000)
+                .boxed()
+                .gather(GatherersFactory.distinctBy(Function.identity(), approximate))
+                .count();
+
+        assert distinct <= 10_000;  // False positives only ever drop elements
+
+        final List<Money> totals = IntStream.rangeClosed(1, 20_000)
+                .mapToObj(i -> new Money(BigDecimal.valueOf(i), Currency.getInstance("PLN")))
+                .gather(GatherersFactory.reduceBy((Money m) -> m.amount().intValue() % 5_000, Money::add, spill, new MoneyCodec()))
+                .toList();
+
+        assert totals.size() == 5_000;
+        assert totals.stream().map(Money::amount).reduce(BigDecimal.ZERO, BigDecimal::add).equals(BigDecimal.valueOf(200_010_000));
+
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("Approximately distinct: {}", distinct);
+        }
+
+        final SortedMap<String, Long> metrics = registry.snapshot();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(metrics));
+        }
+
+        return metrics;
+    }
+
     /// Return a list of money with nulls interspersed.
     ///
     /// @return java.util.List<net.jmp.demo.java23.records.Money>
@@ -0,0 +1,243 @@
+package net.jmp.demo.java23.demos;
+
+/*
+ * (#)VectorApiDemo.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+import module org.slf4j;
+
+import net.jmp.demo.java23.util.GatherersFactory;
+import net.jmp.demo.java23.util.NumericKernels;
+import net.jmp.demo.java23.util.PrimitiveGatherers;
+import net.jmp.demo.java23.util.VectorKernels;
+
+import static net.jmp.util.logging.LoggerUtils.*;
+
+/// A class that demonstrates the numeric kernels built on the
+/// incubating Vector API and compares them with the scalar ones.
+/// The benchmark is a plain timing loop with a warm-up, which is
+/// enough to show the speedup but not a substitute for JMH.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class VectorApiDemo implements Demo {
+    /// The number of values in the benchmark array.
+    private static final int BENCHMARK_SIZE = 1 << 20;
+
+    /// The number of warm-up rounds per kernel.
+    private static final int WARM_UP_ROUNDS = 50;
+
+    /// The number of timed rounds per kernel.
+    private static final int TIMED_ROUNDS = 50;
+
+    /// The logger.
+    private final Logger logger = LoggerFactory.getLogger(this.getClass().getName());
+
+    /// The default constructor.
+    public VectorApiDemo() {
+        super();
+    }
+
+    /// The demo method.
+    @Override
+    public void demo() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        if (this.logger.isInfoEnabled()) {
+            this.logger.info("Vectorized: {}; double lanes: {}", VectorKernels.isVectorized(), VectorKernels.doubleLanes());
+            this.logger.info("Batch sums: {}", this.batchSums());
+            this.logger.info("Batch counts above 7: {}", this.batchCounts());
+            this.logger.info("Window maximums: {}", Arrays.toString(this.windowMaximums()));
+            this.benchmark(BENCHMARK_SIZE, WARM_UP_ROUNDS, TIMED_ROUNDS).forEach(this.logger::info);
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exit());
+        }
+    }
+
+    /// Sum the values 1 through 20 in batches of 5.
+    ///
+    /// @return java.util.List<java.lang.Double>
+    private List<Double> batchSums() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Double> sums = IntStream.rangeClosed(1, 20)
+                .boxed()
+                .gather(GatherersFactory.batchSum(5, Integer::doubleValue))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(sums));
+        }
+
+        return sums;
+    }
+
+    /// Count the values above 7 in batches of 4
+    /// of the values 1 through 10.
+    ///
+    /// @return java.util.List<java.lang.Long>
+    private List<Long> batchCounts() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final List<Long> counts = IntStream.rangeClosed(1, 10)
+                .boxed()
+                .gather(GatherersFactory.batchCountAbove(4, Integer::doubleValue, 7.0))
+                .toList();
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(counts));
+        }
+
+        return counts;
+    }
+
+    /// Return the maximum of each fixed window of 3 values.
+    ///
+    /// @return double[]
+    private double[] windowMaximums() {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entry());
+        }
+
+        final double[] maximums;
+
+        try (final Stream<double[]> windows = PrimitiveGatherers.windowFixed(DoubleStream.of(4.5, 1.0, 3.5, 2.0, 8.0, 6.5, 7.0), 3)) {
+            maximums = windows.mapToDouble(VectorKernels::max).toArray();
+        }
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(Arrays.toString(maximums)));
+        }
+
+        return maximums;
+    }
+
+    /// Time the scalar and the preferred kernels
+    /// over an array of random doubles.
+    ///
+    /// @param  size        int
+    /// @param  warmUps     int
+    /// @param  rounds      int
+    /// @return             java.util.List<java.lang.String>
+    private List<String> benchmark(final int size, final int warmUps, final int rounds) {
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(entryWith(size, warmUps, rounds));
+        }
+
+        final double[] values = new SplittableRandom(23).doubles(size).toArray();
+        final NumericKernels scalar = VectorKernels.scalar();
+        final NumericKernels preferred = VectorKernels.preferred();
+        final List<String> results = new ArrayList<>();
+
+        results.add(this.compare("sum",
+                                 warmUps,
+                                 rounds,
+                                 () -> scalar.sum(values, 0, values.length),
+                                 () -> preferred.sum(values, 0, values.length)));
+        results.add(this.compare("min",
+                                 warmUps,
+                                 rounds,
+                                 () -> scalar.min(values, 0, values.length),
+                                 () -> preferred.min(values, 0, values.length)));
+        results.add(this.compare("max",
+                                 warmUps,
+                                 rounds,
+                                 () -> scalar.max(values, 0, values.length),
+                                 () -> preferred.max(values, 0, values.length)));
+        results.add(this.compare("count",
+                                 warmUps,
+                                 rounds,
+                                 () -> scalar.countGreaterThan(values, 0, values.length, 0.5),
+                                 () -> preferred.countGreaterThan(values, 0, values.length, 0.5)));
+
+        if (this.logger.isTraceEnabled()) {
+            this.logger.trace(exitWith(results));
+        }
+
+        return results;
+    }
+
+    /// Time a scalar and a preferred kernel and describe the speedup.
+    ///
+    /// @param  name        java.lang.String
+    /// @param  warmUps     int
+    /// @param  rounds      int
+    /// @param  scalar      java.util.function.DoubleSupplier
+    /// @param  preferred   java.util.function.DoubleSupplier
+    /// @return             java.lang.String
+    private String compare(final String name,
+                           final int warmUps,
+                           final int rounds,
+                           final DoubleSupplier scalar,
+                           final DoubleSupplier preferred) {
+        final long scalarNanos = this.time(scalar, warmUps, rounds);
+        final long preferredNanos = this.time(preferred, warmUps, rounds);
+
+        return String.format("%s: scalar %.3f ms, %s %.3f ms, speedup %.2fx",
+                name,
+                scalarNanos / 1_000_000.0,
+                VectorKernels.isVectorized() ? "SIMD" : "fallback",
+                preferredNanos / 1_000_000.0,
+                (double) scalarNanos / Math.max(1L, preferredNanos));
+    }
+
+    /// Return the average nanoseconds per round of a kernel after warming it up.
+    /// The results are accumulated so the kernel cannot be optimized away.
+    ///
+    /// @param  kernel  java.util.function.DoubleSupplier
+    /// @param  warmUps int
+    /// @param  rounds  int
+    /// @return         long
+    private long time(final DoubleSupplier kernel, final int warmUps, final int rounds) {
+        double sink = 0.0;
+
+        for (int i = 0; i < warmUps; i++) {
+            sink += kernel.getAsDouble();
+        }
+
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < rounds; i++) {
+            sink += kernel.getAsDouble();
+        }
+
+        final long elapsed = (System.nanoTime() - start) / rounds;
+
+        if (this.logger.isDebugEnabled()) {
+            this.logger.debug("Benchmark sink: {}", sink);
+        }
+
+        return elapsed;
+    }
+}
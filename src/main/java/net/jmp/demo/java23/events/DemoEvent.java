@@ -0,0 +1,60 @@
+package net.jmp.demo.java23.events;
+
+/*
+ * (#)DemoEvent.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module jdk.jfr;
+
+/// A flight recorder event for the run of a demo.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+@Name(DemoEvent.NAME)
+@Label("Demo Run")
+@Category({"Java 23 Demo", "Demos"})
+@Description("The run of the demo method of a demo")
+@StackTrace(false)
+@Threshold("0 ms")
+public final class DemoEvent extends Event {
+    /// The event name.
+    public static final String NAME = "net.jmp.demo.java23.DemoRun";
+
+    /// The demo class name.
+    @Label("Demo")
+    private String demo;
+
+    /// The default constructor.
+    public DemoEvent() {
+        super();
+    }
+
+    /// Set the demo class name.
+    ///
+    /// @param  demo    java.lang.String
+    public void setDemo(final String demo) {
+        this.demo = demo;
+    }
+}
@@ -0,0 +1,95 @@
+package net.jmp.demo.java23.events;
+
+/*
+ * (#)GathererEvent.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module jdk.jfr;
+
+/// A flight recorder event for a gatherer stage. It spans
+/// one state of the stage from its creation to its finish,
+/// so a parallel stream records one event per final state.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+@Name(GathererEvent.NAME)
+@Label("Gatherer Stage")
+@Category({"Java 23 Demo", "Gatherers"})
+@Description("The evaluation of a gatherer stage from its initializer to its finisher")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class GathererEvent extends Event {
+    /// The event name.
+    public static final String NAME = "net.jmp.demo.java23.GathererStage";
+
+    /// The stage name.
+    @Label("Stage")
+    private String stage;
+
+    /// The gatherer class name.
+    @Label("Gatherer")
+    private String gatherer;
+
+    /// The number of elements integrated.
+    @Label("Elements")
+    private long elements;
+
+    /// True if integration stopped early.
+    @Label("Short-Circuited")
+    private boolean shortCircuited;
+
+    /// The default constructor.
+    public GathererEvent() {
+        super();
+    }
+
+    /// Set the stage name.
+    ///
+    /// @param  stage   java.lang.String
+    public void setStage(final String stage) {
+        this.stage = stage;
+    }
+
+    /// Set the gatherer class name.
+    ///
+    /// @param  gatherer    java.lang.String
+    public void setGatherer(final String gatherer) {
+        this.gatherer = gatherer;
+    }
+
+    /// Set the number of elements integrated.
+    ///
+    /// @param  elements    long
+    public void setElements(final long elements) {
+        this.elements = elements;
+    }
+
+    /// Set whether integration stopped early.
+    ///
+    /// @param  shortCircuited  boolean
+    public void setShortCircuited(final boolean shortCircuited) {
+        this.shortCircuited = shortCircuited;
+    }
+}
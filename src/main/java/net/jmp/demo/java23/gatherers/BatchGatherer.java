@@ -0,0 +1,166 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)BatchGatherer.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer groups elements into batches that are flushed
+/// downstream when either the maximum size is reached or the
+/// oldest element in the batch has waited the maximum delay.
+///
+/// A gatherer can only push from the thread that evaluates the
+/// stream, so no timer thread is used. The deadline is checked
+/// with the monotonic clock whenever an element arrives and the
+/// final partial batch is flushed by the finisher. This keeps the
+/// gatherer cheap on virtual threads: it never blocks or parks.
+///
+/// The latency limit is therefore arrival-driven. A batch whose
+/// deadline has passed is flushed when the next element arrives,
+/// before that element is added, and the late element opens a new
+/// batch with its own deadline. While no element arrives a partial
+/// batch is not flushed, however long it has waited, until the
+/// next element or the end of the stream.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class BatchGatherer<T> implements Gatherer<T, BatchGatherer.BatchGathererState<T>, List<T>> {
+    /// The maximum number of elements in a batch.
+    private final int maxSize;
+
+    /// The maximum delay in nanoseconds.
+    private final long maxDelayNanos;
+
+    /// The constructor.
+    ///
+    /// @param  maxSize     int
+    /// @param  maxDelay    java.time.Duration
+    public BatchGatherer(final int maxSize, final Duration maxDelay) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maxSize);
+        }
+
+        if (Objects.requireNonNull(maxDelay).isNegative()) {
+            throw new IllegalArgumentException("Maximum delay must not be negative: " + maxDelay);
+        }
+
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.BatchGatherer.BatchGathererState<T>>
+    @Override
+    public Supplier<BatchGathererState<T>> initializer() {
+        return BatchGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.BatchGatherer.BatchGathererState<T>, T, java.util.List<T>>
+    @Override
+    public Integrator<BatchGathererState<T>, T, List<T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long now = System.nanoTime();
+
+            if (!state.batch.isEmpty() && now - state.openedAt >= this.maxDelayNanos) {
+                if (!downstream.push(state.flush())) {     // The stale batch goes before the late element
+                    return false;
+                }
+            }
+
+            if (state.batch.isEmpty()) {
+                state.openedAt = now;
+            }
+
+            state.batch.add(item);
+
+            if (state.batch.size() >= this.maxSize || now - state.openedAt >= this.maxDelayNanos) {
+                return downstream.push(state.flush());
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.BatchGatherer.BatchGathererState<T>, java.util.stream.Gatherer.Downstream<? super java.util.List<T>>>
+    @Override
+    public BiConsumer<BatchGathererState<T>, Downstream<? super List<T>>> finisher() {
+        return (state, downstream) -> {
+            if (!state.batch.isEmpty() && !downstream.isRejecting()) {
+                downstream.push(state.flush());
+            }
+        };
+    }
+
+    /// A class containing the internal state of the batch gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class BatchGathererState<T> {
+        /// The current batch.
+        private List<T> batch = new ArrayList<>();
+
+        /// The monotonic time at which the first element of the current batch arrived.
+        private long openedAt;
+
+        /// The default constructor.
+        private BatchGathererState() {
+            super();
+        }
+
+        /// Hand off the current batch and start a new one.
+        ///
+        /// @return java.util.List<T>
+        private List<T> flush() {
+            final List<T> full = Collections.unmodifiableList(this.batch);
+
+            this.batch = new ArrayList<>();
+
+            return full;
+        }
+    }
+}
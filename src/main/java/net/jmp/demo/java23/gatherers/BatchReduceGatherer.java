@@ -0,0 +1,187 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)BatchReduceGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.util.NumericKernels;
+import net.jmp.demo.java23.util.VectorKernels;
+
+/// This gatherer collects values extracted by a selector function
+/// into fixed-size primitive batches and emits one reduction per
+/// batch, such as its sum, minimum, maximum, or a threshold count.
+/// The type of the reduction is chosen by the reduction, so a sum
+/// is a `Double` while a count is a `Long`.
+/// The values are copied into a reused `double[]` so no boxing or
+/// allocation happens per element, and each full batch is reduced
+/// by the preferred numeric kernels, which use SIMD instructions
+/// when the Vector API is available. The final partial batch is
+/// reduced by the finisher.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <R> The type of reduction of each batch
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class BatchReduceGatherer<T, R> implements Gatherer<T, BatchReduceGatherer.BatchReduceGathererState, R> {
+    /// The number of values in a batch.
+    private final int batchSize;
+
+    /// The value selector function.
+    private final ToDoubleFunction<T> selector;
+
+    /// The reduction applied to each batch.
+    private final Reduction<R> reduction;
+
+    /// The numeric kernels.
+    private final NumericKernels kernels;
+
+    /// The constructor.
+    ///
+    /// @param  batchSize   int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @param  reduction   net.jmp.demo.java23.gatherers.BatchReduceGatherer.Reduction<R>
+    public BatchReduceGatherer(final int batchSize, final ToDoubleFunction<T> selector, final Reduction<R> reduction) {
+        this(batchSize, selector, reduction, VectorKernels.preferred());
+    }
+
+    /// A constructor that takes the numeric kernels.
+    ///
+    /// @param  batchSize   int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @param  reduction   net.jmp.demo.java23.gatherers.BatchReduceGatherer.Reduction<R>
+    /// @param  kernels     net.jmp.demo.java23.util.NumericKernels
+    public BatchReduceGatherer(final int batchSize,
+                               final ToDoubleFunction<T> selector,
+                               final Reduction<R> reduction,
+                               final NumericKernels kernels) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        this.batchSize = batchSize;
+        this.selector = Objects.requireNonNull(selector);
+        this.reduction = Objects.requireNonNull(reduction);
+        this.kernels = Objects.requireNonNull(kernels);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.BatchReduceGatherer.BatchReduceGathererState>
+    @Override
+    public Supplier<BatchReduceGathererState> initializer() {
+        return () -> new BatchReduceGathererState(this.batchSize);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.BatchReduceGatherer.BatchReduceGathererState, T, R>
+    @Override
+    public Integrator<BatchReduceGathererState, T, R> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.values[state.count++] = this.selector.applyAsDouble(item);
+
+            if (state.count == this.batchSize) {
+                return downstream.push(this.reduce(state));
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.BatchReduceGatherer.BatchReduceGathererState, java.util.stream.Gatherer.Downstream<? super R>>
+    @Override
+    public BiConsumer<BatchReduceGathererState, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            if (state.count > 0 && !downstream.isRejecting()) {
+                downstream.push(this.reduce(state));
+            }
+        };
+    }
+
+    /// Reduce the current batch and start a new one.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.BatchReduceGatherer.BatchReduceGathererState
+    /// @return         R
+    private R reduce(final BatchReduceGathererState state) {
+        final R result = this.reduction.reduce(this.kernels, state.values, state.count);
+
+        state.count = 0;
+
+        return result;
+    }
+
+    /// A reduction of the first values of a primitive batch.
+    ///
+    /// @param  <R> The type of reduction
+    @FunctionalInterface
+    public interface Reduction<R> {
+        /// Reduce the first `length` values.
+        ///
+        /// @param  kernels net.jmp.demo.java23.util.NumericKernels
+        /// @param  values  double[]
+        /// @param  length  int
+        /// @return         R
+        R reduce(NumericKernels kernels, double[] values, int length);
+    }
+
+    /// A class containing the internal state of the batch reduce gatherer.
+    public static class BatchReduceGathererState {
+        /// The values in the current batch.
+        private final double[] values;
+
+        /// The number of values in the current batch.
+        private int count;
+
+        /// A constructor that takes the batch size.
+        ///
+        /// @param  batchSize   int
+        private BatchReduceGathererState(final int batchSize) {
+            super();
+
+            this.values = new double[batchSize];
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)CountDistinctByGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.CardinalityEstimate;
+
+import net.jmp.demo.java23.util.HyperLogLog;
+
+/// This gatherer estimates the number of distinct keys extracted by a
+/// selector function and emits a single cardinality estimate with its
+/// standard error. Unlike the distinct-by gatherer, which keeps every key
+/// it has seen, the state is a HyperLogLog of `2^precision` one-byte
+/// registers whatever the cardinality. Keys are hashed to 64 bits by
+/// `HyperLogLog.hashOf`; for key types it can only hash from their 32-bit
+/// hash code, a key hash function gives the full 64 bits so that counts
+/// past `2^32` are not biased low by hash collisions. Parallel states are
+/// combined by merging their registers.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <K> The type of key
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class CountDistinctByGatherer<T, K> implements Gatherer<T, HyperLogLog, CardinalityEstimate> {
+    /// The 64-bit key hash function.
+    private final ToLongFunction<T> keyHash;
+
+    /// The HyperLogLog precision.
+    private final int precision;
+
+    /// The constructor.
+    ///
+    /// @param  selector    java.util.function.Function<T, K>
+    /// @param  precision   int; between 4 and 18
+    public CountDistinctByGatherer(final Function<T, K> selector, final int precision) {
+        this(hashOf(Objects.requireNonNull(selector)), precision);
+    }
+
+    /// A constructor that takes a 64-bit key hash function.
+    /// The hashes are mixed again, so a function that
+    /// returns a distinct long per key is enough.
+    ///
+    /// @param  keyHash     java.util.function.ToLongFunction<T>
+    /// @param  precision   int; between 4 and 18
+    public CountDistinctByGatherer(final ToLongFunction<T> keyHash, final int precision) {
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + HyperLogLog.MIN_PRECISION + " and " + HyperLogLog.MAX_PRECISION + ": " + precision);
+        }
+
+        this.keyHash = Objects.requireNonNull(keyHash);
+        this.precision = precision;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.util.HyperLogLog>
+    @Override
+    public Supplier<HyperLogLog> initializer() {
+        return () -> new HyperLogLog(this.precision);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.util.HyperLogLog, T, net.jmp.demo.java23.records.CardinalityEstimate>
+    @Override
+    public Integrator<HyperLogLog, T, CardinalityEstimate> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            state.addHash(HyperLogLog.hash(this.keyHash.applyAsLong(item)));
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.util.HyperLogLog>
+    @Override
+    public BinaryOperator<HyperLogLog> combiner() {
+        return HyperLogLog::merge;
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.util.HyperLogLog, java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.CardinalityEstimate>>
+    @Override
+    public BiConsumer<HyperLogLog, Downstream<? super CardinalityEstimate>> finisher() {
+        return (state, downstream) -> {
+            if (!downstream.isRejecting()) {
+                downstream.push(new CardinalityEstimate(state.estimate(), state.standardError()));
+            }
+        };
+    }
+
+    /// Return a key hash function that hashes the selected key.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <K>         The type of key
+    /// @param  selector    java.util.function.Function<T, K>
+    /// @return             java.util.function.ToLongFunction<T>
+    private static <T, K> ToLongFunction<T> hashOf(final Function<T, K> selector) {
+        return item -> HyperLogLog.hashOf(selector.apply(item));
+    }
+}
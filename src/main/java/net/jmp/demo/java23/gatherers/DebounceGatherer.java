@@ -0,0 +1,133 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)DebounceGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer passes an element downstream only when no other element
+/// arrives within the quiet period after it, so each burst of elements is
+/// reduced to its last one. As with the batch gatherer no timer thread is
+/// used: the held element is released when the next element arrives late
+/// enough, measured with the monotonic clock, or by the finisher at the
+/// end of the stream.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class DebounceGatherer<T> implements Gatherer<T, DebounceGatherer.DebounceGathererState<T>, T> {
+    /// The quiet period in nanoseconds.
+    private final long quietNanos;
+
+    /// The constructor.
+    ///
+    /// @param  quiet   java.time.Duration
+    public DebounceGatherer(final Duration quiet) {
+        if (Objects.requireNonNull(quiet).isNegative()) {
+            throw new IllegalArgumentException("Quiet period must not be negative: " + quiet);
+        }
+
+        this.quietNanos = quiet.toNanos();
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.DebounceGatherer.DebounceGathererState<T>>
+    @Override
+    public Supplier<DebounceGathererState<T>> initializer() {
+        return DebounceGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.DebounceGatherer.DebounceGathererState<T>, T, T>
+    @Override
+    public Integrator<DebounceGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long now = System.nanoTime();
+            final boolean release = state.holding && now - state.arrivedAt >= this.quietNanos;
+            final T previous = state.held;
+
+            state.held = item;
+            state.arrivedAt = now;
+            state.holding = true;
+
+            if (release) {
+                return downstream.push(previous);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.DebounceGatherer.DebounceGathererState<T>, java.util.stream.Gatherer.Downstream<? super T>>
+    @Override
+    public BiConsumer<DebounceGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            if (state.holding && !downstream.isRejecting()) {
+                downstream.push(state.held);
+            }
+        };
+    }
+
+    /// A class containing the internal state of the debounce gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class DebounceGathererState<T> {
+        /// The element waiting for its quiet period to end.
+        private T held;
+
+        /// The monotonic time the held element arrived.
+        private long arrivedAt;
+
+        /// True when an element is held.
+        private boolean holding;
+
+        /// The default constructor.
+        private DebounceGathererState() {
+            super();
+        }
+    }
+}
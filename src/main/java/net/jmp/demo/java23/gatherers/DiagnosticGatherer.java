@@ -0,0 +1,393 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)DiagnosticGatherer.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.StepDiagnostics;
+
+/// This gatherer wraps another gatherer to find the steps that make
+/// a parallel stream sequential. A gatherer without a combiner is
+/// evaluated one element at a time in encounter order even when the
+/// stream is parallel, and nothing reports it. When the wrapped
+/// gatherer has no combiner and the stream is parallel the flag
+/// handler is called with the step name the first time an element
+/// is integrated.
+///
+/// A gatherer cannot tell whether the stream evaluating it is
+/// parallel, so the caller says so. A step in a sequential stream
+/// serializes nothing and is never flagged. The constructor without
+/// that argument assumes a parallel stream, so a direct user that
+/// wraps a step of a sequential stream with it gets a false flag.
+///
+/// The wrapper counts the integrated elements and times the step's
+/// own work. Only one integrator call in every sixteen is timed, and
+/// the time its pushes spend in the downstream steps is taken off, so
+/// the clock is not read for every element and a step is not charged
+/// for the steps after it. The finisher's pushes are sampled the same
+/// way and their estimated time taken off. The counts are kept in the
+/// state and added up when the state is finished. A step without a
+/// combiner keeps that property, and the initializer and greediness
+/// of the wrapped gatherer are kept, so wrapping does not change how
+/// the stream is evaluated.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <A> The potentially mutable state type of the gathering operation
+/// @param  <R> The type of results of the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class DiagnosticGatherer<T, A, R> implements Gatherer<T, DiagnosticGatherer.DiagnosticGathererState<A, R>, R> {
+    /// The sampling interval less one; the interval is sixteen.
+    private static final long SAMPLE_MASK = 15;
+
+    /// The step name.
+    private final String name;
+
+    /// The wrapped gatherer.
+    private final Gatherer<T, A, R> delegate;
+
+    /// The handler called with the name of a sequential step.
+    private final Consumer<String> flagHandler;
+
+    /// True if the wrapped gatherer has no combiner.
+    private final boolean sequential;
+
+    /// True if the stream evaluating the gatherer is parallel.
+    private final boolean parallel;
+
+    /// True once the flag handler has been called.
+    private final AtomicBoolean flagged = new AtomicBoolean();
+
+    /// The number of elements integrated by the finished states.
+    private final LongAdder elements = new LongAdder();
+
+    /// The estimated nanoseconds of the step's own work in the finished states.
+    private final LongAdder nanos = new LongAdder();
+
+    /// A constructor for a gatherer evaluated by a parallel stream.
+    ///
+    /// @param  name        java.lang.String
+    /// @param  delegate    java.util.stream.Gatherer<T, A, R>
+    /// @param  flagHandler java.util.function.Consumer<java.lang.String>
+    public DiagnosticGatherer(final String name, final Gatherer<T, A, R> delegate, final Consumer<String> flagHandler) {
+        this(name, delegate, flagHandler, true);
+    }
+
+    /// The constructor.
+    ///
+    /// @param  name        java.lang.String
+    /// @param  delegate    java.util.stream.Gatherer<T, A, R>
+    /// @param  flagHandler java.util.function.Consumer<java.lang.String>
+    /// @param  parallel    boolean; true if the stream evaluating the gatherer is parallel
+    public DiagnosticGatherer(final String name,
+                              final Gatherer<T, A, R> delegate,
+                              final Consumer<String> flagHandler,
+                              final boolean parallel) {
+        this.name = Objects.requireNonNull(name);
+        this.delegate = Objects.requireNonNull(delegate);
+        this.flagHandler = Objects.requireNonNull(flagHandler);
+        this.sequential = delegate.combiner() == Gatherer.defaultCombiner();
+        this.parallel = parallel;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.DiagnosticGatherer.DiagnosticGathererState<A, R>>
+    @Override
+    public Supplier<DiagnosticGathererState<A, R>> initializer() {
+        final Supplier<A> initializer = this.delegate.initializer();
+
+        return () -> new DiagnosticGathererState<>(initializer.get());
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.DiagnosticGatherer.DiagnosticGathererState<A, R>, T, R>
+    @Override
+    public Integrator<DiagnosticGathererState<A, R>, T, R> integrator() {
+        final Integrator<A, T, R> integrator = this.delegate.integrator();
+
+        /*
+         * The wrapper is greedy exactly when the wrapped
+         * integrator is, so a short-circuiting gatherer
+         * still short-circuits and a greedy one keeps
+         * its optimizations.
+         */
+
+        final Integrator<DiagnosticGathererState<A, R>, T, R> timed = (state, item, downstream) -> {
+            if (this.sequential && this.parallel && !this.flagged.get() && this.flagged.compareAndSet(false, true)) {
+                this.flagHandler.accept(this.name);
+            }
+
+            final TimedDownstream<R> timing = state.downstream.target(downstream);
+
+            if ((state.in++ & SAMPLE_MASK) != 0) {
+                return integrator.integrate(state.state, item, timing);
+            }
+
+            timing.timeEvery(1);
+
+            final long start = System.nanoTime();
+
+            try {
+                return integrator.integrate(state.state, item, timing);
+            } finally {
+                state.sample(System.nanoTime() - start - timing.timedNanos);
+                timing.timeEvery(0);
+            }
+        };
+
+        if (integrator instanceof Integrator.Greedy<A, T, R>) {
+            return Integrator.<DiagnosticGathererState<A, R>, T, R>ofGreedy(timed::integrate);
+        }
+
+        return Integrator.of(timed);
+    }
+
+    /// A function which accepts two intermediate states and
+    /// combines them into one. A step without a combiner
+    /// keeps the default combiner so that it is still
+    /// recognized as sequential; otherwise the wrapped
+    /// combiner is applied and the counts are added together.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.gatherers.DiagnosticGatherer.DiagnosticGathererState<A, R>>
+    @Override
+    public BinaryOperator<DiagnosticGathererState<A, R>> combiner() {
+        final BinaryOperator<A> combiner = this.delegate.combiner();
+
+        if (combiner == Gatherer.<A>defaultCombiner()) {
+            return Gatherer.defaultCombiner();
+        }
+
+        return (left, right) -> {
+            left.state = combiner.apply(left.state, right.state);
+            left.absorb(right);
+
+            return left;
+        };
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.DiagnosticGatherer.DiagnosticGathererState<A, R>, java.util.stream.Gatherer.Downstream<? super R>>
+    @Override
+    public BiConsumer<DiagnosticGathererState<A, R>, Downstream<? super R>> finisher() {
+        final BiConsumer<A, Downstream<? super R>> finisher = this.delegate.finisher();
+
+        return (state, downstream) -> {
+            final TimedDownstream<R> timing = state.downstream.target(downstream);
+
+            timing.timeEvery(SAMPLE_MASK + 1);
+
+            final long start = System.nanoTime();
+
+            try {
+                finisher.accept(state.state, timing);
+            } finally {
+                state.finisherNanos = Math.max(0, System.nanoTime() - start - timing.estimatedNanos());
+
+                this.flush(state);
+            }
+        };
+    }
+
+    /// Return the step name.
+    ///
+    /// @return java.lang.String
+    public String name() {
+        return this.name;
+    }
+
+    /// Return true if the wrapped gatherer has no combiner.
+    ///
+    /// @return boolean
+    public boolean isSequential() {
+        return this.sequential;
+    }
+
+    /// Return the diagnostics of the states finished so far.
+    ///
+    /// @return net.jmp.demo.java23.records.StepDiagnostics
+    public StepDiagnostics diagnostics() {
+        return new StepDiagnostics(this.name, this.sequential, this.elements.sum(), Duration.ofNanos(this.nanos.sum()));
+    }
+
+    /// Add the counts of a finished state to the totals. The
+    /// integrator time is estimated from the sampled calls.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.DiagnosticGatherer.DiagnosticGathererState<A, R>
+    private void flush(final DiagnosticGathererState<A, R> state) {
+        final long integratorNanos = state.samples == 0
+                ? 0
+                : Math.round((double) Math.max(0, state.sampledNanos) * state.in / state.samples);
+
+        this.elements.add(state.in);
+        this.nanos.add(integratorNanos + state.finisherNanos);
+    }
+
+    /// A class containing the internal state of the diagnostic gatherer.
+    ///
+    /// @param  <A> The potentially mutable state type of the wrapped gatherer
+    /// @param  <R> The type of results of the gathering operation
+    public static class DiagnosticGathererState<A, R> {
+        /// The timing downstream.
+        private final TimedDownstream<R> downstream = new TimedDownstream<>();
+
+        /// The state of the wrapped gatherer.
+        private A state;
+
+        /// The number of elements integrated.
+        private long in;
+
+        /// The number of timed integrator calls.
+        private long samples;
+
+        /// The own nanoseconds of the timed integrator calls.
+        private long sampledNanos;
+
+        /// The own nanoseconds of the finisher.
+        private long finisherNanos;
+
+        /// A constructor that takes the wrapped state.
+        ///
+        /// @param  state   A
+        private DiagnosticGathererState(final A state) {
+            super();
+
+            this.state = state;
+        }
+
+        /// Record a timed integrator call.
+        ///
+        /// @param  nanos   long
+        private void sample(final long nanos) {
+            this.samples++;
+            this.sampledNanos += nanos;
+        }
+
+        /// Add the counts of another state to this one.
+        ///
+        /// @param  other   net.jmp.demo.java23.gatherers.DiagnosticGatherer.DiagnosticGathererState<A, R>
+        private void absorb(final DiagnosticGathererState<A, R> other) {
+            this.in += other.in;
+            this.samples += other.samples;
+            this.sampledNanos += other.sampledNanos;
+        }
+    }
+
+    /// A downstream that times a sample of the pushes to its target,
+    /// so that the time spent downstream can be taken off the time
+    /// of the step. The target is replaced on each call because a
+    /// state may be given a different downstream each time.
+    ///
+    /// @param  <R> The type of element
+    private static final class TimedDownstream<R> implements Downstream<R> {
+        /// The target downstream.
+        private Downstream<? super R> target;
+
+        /// One push in every this many is timed; zero times none.
+        private long interval;
+
+        /// The number of pushes since the interval was set.
+        private long pushes;
+
+        /// The number of timed pushes since the interval was set.
+        private long timed;
+
+        /// The nanoseconds of the timed pushes since the interval was set.
+        private long timedNanos;
+
+        /// The default constructor.
+        private TimedDownstream() {
+            super();
+        }
+
+        /// Set the target downstream.
+        ///
+        /// @param  target  java.util.stream.Gatherer.Downstream<? super R>
+        /// @return         net.jmp.demo.java23.gatherers.DiagnosticGatherer.TimedDownstream<R>
+        private TimedDownstream<R> target(final Downstream<? super R> target) {
+            this.target = target;
+
+            return this;
+        }
+
+        /// Time one push in every interval from now on and reset the counts.
+        ///
+        /// @param  interval    long; zero to time no pushes
+        private void timeEvery(final long interval) {
+            this.interval = interval;
+            this.pushes = 0;
+            this.timed = 0;
+            this.timedNanos = 0;
+        }
+
+        /// Return the estimated nanoseconds of all the pushes since
+        /// the interval was set, scaled up from the timed ones.
+        ///
+        /// @return long
+        private long estimatedNanos() {
+            return this.timed == 0 ? 0 : Math.round((double) this.timedNanos * this.pushes / this.timed);
+        }
+
+        /// Push an element to the target, timing it if it is sampled.
+        ///
+        /// @param  element R
+        /// @return         boolean
+        @Override
+        public boolean push(final R element) {
+            if (this.interval == 0 || this.pushes++ % this.interval != 0) {
+                return this.target.push(element);
+            }
+
+            final long start = System.nanoTime();
+
+            try {
+                return this.target.push(element);
+            } finally {
+                this.timed++;
+                this.timedNanos += System.nanoTime() - start;
+            }
+        }
+
+        /// Return true if the target does not want more elements.
+        ///
+        /// @return boolean
+        @Override
+        public boolean isRejecting() {
+            return this.target.isRejecting();
+        }
+    }
+}
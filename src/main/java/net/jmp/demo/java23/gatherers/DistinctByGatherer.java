@@ -1,6 +1,7 @@
 package net.jmp.demo.java23.gatherers;
 
 /*
+ * (#)DistinctByGatherer.java   0.9.0   10/19/2026
  * (#)DistinctByGatherer.java   0.5.0   09/19/2024
  * (#)DistinctByGatherer.java   0.4.0   09/19/2024
  * (#)DistinctByGatherer.java   0.2.0   09/18/2024
@@ -27,36 +28,73 @@ package net.jmp.demo.java23.gatherers;
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-
 import module java.base;
 
+import net.jmp.demo.java23.util.BloomFilter;
+import net.jmp.demo.java23.util.StateBudget;
+import net.jmp.demo.java23.util.StateBudgetExceededException;
+
 /// This gatherer ensures stream elements are unique based on a selector function.
+/// The selected keys seen so far can be held to a state budget. When their
+/// estimated size exceeds it the gatherer either fails fast or, with the
+/// approximate policy, moves the keys into a Bloom filter sized to the
+/// budget and drops the exact set. From then on the state no longer grows,
+/// but a false positive drops an element that was in fact unique.
+///
+/// A filter that fills the budget holds about
+/// `maxBytes * 8 * ln(2)^2 / ln(100)` keys at a one percent false positive
+/// probability. Beyond that the probability climbs towards one and more and
+/// more distinct elements are dropped. The estimated probability is reported
+/// in parts per million as a gauge named `<name>.falsePositivePpm`, and the
+/// number of keys added beyond the capacity of the filter as a gauge named
+/// `<name>.filterOverflow`; a non-zero overflow means the result is no
+/// longer within the target error. Spilling is not supported since every
+/// element needs a lookup in the whole state.
 /// The optional combiner operation is not present in this gatherer.
 /// The optional finisher operation is not present in this gatherer.
 ///
 /// @param  <T> The type of input elements to the gathering operation
 /// @param  <A> The potentially mutable state type of the gathering operation
 ///
-/// @version    0.5.0
+/// @version    0.9.0
 /// @since      0.2.0
-public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
+public final class DistinctByGatherer<T, A> implements Gatherer<T, DistinctByGatherer.DistinctByGathererState<A>, T> {
+    /// The false positive probability of the Bloom filter in the approximate mode.
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
     /// The selector function.
     private final Function<T, A> selector;
 
+    /// The state budget.
+    private final StateBudget<? super A> budget;
+
     /// The constructor.
     ///
     /// @param  selector    java.util.function.Function<T, A>
     public DistinctByGatherer(final Function<T, A> selector) {
+        this(selector, StateBudget.unbounded());
+    }
+
+    /// A constructor that takes a state budget.
+    ///
+    /// @param  selector    java.util.function.Function<T, A>
+    /// @param  budget      net.jmp.demo.java23.util.StateBudget<? super A>
+    public DistinctByGatherer(final Function<T, A> selector, final StateBudget<? super A> budget) {
+        if (Objects.requireNonNull(budget).policy() == StateBudget.Policy.SPILL) {
+            throw new IllegalArgumentException("Distinct-by cannot spill its state: " + budget.name());
+        }
+
         this.selector = Objects.requireNonNull(selector);
+        this.budget = budget;
     }
 
     /// A function that produces an instance of the intermediate
     /// state used for this gathering operation.
     ///
-    /// @return java.util.function.Supplier<java.util.Set<A>>
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.DistinctByGatherer.DistinctByGathererState<A>>
     @Override
-    public Supplier<Set<A>> initializer() {
-        return HashSet::new;
+    public Supplier<DistinctByGathererState<A>> initializer() {
+        return () -> new DistinctByGathererState<>(this.budget);
     }
 
     /// A function which integrates provided elements,
@@ -64,9 +102,9 @@ public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
     /// optionally producing output to the provided
     /// downstream type.
     ///
-    /// @return java.util.stream.Gatherer.Integrator<java.util.Set<A>, T, T>
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.DistinctByGatherer.DistinctByGathererState<A>, T, T>
     @Override
-    public Integrator<Set<A>, T, T> integrator() {
+    public Integrator<DistinctByGathererState<A>, T, T> integrator() {
         /*
          * Greedy integrators consume all their input,
          * and may only relay that the downstream does
@@ -78,9 +116,7 @@ public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
         return Integrator.ofGreedy((state, item, downstream) -> {
             final A selected = this.selector.apply(item);   // Apply the selector function
 
-            if (!state.contains(selected)) {
-                state.add(selected);
-
+            if (this.add(state, selected)) {
                 if (!downstream.push(item)) {
                     System.err.format("Failed to push %s downstream%n", item);
 
@@ -91,4 +127,91 @@ public final class DistinctByGatherer<T, A> implements Gatherer<T, Set<A>, T> {
             return true;    // True if subsequent integration is desired
         });
     }
+
+    /// Add a key to the state and return true if it was not seen before.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.DistinctByGatherer.DistinctByGathererState<A>
+    /// @param  key     A
+    /// @return         boolean
+    private boolean add(final DistinctByGathererState<A> state, final A key) {
+        if (state.filter != null) {
+            if (state.filter.mightContain(key)) {
+                return false;
+            }
+
+            state.filter.add(key);
+
+            if (state.filter.insertions() % this.budget.samplingInterval() == 0) {
+                this.report(state);
+            }
+
+            return true;
+        }
+
+        if (!state.keys.add(key)) {
+            return false;
+        }
+
+        if (state.meter != null && state.meter.observe(state.keys.size(), key)) {
+            this.degrade(state);
+        }
+
+        return true;
+    }
+
+    /// Fail or move the keys into a Bloom filter once the budget is exceeded.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.DistinctByGatherer.DistinctByGathererState<A>
+    private void degrade(final DistinctByGathererState<A> state) {
+        state.meter.breached();
+
+        if (this.budget.policy() == StateBudget.Policy.FAIL_FAST) {
+            throw new StateBudgetExceededException(this.budget.name(), state.meter.bytes(), this.budget.maxBytes());
+        }
+
+        // Size the filter so that its bits fill the budget at the target false positive probability
+
+        final double ln2 = Math.log(2);
+        final long expected = (long) (this.budget.maxBytes() * Byte.SIZE * ln2 * ln2 / -Math.log(FALSE_POSITIVE_PROBABILITY));
+        final BloomFilter filter = new BloomFilter(Math.max(1, expected), FALSE_POSITIVE_PROBABILITY);
+
+        state.keys.forEach(filter::add);
+        state.keys = null;
+        state.filter = filter;
+        state.meter.reset(filter.size() / Byte.SIZE);
+
+        this.report(state);
+    }
+
+    /// Report the estimated false positive probability of the
+    /// Bloom filter and the number of keys beyond its capacity.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.DistinctByGatherer.DistinctByGathererState<A>
+    private void report(final DistinctByGathererState<A> state) {
+        state.meter.gauge("falsePositivePpm").set(Math.round(state.filter.falsePositiveProbability() * 1_000_000));
+        state.meter.gauge("filterOverflow").set(Math.max(0, state.filter.insertions() - state.filter.expected()));
+    }
+
+    /// A class containing the internal state of the distinct-by gatherer.
+    ///
+    /// @param  <A> The type of key
+    public static class DistinctByGathererState<A> {
+        /// The meter; null when the budget is unbounded.
+        private final StateBudget.Meter<? super A> meter;
+
+        /// The keys seen so far; null in the approximate mode.
+        private Set<A> keys = new HashSet<>();
+
+        /// The Bloom filter of the keys seen so far in the approximate mode.
+        private BloomFilter filter;
+
+        /// A constructor that takes the budget.
+        ///
+        /// @param  budget  net.jmp.demo.java23.util.StateBudget<? super A>
+        private DistinctByGathererState(final StateBudget<? super A> budget) {
+            super();
+
+            this.meter = budget.isBounded() ? budget.meter() : null;
+        }
+    }
 }
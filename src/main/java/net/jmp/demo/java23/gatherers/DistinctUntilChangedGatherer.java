@@ -0,0 +1,109 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)DistinctUntilChangedGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer drops elements whose key, as returned by a selector
+/// function, equals the key of the element just before them, so each
+/// run of equal keys is reduced to its first element. Only the previous
+/// key is remembered, so unlike the distinct-by gatherer the state is
+/// O(1) and the gatherer can run on an unbounded stream.
+/// The optional combiner operation is not present in this gatherer.
+/// The optional finisher operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <A> The type of key
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class DistinctUntilChangedGatherer<T, A> implements Gatherer<T, DistinctUntilChangedGatherer.DistinctUntilChangedGathererState<A>, T> {
+    /// The selector function.
+    private final Function<T, A> selector;
+
+    /// The constructor.
+    ///
+    /// @param  selector    java.util.function.Function<T, A>
+    public DistinctUntilChangedGatherer(final Function<T, A> selector) {
+        this.selector = Objects.requireNonNull(selector);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.DistinctUntilChangedGatherer.DistinctUntilChangedGathererState<A>>
+    @Override
+    public Supplier<DistinctUntilChangedGathererState<A>> initializer() {
+        return DistinctUntilChangedGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.DistinctUntilChangedGatherer.DistinctUntilChangedGathererState<A>, T, T>
+    @Override
+    public Integrator<DistinctUntilChangedGathererState<A>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final A selected = this.selector.apply(item);   // Apply the selector function
+
+            if (state.seen && Objects.equals(state.previous, selected)) {
+                return true;    // True if subsequent integration is desired
+            }
+
+            state.seen = true;
+            state.previous = selected;
+
+            return downstream.push(item);
+        });
+    }
+
+    /// A class containing the internal state of the distinct until changed gatherer.
+    ///
+    /// @param   <A>    The type of key
+    public static class DistinctUntilChangedGathererState<A> {
+        /// The key of the previous element.
+        private A previous;
+
+        /// True once an element has been seen.
+        private boolean seen;
+
+        /// The default constructor.
+        private DistinctUntilChangedGathererState() {
+            super();
+        }
+    }
+}
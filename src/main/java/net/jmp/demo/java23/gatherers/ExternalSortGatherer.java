@@ -0,0 +1,504 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)ExternalSortGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.util.BinaryCodec;
+
+/// This gatherer sorts a stream that may not fit in memory. Elements are
+/// buffered until the memory budget, counted in elements, is reached; the
+/// buffer is then sorted and written as a run to a temporary file using
+/// a binary codec. The finisher k-way merges the runs and the last, still
+/// buffered, run through a heap holding one element per run, pushing the
+/// elements one at a time so that a short-circuiting downstream stops
+/// the merge early. At most 64 runs are merged at once; when there are
+/// more, consecutive groups of runs are first merged into longer runs,
+/// pass after pass, so the number of open files stays bounded. A run
+/// file is a sequence of blocks of at most the memory budget elements,
+/// each headed by its length and the last followed by an empty block, so
+/// a merged run may hold any number of elements while the merge holds no
+/// more than one block of them in memory. The sort is stable and the run files are deleted once the merge ends, but not
+/// if the stream is abandoned before the finisher runs. Parallel states
+/// are combined by pooling their runs, so each segment spills
+/// independently.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <C> A type that extends Comparable
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class ExternalSortGatherer<T, C extends Comparable<C>> implements Gatherer<T, ExternalSortGatherer.ExternalSortGathererState<T>, T> {
+    /// The maximum number of runs merged at once.
+    private static final int MAX_FAN_IN = 64;
+
+    /// The sort order.
+    private final Comparator<T> comparator;
+
+    /// The number of elements held in memory per run.
+    private final int memoryBudget;
+
+    /// The codec used for the run files.
+    private final BinaryCodec<T> codec;
+
+    /// The constructor.
+    ///
+    /// @param  selector        java.util.function.Function<T, C>
+    /// @param  memoryBudget    int; the number of elements held in memory
+    /// @param  codec           net.jmp.demo.java23.util.BinaryCodec<T>
+    public ExternalSortGatherer(final Function<T, C> selector, final int memoryBudget, final BinaryCodec<T> codec) {
+        if (memoryBudget < 1) {
+            throw new IllegalArgumentException("Memory budget must be positive: " + memoryBudget);
+        }
+
+        this.comparator = Comparator.comparing(Objects.requireNonNull(selector));
+        this.memoryBudget = memoryBudget;
+        this.codec = Objects.requireNonNull(codec);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.ExternalSortGatherer.ExternalSortGathererState<T>>
+    @Override
+    public Supplier<ExternalSortGathererState<T>> initializer() {
+        return ExternalSortGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.ExternalSortGatherer.ExternalSortGathererState<T>, T, T>
+    @Override
+    public Integrator<ExternalSortGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            this.buffer(state, item);
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.gatherers.ExternalSortGatherer.ExternalSortGathererState<T>>
+    @Override
+    public BinaryOperator<ExternalSortGathererState<T>> combiner() {
+        return (left, right) -> {
+            if (!left.buffer.isEmpty() && !right.runs.isEmpty()) {
+                left.runs.add(this.spill(left.buffer));     // Keep the runs in encounter order so ties stay stable
+                left.buffer.clear();
+            }
+
+            left.runs.addAll(right.runs);
+
+            right.buffer.forEach(item -> this.buffer(left, item));
+
+            return left;
+        };
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.ExternalSortGatherer.ExternalSortGathererState<T>, java.util.stream.Gatherer.Downstream<? super T>>
+    @Override
+    public BiConsumer<ExternalSortGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            state.buffer.sort(this.comparator);
+
+            if (state.runs.isEmpty()) {
+                for (final T item : state.buffer) {
+                    if (!downstream.push(item)) {
+                        break;
+                    }
+                }
+            } else {
+                this.merge(state, downstream);
+            }
+        };
+    }
+
+    /// Add an element to the buffer, spilling
+    /// the buffer once the budget is reached.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.ExternalSortGatherer.ExternalSortGathererState<T>
+    /// @param  item    T
+    private void buffer(final ExternalSortGathererState<T> state, final T item) {
+        state.buffer.add(item);
+
+        if (state.buffer.size() >= this.memoryBudget) {
+            state.runs.add(this.spill(state.buffer));
+            state.buffer.clear();
+        }
+    }
+
+    /// Sort the buffer and write it to a temporary run file.
+    ///
+    /// @param  buffer  java.util.List<T>
+    /// @return         java.nio.file.Path
+    private Path spill(final List<T> buffer) {
+        buffer.sort(this.comparator);
+
+        try {
+            final Path run = Files.createTempFile("sort-run-", ".bin");
+
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                this.writeBlock(output, buffer);
+
+                output.writeInt(0);     // The empty block ends the run
+            }
+
+            return run;
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /// Merge the run files and the buffer, pushing elements
+    /// until the runs are exhausted or the downstream rejects.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.ExternalSortGatherer.ExternalSortGathererState<T>
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super T>
+    private void merge(final ExternalSortGathererState<T> state, final Downstream<? super T> downstream) {
+        final List<Closeable> resources = new ArrayList<>();
+
+        try {
+            this.compact(state.runs);
+
+            final List<Iterator<T>> sources = new ArrayList<>(this.open(state.runs, resources));
+
+            sources.add(state.buffer.iterator());   // The buffer holds the last elements so it goes last
+
+            this.mergeInto(sources, downstream::push);
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        } finally {
+            this.release(resources, state.runs);
+        }
+    }
+
+    /// Merge consecutive groups of runs into longer runs
+    /// until no more than the maximum fan-in remain.
+    ///
+    /// @param  runs    java.util.List<java.nio.file.Path>
+    /// @throws         java.io.IOException When a run cannot be read or written
+    private void compact(final List<Path> runs) throws IOException {
+        while (runs.size() > MAX_FAN_IN) {
+            for (int from = 0; from < runs.size(); from++) {
+                final List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+
+                if (group.size() > 1) {
+                    final Path merged = this.mergeRuns(group);
+
+                    this.delete(group);     // Removes the group from the runs
+
+                    runs.add(from, merged);
+                }
+            }
+        }
+    }
+
+    /// Merge a group of runs into a new run file.
+    ///
+    /// @param  group   java.util.List<java.nio.file.Path>
+    /// @return         java.nio.file.Path
+    /// @throws         java.io.IOException When a run cannot be read or written
+    private Path mergeRuns(final List<Path> group) throws IOException {
+        final List<Closeable> resources = new ArrayList<>();
+        final Path merged = Files.createTempFile("sort-run-", ".bin");
+
+        try {
+            final List<RunIterator<T>> sources = this.open(group, resources);
+            final List<T> block = new ArrayList<>();
+
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(merged)))) {
+                this.mergeInto(sources, item -> {
+                    block.add(item);
+
+                    if (block.size() >= this.memoryBudget) {
+                        this.writeBlock(output, block);
+                        block.clear();
+                    }
+
+                    return true;
+                });
+
+                this.writeBlock(output, block);
+
+                output.writeInt(0);     // The empty block ends the run
+            }
+
+            return merged;
+        } catch (final IOException | RuntimeException e) {
+            Files.deleteIfExists(merged);
+
+            throw e;
+        } finally {
+            this.close(resources);
+        }
+    }
+
+    /// Write a block of elements headed by its length. Nothing
+    /// is written for an empty block, which would end the run.
+    ///
+    /// @param  output  java.io.DataOutputStream
+    /// @param  block   java.util.List<T>
+    private void writeBlock(final DataOutputStream output, final List<T> block) {
+        if (!block.isEmpty()) {
+            try {
+                output.writeInt(block.size());
+
+                for (final T item : block) {
+                    this.codec.write(output, item);
+                }
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    /// Open the run files, registering each input as a resource to close.
+    ///
+    /// @param  runs        java.util.List<java.nio.file.Path>
+    /// @param  resources   java.util.List<java.io.Closeable>
+    /// @return             java.util.List<net.jmp.demo.java23.gatherers.ExternalSortGatherer.RunIterator<T>>
+    /// @throws             java.io.IOException When a run cannot be opened
+    private List<RunIterator<T>> open(final List<Path> runs, final List<Closeable> resources) throws IOException {
+        final List<RunIterator<T>> iterators = new ArrayList<>(runs.size());
+
+        for (final Path run : runs) {
+            final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+
+            resources.add(input);
+            iterators.add(new RunIterator<>(input, this.codec));
+        }
+
+        return iterators;
+    }
+
+    /// K-way merge sorted sources through a heap holding one element per
+    /// source into a sink until the sources are exhausted or the sink
+    /// returns false. Earlier sources win ties, so the merge is stable.
+    ///
+    /// @param  sources java.util.List<? extends java.util.Iterator<T>>
+    /// @param  sink    java.util.function.Predicate<T>
+    private void mergeInto(final List<? extends Iterator<T>> sources, final Predicate<T> sink) {
+        final PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(
+                Comparator.<Cursor<T>, T>comparing(Cursor::head, this.comparator).thenComparingInt(Cursor::source)
+        );
+
+        for (int i = 0; i < sources.size(); i++) {
+            this.offer(heap, new Cursor<>(i, sources.get(i)));
+        }
+
+        while (!heap.isEmpty()) {
+            final Cursor<T> cursor = heap.poll();
+
+            if (!sink.test(cursor.head)) {
+                break;
+            }
+
+            this.offer(heap, cursor);
+        }
+    }
+
+    /// Advance a cursor and put it back on the heap unless it is exhausted.
+    ///
+    /// @param  heap    java.util.PriorityQueue<net.jmp.demo.java23.gatherers.ExternalSortGatherer.Cursor<T>>
+    /// @param  cursor  net.jmp.demo.java23.gatherers.ExternalSortGatherer.Cursor<T>
+    private void offer(final PriorityQueue<Cursor<T>> heap, final Cursor<T> cursor) {
+        if (cursor.iterator.hasNext()) {
+            cursor.head = cursor.iterator.next();
+
+            heap.add(cursor);
+        }
+    }
+
+    /// Close the run files and delete them.
+    ///
+    /// @param  resources   java.util.List<java.io.Closeable>
+    /// @param  runs        java.util.List<java.nio.file.Path>
+    private void release(final List<Closeable> resources, final List<Path> runs) {
+        this.close(resources);
+        this.delete(runs);
+    }
+
+    /// Close the run file inputs.
+    ///
+    /// @param  resources   java.util.List<java.io.Closeable>
+    private void close(final List<Closeable> resources) {
+        for (final Closeable resource : resources) {
+            try {
+                resource.close();
+            } catch (final IOException _) {
+                // The file is deleted anyway
+            }
+        }
+    }
+
+    /// Delete the run files and remove them from the list.
+    ///
+    /// @param  runs    java.util.List<java.nio.file.Path>
+    private void delete(final List<Path> runs) {
+        for (final Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (final IOException _) {
+                // A temporary file is left behind
+            }
+        }
+
+        runs.clear();
+    }
+
+    /// The position of the merge in one run.
+    ///
+    /// @param  <T> The type of element
+    private static final class Cursor<T> {
+        /// The index of the run; earlier runs win ties.
+        private final int source;
+
+        /// The remaining elements of the run.
+        private final Iterator<T> iterator;
+
+        /// The smallest element of the run not yet pushed.
+        private T head;
+
+        /// A constructor that takes the run index and its elements.
+        ///
+        /// @param  source      int
+        /// @param  iterator    java.util.Iterator<T>
+        private Cursor(final int source, final Iterator<T> iterator) {
+            super();
+
+            this.source = source;
+            this.iterator = iterator;
+        }
+
+        /// Return the head element.
+        ///
+        /// @return T
+        private T head() {
+            return this.head;
+        }
+
+        /// Return the run index.
+        ///
+        /// @return int
+        private int source() {
+            return this.source;
+        }
+    }
+
+    /// An iterator over the elements of a run file.
+    ///
+    /// @param  <T> The type of element
+    private static final class RunIterator<T> implements Iterator<T> {
+        /// The run file input.
+        private final DataInputStream input;
+
+        /// The codec.
+        private final BinaryCodec<T> codec;
+
+        /// The number of elements of the current block not yet read;
+        /// zero once the empty block that ends the run has been read.
+        private int remaining;
+
+        /// A constructor that takes the input and the codec.
+        ///
+        /// @param  input   java.io.DataInputStream
+        /// @param  codec   net.jmp.demo.java23.util.BinaryCodec<T>
+        /// @throws         java.io.IOException When the first block header cannot be read
+        private RunIterator(final DataInputStream input, final BinaryCodec<T> codec) throws IOException {
+            super();
+
+            this.input = input;
+            this.codec = codec;
+            this.remaining = input.readInt();
+        }
+
+        /// Return true if the run has more elements.
+        ///
+        /// @return boolean
+        @Override
+        public boolean hasNext() {
+            return this.remaining > 0;
+        }
+
+        /// Read the next element, reading the next
+        /// block header once the block is exhausted.
+        ///
+        /// @return T
+        @Override
+        public T next() {
+            if (this.remaining == 0) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                final T item = this.codec.read(this.input);
+
+                if (--this.remaining == 0) {
+                    this.remaining = this.input.readInt();
+                }
+
+                return item;
+            } catch (final IOException ioe) {
+                throw new UncheckedIOException(ioe);
+            }
+        }
+    }
+
+    /// A class containing the internal state of the external sort gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class ExternalSortGathererState<T> {
+        /// The elements not yet spilled.
+        private final List<T> buffer = new ArrayList<>();
+
+        /// The spilled run files.
+        private final List<Path> runs = new ArrayList<>();
+
+        /// The default constructor.
+        private ExternalSortGathererState() {
+            super();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.demo.java23.gatherers;
 
 /*
+ * (#)FindLastGatherer.java 0.9.0   10/19/2026
  * (#)FindLastGatherer.java 0.5.0   09/19/2024
  * (#)FindLastGatherer.java 0.4.0   09/19/2024
  * (#)FindLastGatherer.java 0.2.0   09/18/2024
@@ -31,13 +32,15 @@ package net.jmp.demo.java23.gatherers;
 import module java.base;
 
 /// This gatherer filters out items based on a predicate function and returns the last.
+/// Only the most recent match is kept, so the state is O(1). Nothing is
+/// pushed when no item matches.
 /// The optional combiner operation is not present in this gatherer.
 ///
 /// @param  <T> The type of input elements to the gathering operation
 ///
-/// @version    0.5.0
+/// @version    0.9.0
 /// @since      0.2.0
-public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
+public final class FindLastGatherer<T>  implements Gatherer<T, FindLastGatherer.FindLastGathererState<T>, T> {
     /// The predicate function.
     private final Predicate<T> predicate;
 
@@ -51,10 +54,10 @@ public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
     /// A function that produces an instance of the intermediate
     /// state used for this gathering operation.
     ///
-    /// @return java.util.function.Supplier<java.util.List<T>>
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.FindLastGatherer.FindLastGathererState<T>>
     @Override
-    public Supplier<List<T>> initializer() {
-        return ArrayList::new;
+    public Supplier<FindLastGathererState<T>> initializer() {
+        return FindLastGathererState::new;
     }
 
     /// A function which integrates provided elements,
@@ -62,9 +65,9 @@ public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
     /// optionally producing output to the provided
     /// downstream type.
     ///
-    /// @return java.util.stream.Gatherer.Integrator<java.util.List<T>, T, T>
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.FindLastGatherer.FindLastGathererState<T>, T, T>
     @Override
-    public Integrator<List<T>, T, T> integrator() {
+    public Integrator<FindLastGathererState<T>, T, T> integrator() {
         /*
          * Greedy integrators consume all their input,
          * and may only relay that the downstream does
@@ -75,7 +78,8 @@ public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
 
         return Integrator.ofGreedy((state, item, _) -> {
             if (this.predicate.test(item)) {
-                state.add(item);
+                state.last = item;
+                state.found = true;
             }
 
             return true;    // True if subsequent integration is desired
@@ -87,14 +91,29 @@ public final class FindLastGatherer<T>  implements Gatherer<T, List<T>, T> {
     /// end of input elements. The lambda is the state (A) and the
     /// result type (R).
     ///
-    // @return  java.util.function.BiConsumer<java.util.List<T>, java.util.stream.Gatherer.Downstream<? super T>>
+    // @return  java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.FindLastGatherer.FindLastGathererState<T>, java.util.stream.Gatherer.Downstream<? super T>>
     @Override
-    public BiConsumer<List<T>, Downstream<? super T>> finisher () {
+    public BiConsumer<FindLastGathererState<T>, Downstream<? super T>> finisher () {
         return (state, downstream) -> {
-            final int count = state.size();
-            final T lastItem = state.get(count - 1);
-
-            downstream.push(lastItem);
+            if (state.found && !downstream.isRejecting()) {
+                downstream.push(state.last);
+            }
         };
     }
+
+    /// A class containing the internal state of the find last gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class FindLastGathererState<T> {
+        /// The last matching item.
+        private T last;
+
+        /// True once an item has matched.
+        private boolean found;
+
+        /// The default constructor.
+        private FindLastGathererState() {
+            super();
+        }
+    }
 }
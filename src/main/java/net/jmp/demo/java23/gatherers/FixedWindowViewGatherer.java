@@ -0,0 +1,153 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)FixedWindowViewGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer emits fixed windows as read-only views over a window
+/// array instead of copying each window into a new list. A consumer
+/// that releases each view once it has finished with it hands the
+/// array back for the next window, so windowing allocates a single
+/// array regardless of the stream length. A view that is retained
+/// simply keeps its array and the next window is gathered into a new
+/// one. The last window may be partial.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class FixedWindowViewGatherer<T> implements Gatherer<T, FixedWindowViewGatherer.FixedWindowViewGathererState<T>, WindowView<T>> {
+    /// The window size.
+    private final int window;
+
+    /// The constructor.
+    ///
+    /// @param  window  int
+    public FixedWindowViewGatherer(final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + window);
+        }
+
+        this.window = window;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.FixedWindowViewGatherer.FixedWindowViewGathererState<T>>
+    @Override
+    public Supplier<FixedWindowViewGathererState<T>> initializer() {
+        return () -> new FixedWindowViewGathererState<>(this.window);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.FixedWindowViewGatherer.FixedWindowViewGathererState<T>, T, net.jmp.demo.java23.gatherers.WindowView<T>>
+    @Override
+    public Integrator<FixedWindowViewGathererState<T>, T, WindowView<T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            if (state.buffer == null) {
+                state.buffer = state.pool.acquire();    // The released array of an earlier window, if any
+            }
+
+            state.buffer[state.count++] = item;
+
+            if (state.count == this.window) {
+                return downstream.push(state.handOff());
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.FixedWindowViewGatherer.FixedWindowViewGathererState<T>, java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.gatherers.WindowView<T>>>
+    @Override
+    public BiConsumer<FixedWindowViewGathererState<T>, Downstream<? super WindowView<T>>> finisher() {
+        return (state, downstream) -> {
+            if (state.count > 0 && !downstream.isRejecting()) {
+                downstream.push(state.handOff());
+            }
+
+            if (state.buffer != null) {
+                state.pool.release(state.buffer);
+                state.buffer = null;
+            }
+        };
+    }
+
+    /// A class containing the internal state of the fixed window view gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class FixedWindowViewGathererState<T> {
+        /// The pool of window arrays.
+        private final WindowView.Pool pool;
+
+        /// The array of the window being gathered.
+        private Object[] buffer;
+
+        /// The number of elements in the current window.
+        private int count;
+
+        /// A constructor that takes the window size.
+        ///
+        /// @param  window  int
+        private FixedWindowViewGathererState(final int window) {
+            super();
+
+            this.pool = new WindowView.Pool(window);
+        }
+
+        /// Hand the current window array off to a new view.
+        ///
+        /// @return net.jmp.demo.java23.gatherers.WindowView<T>
+        private WindowView<T> handOff() {
+            final WindowView<T> view = new WindowView<>(this.pool, this.buffer, 0, this.count, true);
+
+            this.buffer = null;
+            this.count = 0;
+
+            return view;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)FoldMutableGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer folds the elements into a mutable container, in the
+/// manner of a collector, and emits the container once at the end. The
+/// accumulator mutates the container in place so a reduction such as
+/// building a string stays linear instead of copying an immutable value
+/// for every element. When a combiner is given the gatherer can run on
+/// a parallel stream: each segment folds into its own container and the
+/// containers are combined in encounter order. Without a combiner the
+/// optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <A> The mutable container type of the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class FoldMutableGatherer<T, A> implements Gatherer<T, A, A> {
+    /// The container supplier.
+    private final Supplier<A> supplier;
+
+    /// The accumulator function.
+    private final BiConsumer<A, T> accumulator;
+
+    /// The combiner function or null.
+    private final BinaryOperator<A> combiner;
+
+    /// A constructor for a sequential fold.
+    ///
+    /// @param  supplier    java.util.function.Supplier<A>
+    /// @param  accumulator java.util.function.BiConsumer<A, T>
+    public FoldMutableGatherer(final Supplier<A> supplier, final BiConsumer<A, T> accumulator) {
+        this.supplier = Objects.requireNonNull(supplier);
+        this.accumulator = Objects.requireNonNull(accumulator);
+        this.combiner = null;
+    }
+
+    /// A constructor for a fold that can run in parallel.
+    ///
+    /// @param  supplier    java.util.function.Supplier<A>
+    /// @param  accumulator java.util.function.BiConsumer<A, T>
+    /// @param  combiner    java.util.function.BinaryOperator<A>
+    public FoldMutableGatherer(final Supplier<A> supplier,
+                               final BiConsumer<A, T> accumulator,
+                               final BinaryOperator<A> combiner) {
+        this.supplier = Objects.requireNonNull(supplier);
+        this.accumulator = Objects.requireNonNull(accumulator);
+        this.combiner = Objects.requireNonNull(combiner);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<A>
+    @Override
+    public Supplier<A> initializer() {
+        return this.supplier;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<A, T, A>
+    @Override
+    public Integrator<A, T, A> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            this.accumulator.accept(state, item);
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    ///
+    /// @return java.util.function.BinaryOperator<A>
+    @Override
+    public BinaryOperator<A> combiner() {
+        return this.combiner != null ? this.combiner : Gatherer.defaultCombiner();
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<A, java.util.stream.Gatherer.Downstream<? super A>>
+    @Override
+    public BiConsumer<A, Downstream<? super A>> finisher() {
+        return (state, downstream) -> downstream.push(state);
+    }
+}
@@ -0,0 +1,235 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)HeavyHittersGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.HeavyHitter;
+
+import net.jmp.demo.java23.util.CountMinSketch;
+
+/// This gatherer reports the `k` most frequent keys returned by a selector
+/// function, most frequent first. Frequencies are counted in a count-min
+/// sketch of fixed size and only the `k` best candidates are remembered,
+/// so the memory used does not grow with the number of distinct keys. A
+/// key that is not a candidate replaces the least frequent one once its
+/// estimate is larger. Parallel states are combined by merging the
+/// sketches and re-ranking the union of the candidates.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <K> The type of key
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class HeavyHittersGatherer<T, K> implements Gatherer<T, HeavyHittersGatherer.HeavyHittersGathererState<K>, HeavyHitter<K>> {
+    /// The key selector function.
+    private final Function<T, K> selector;
+
+    /// The number of keys to report.
+    private final int k;
+
+    /// The sketch width.
+    private final int width;
+
+    /// The sketch depth.
+    private final int depth;
+
+    /// The constructor.
+    ///
+    /// @param  selector    java.util.function.Function<T, K>
+    /// @param  k           int
+    /// @param  width       int
+    /// @param  depth       int
+    public HeavyHittersGatherer(final Function<T, K> selector, final int k, final int width, final int depth) {
+        if (k < 1) {
+            throw new IllegalArgumentException("K must be positive: " + k);
+        }
+
+        if (width < 1) {
+            throw new IllegalArgumentException("Width must be positive: " + width);
+        }
+
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be positive: " + depth);
+        }
+
+        this.selector = Objects.requireNonNull(selector);
+        this.k = k;
+        this.width = width;
+        this.depth = depth;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.HeavyHittersGatherer.HeavyHittersGathererState<K>>
+    @Override
+    public Supplier<HeavyHittersGathererState<K>> initializer() {
+        return () -> new HeavyHittersGathererState<>(this.k, new CountMinSketch(this.width, this.depth));
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.HeavyHittersGatherer.HeavyHittersGathererState<K>, T, net.jmp.demo.java23.records.HeavyHitter<K>>
+    @Override
+    public Integrator<HeavyHittersGathererState<K>, T, HeavyHitter<K>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            final K key = this.selector.apply(item);
+
+            state.offer(key, state.sketch.add(key));
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.gatherers.HeavyHittersGatherer.HeavyHittersGathererState<K>>
+    @Override
+    public BinaryOperator<HeavyHittersGathererState<K>> combiner() {
+        return (left, right) -> {
+            final CountMinSketch sketch = left.sketch.merge(right.sketch);
+            final HeavyHittersGathererState<K> combined = new HeavyHittersGathererState<>(this.k, sketch);
+
+            final Set<K> keys = new HashSet<>(left.counts.keySet());
+
+            keys.addAll(right.counts.keySet());
+
+            keys.forEach(key -> combined.offer(key, sketch.estimate(key)));
+
+            return combined;
+        };
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.HeavyHittersGatherer.HeavyHittersGathererState<K>, java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.HeavyHitter<K>>>
+    @Override
+    public BiConsumer<HeavyHittersGathererState<K>, Downstream<? super HeavyHitter<K>>> finisher() {
+        return (state, downstream) -> {
+            final List<HeavyHitter<K>> hitters = new ArrayList<>(state.counts.size());
+
+            state.counts.forEach((key, count) -> hitters.add(new HeavyHitter<>(key, count)));
+            hitters.sort(Comparator.comparingLong(HeavyHitter<K>::estimatedCount).reversed());
+
+            for (final HeavyHitter<K> hitter : hitters) {
+                if (!downstream.push(hitter)) {
+                    break;
+                }
+            }
+        };
+    }
+
+    /// A class containing the internal state of the heavy hitters gatherer.
+    ///
+    /// @param   <K>    The type of key
+    public static class HeavyHittersGathererState<K> {
+        /// The number of candidates to keep.
+        private final int k;
+
+        /// The frequency sketch.
+        private final CountMinSketch sketch;
+
+        /// The candidates and their latest estimates.
+        private final Map<K, Long> counts = new HashMap<>();
+
+        /// A min-heap of candidate estimates. An entry whose
+        /// count no longer matches the candidate map is stale
+        /// and is dropped when it reaches the top.
+        private final PriorityQueue<Map.Entry<K, Long>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+
+        /// A constructor that takes the number of candidates and the sketch.
+        ///
+        /// @param  k       int
+        /// @param  sketch  net.jmp.demo.java23.util.CountMinSketch
+        private HeavyHittersGathererState(final int k, final CountMinSketch sketch) {
+            super();
+
+            this.k = k;
+            this.sketch = sketch;
+        }
+
+        /// Offer a key with its current estimate.
+        ///
+        /// @param  key         K
+        /// @param  estimate    long
+        private void offer(final K key, final long estimate) {
+            if (this.counts.containsKey(key) || this.counts.size() < this.k) {
+                this.track(key, estimate);
+            } else {
+                final Map.Entry<K, Long> least = this.least();
+
+                if (estimate > least.getValue()) {
+                    this.heap.poll();
+                    this.counts.remove(least.getKey());
+                    this.track(key, estimate);
+                }
+            }
+        }
+
+        /// Record the estimate of a candidate.
+        ///
+        /// @param  key         K
+        /// @param  estimate    long
+        private void track(final K key, final long estimate) {
+            this.counts.put(key, estimate);
+            this.heap.add(new AbstractMap.SimpleImmutableEntry<>(key, estimate));
+
+            if (this.heap.size() > 4 * this.k) {
+                this.heap.clear();      // Rebuild without the stale entries
+
+                this.counts.forEach((candidate, count) -> this.heap.add(new AbstractMap.SimpleImmutableEntry<>(candidate, count)));
+            }
+        }
+
+        /// Return the candidate with the smallest estimate.
+        ///
+        /// @return java.util.Map.Entry<K, java.lang.Long>
+        private Map.Entry<K, Long> least() {
+            while (!this.heap.peek().getValue().equals(this.counts.get(this.heap.peek().getKey()))) {
+                this.heap.poll();
+            }
+
+            return this.heap.peek();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)InstrumentedGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.StageMetrics;
+
+import net.jmp.demo.java23.util.MetricsRegistry;
+
+/// This gatherer decorates another gatherer and records the metrics
+/// of its stage in a metrics registry: the elements in and out, the
+/// number of times integration stopped early, the integrator time,
+/// and the finisher time. Only one integrator call in every sampling
+/// interval is timed, so the clock is not read for every element, and
+/// the counts are kept in the state and added to the registry when the
+/// state is finished, so the registry is not touched per element
+/// either. The downstream of each state is wrapped once and reused.
+///
+/// The combiner and greediness of the decorated gatherer are kept, so
+/// an instrumented stage is evaluated like the stage it decorates.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <A> The potentially mutable state type of the decorated gatherer
+/// @param  <R> The type of results of the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class InstrumentedGatherer<T, A, R>
+        implements Gatherer<T, InstrumentedGatherer.InstrumentedGathererState<A, R>, R> {
+    /// The stage name.
+    private final String stage;
+
+    /// The decorated gatherer.
+    private final Gatherer<T, A, R> delegate;
+
+    /// The metrics registry.
+    private final MetricsRegistry registry;
+
+    /// The sampling interval less one; the interval is a power of two.
+    private final long sampleMask;
+
+    /// The constructor.
+    ///
+    /// @param  stage               java.lang.String
+    /// @param  delegate            java.util.stream.Gatherer<T, A, R>
+    /// @param  registry            net.jmp.demo.java23.util.MetricsRegistry
+    /// @param  samplingInterval    int; a power of two, 1 to time every call
+    public InstrumentedGatherer(final String stage,
+                                final Gatherer<T, A, R> delegate,
+                                final MetricsRegistry registry,
+                                final int samplingInterval) {
+        if (samplingInterval < 1 || Integer.bitCount(samplingInterval) != 1) {
+            throw new IllegalArgumentException("Sampling interval must be a power of two: " + samplingInterval);
+        }
+
+        this.stage = Objects.requireNonNull(stage);
+        this.delegate = Objects.requireNonNull(delegate);
+        this.registry = Objects.requireNonNull(registry);
+        this.sampleMask = samplingInterval - 1;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.InstrumentedGatherer.InstrumentedGathererState<A, R>>
+    @Override
+    public Supplier<InstrumentedGathererState<A, R>> initializer() {
+        final Supplier<A> initializer = this.delegate.initializer();
+
+        return () -> new InstrumentedGathererState<>(initializer.get());
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.InstrumentedGatherer.InstrumentedGathererState<A, R>, T, R>
+    @Override
+    public Integrator<InstrumentedGathererState<A, R>, T, R> integrator() {
+        final Integrator<A, T, R> integrator = this.delegate.integrator();
+
+        /*
+         * The decorator is greedy exactly when the
+         * decorated integrator is, so a short-circuiting
+         * gatherer still short-circuits and a greedy one
+         * keeps its optimizations.
+         */
+
+        final Integrator<InstrumentedGathererState<A, R>, T, R> instrumented = (state, item, downstream) -> {
+            final Downstream<R> counting = state.downstream.target(downstream);
+            final boolean more;
+
+            if ((state.in++ & this.sampleMask) == 0) {
+                final long start = System.nanoTime();
+
+                more = integrator.integrate(state.state, item, counting);
+
+                state.sample(System.nanoTime() - start);
+            } else {
+                more = integrator.integrate(state.state, item, counting);
+            }
+
+            if (!more) {
+                state.shortCircuits++;
+            }
+
+            return more;
+        };
+
+        if (integrator instanceof Integrator.Greedy<A, T, R>) {
+            return Integrator.<InstrumentedGathererState<A, R>, T, R>ofGreedy(instrumented::integrate);
+        }
+
+        return Integrator.of(instrumented);
+    }
+
+    /// A function which accepts two intermediate states and
+    /// combines them into one. The decorated combiner is
+    /// applied to the decorated states and the counts are
+    /// added together.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.gatherers.InstrumentedGatherer.InstrumentedGathererState<A, R>>
+    @Override
+    public BinaryOperator<InstrumentedGathererState<A, R>> combiner() {
+        final BinaryOperator<A> combiner = this.delegate.combiner();
+
+        if (combiner == Gatherer.<A>defaultCombiner()) {
+            return Gatherer.defaultCombiner();
+        }
+
+        return (left, right) -> {
+            left.state = combiner.apply(left.state, right.state);
+            left.absorb(right);
+
+            return left;
+        };
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.InstrumentedGatherer.InstrumentedGathererState<A, R>, java.util.stream.Gatherer.Downstream<? super R>>
+    @Override
+    public BiConsumer<InstrumentedGathererState<A, R>, Downstream<? super R>> finisher() {
+        final BiConsumer<A, Downstream<? super R>> finisher = this.delegate.finisher();
+
+        return (state, downstream) -> {
+            final long start = System.nanoTime();
+
+            try {
+                finisher.accept(state.state, state.downstream.target(downstream));
+            } finally {
+                this.registry.timer(this.stage + ".finisher").record(System.nanoTime() - start);
+                this.flush(state);
+            }
+        };
+    }
+
+    /// Return the stage name.
+    ///
+    /// @return java.lang.String
+    public String stage() {
+        return this.stage;
+    }
+
+    /// Return the metrics of the stage recorded so far.
+    ///
+    /// @return net.jmp.demo.java23.records.StageMetrics
+    public StageMetrics metrics() {
+        final long in = this.registry.counter(this.stage + ".in").count();
+        final MetricsRegistry.Timer integrator = this.registry.timer(this.stage + ".integrator");
+        final long sampled = integrator.count();
+        final long estimated = sampled == 0 ? 0 : Math.round((double) integrator.totalNanos() * in / sampled);
+
+        return new StageMetrics(this.stage,
+                                in,
+                                this.registry.counter(this.stage + ".out").count(),
+                                this.registry.counter(this.stage + ".shortCircuits").count(),
+                                sampled,
+                                Duration.ofNanos(estimated),
+                                Duration.ofNanos(this.registry.timer(this.stage + ".finisher").totalNanos()));
+    }
+
+    /// Add the counts of a finished state to the registry.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.InstrumentedGatherer.InstrumentedGathererState<A, R>
+    private void flush(final InstrumentedGathererState<A, R> state) {
+        this.registry.counter(this.stage + ".in").add(state.in);
+        this.registry.counter(this.stage + ".out").add(state.downstream.pushed);
+        this.registry.counter(this.stage + ".shortCircuits").add(state.shortCircuits);
+        this.registry.timer(this.stage + ".integrator").record(state.samples, state.sampledNanos, state.maxSampledNanos);
+    }
+
+    /// A class containing the internal state of the instrumented gatherer.
+    ///
+    /// @param  <A> The potentially mutable state type of the decorated gatherer
+    /// @param  <R> The type of results of the gathering operation
+    public static class InstrumentedGathererState<A, R> {
+        /// The counting downstream.
+        private final CountingDownstream<R> downstream = new CountingDownstream<>();
+
+        /// The state of the decorated gatherer.
+        private A state;
+
+        /// The number of elements integrated.
+        private long in;
+
+        /// The number of times integration stopped early.
+        private long shortCircuits;
+
+        /// The number of timed integrator calls.
+        private long samples;
+
+        /// The total nanoseconds of the timed integrator calls.
+        private long sampledNanos;
+
+        /// The longest timed integrator call in nanoseconds.
+        private long maxSampledNanos;
+
+        /// A constructor that takes the decorated state.
+        ///
+        /// @param  state   A
+        private InstrumentedGathererState(final A state) {
+            super();
+
+            this.state = state;
+        }
+
+        /// Record a timed integrator call.
+        ///
+        /// @param  nanos   long
+        private void sample(final long nanos) {
+            this.samples++;
+            this.sampledNanos += nanos;
+            this.maxSampledNanos = Math.max(this.maxSampledNanos, nanos);
+        }
+
+        /// Add the counts of another state to this one.
+        ///
+        /// @param  other   net.jmp.demo.java23.gatherers.InstrumentedGatherer.InstrumentedGathererState<A, R>
+        private void absorb(final InstrumentedGathererState<A, R> other) {
+            this.in += other.in;
+            this.shortCircuits += other.shortCircuits;
+            this.samples += other.samples;
+            this.sampledNanos += other.sampledNanos;
+            this.maxSampledNanos = Math.max(this.maxSampledNanos, other.maxSampledNanos);
+            this.downstream.pushed += other.downstream.pushed;
+        }
+    }
+
+    /// A downstream that counts the elements pushed to its target.
+    /// The target is replaced on each call because a state may be
+    /// given a different downstream each time.
+    ///
+    /// @param  <R> The type of element
+    private static final class CountingDownstream<R> implements Downstream<R> {
+        /// The target downstream.
+        private Downstream<? super R> target;
+
+        /// The number of elements pushed.
+        private long pushed;
+
+        /// The default constructor.
+        private CountingDownstream() {
+            super();
+        }
+
+        /// Set the target downstream.
+        ///
+        /// @param  target  java.util.stream.Gatherer.Downstream<? super R>
+        /// @return         net.jmp.demo.java23.gatherers.InstrumentedGatherer.CountingDownstream<R>
+        private CountingDownstream<R> target(final Downstream<? super R> target) {
+            this.target = target;
+
+            return this;
+        }
+
+        /// Push an element to the target and count it.
+        ///
+        /// @param  element R
+        /// @return         boolean
+        @Override
+        public boolean push(final R element) {
+            this.pushed++;
+
+            return this.target.push(element);
+        }
+
+        /// Return true if the target does not want more elements.
+        ///
+        /// @return boolean
+        @Override
+        public boolean isRejecting() {
+            return this.target.isRejecting();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)JoinGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.util.BloomFilter;
+
+/// This gatherer joins each element of a stream with the matching
+/// elements of a small side collection. The side collection is indexed
+/// by key in a hash map once, when the gatherer is constructed, and each
+/// stream element then costs one probe of the index. An optional Bloom
+/// filter over the side keys is checked first so that elements without
+/// a match, the common case when the side is selective, skip the map
+/// lookup. The gatherer keeps no state, so it runs on parallel streams.
+///
+/// - `INNER` emits the joined result for each matching side element.
+/// - `LEFT` does the same, but joins an unmatched element with null.
+/// - `SEMI` emits the joined result for the first match only.
+///
+/// The optional initializer operation is not present in this gatherer.
+/// The optional finisher operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <K> The type of key
+/// @param  <S> The type of side elements
+/// @param  <R> The type of output elements from the gatherer operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class JoinGatherer<T, K, S, R> implements Gatherer<T, Void, R> {
+    /// The join modes.
+    public enum Mode {
+        /// Emit one result per matching side element.
+        INNER,
+        /// Emit one result per matching side element or one with null.
+        LEFT,
+        /// Emit one result for elements with at least one match.
+        SEMI
+    }
+
+    /// The side elements indexed by key.
+    private final Map<K, List<S>> index;
+
+    /// The stream element key selector function.
+    private final Function<T, K> keySelector;
+
+    /// The joiner function.
+    private final BiFunction<T, S, R> joiner;
+
+    /// The join mode.
+    private final Mode mode;
+
+    /// The Bloom filter over the side keys or null.
+    private final BloomFilter filter;
+
+    /// The constructor.
+    ///
+    /// @param  side            java.util.Collection<S>
+    /// @param  sideKeySelector java.util.function.Function<S, K>
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  joiner          java.util.function.BiFunction<T, S, R>
+    /// @param  mode            net.jmp.demo.java23.gatherers.JoinGatherer.Mode
+    /// @param  bloomFilter     boolean; true to check a Bloom filter before the index
+    public JoinGatherer(final Collection<S> side,
+                        final Function<S, K> sideKeySelector,
+                        final Function<T, K> keySelector,
+                        final BiFunction<T, S, R> joiner,
+                        final Mode mode,
+                        final boolean bloomFilter) {
+        Objects.requireNonNull(side);
+        Objects.requireNonNull(sideKeySelector);
+
+        this.keySelector = Objects.requireNonNull(keySelector);
+        this.joiner = Objects.requireNonNull(joiner);
+        this.mode = Objects.requireNonNull(mode);
+
+        final Map<K, List<S>> map = HashMap.newHashMap(side.size());
+
+        side.forEach(element -> map.computeIfAbsent(sideKeySelector.apply(element), _ -> new ArrayList<>(1)).add(element));
+
+        this.index = Collections.unmodifiableMap(map);
+
+        if (bloomFilter && !map.isEmpty()) {
+            this.filter = new BloomFilter(map.size(), 0.01);
+
+            map.keySet().forEach(this.filter::add);
+        } else {
+            this.filter = null;
+        }
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<java.lang.Void, T, R>
+    @Override
+    public Integrator<Void, T, R> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((_, item, downstream) -> {
+            final List<S> matches = this.probe(this.keySelector.apply(item));
+
+            if (matches.isEmpty()) {
+                return this.mode != Mode.LEFT || downstream.push(this.joiner.apply(item, null));
+            }
+
+            if (this.mode == Mode.SEMI) {
+                return downstream.push(this.joiner.apply(item, matches.getFirst()));
+            }
+
+            for (final S match : matches) {
+                if (!downstream.push(this.joiner.apply(item, match))) {
+                    return false;   // No subsequent integration is desired
+                }
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    /// There is no state, so either one will do.
+    ///
+    /// @return java.util.function.BinaryOperator<java.lang.Void>
+    @Override
+    public BinaryOperator<Void> combiner() {
+        return (left, _) -> left;
+    }
+
+    /// Return the side elements matching a key.
+    ///
+    /// @param  key K
+    /// @return     java.util.List<S>
+    private List<S> probe(final K key) {
+        if (this.filter != null && !this.filter.mightContain(key)) {
+            return List.of();
+        }
+
+        return this.index.getOrDefault(key, List.of());
+    }
+}
@@ -0,0 +1,258 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)MapParallelGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer applies a CPU-bound mapping function to the elements
+/// in chunks using a fork-join pool and emits the results in encounter
+/// order. Elements are buffered until a batch of parallelism times the
+/// chunk size is available; the batch is then split into chunks that
+/// are mapped concurrently. The gatherer itself is sequential so the
+/// optional combiner operation is not present in this gatherer.
+///
+/// A pool created by the gatherer is shut down by the finisher, or as
+/// soon as mapping or pushing a batch throws, since the finisher is not
+/// called then. A stream that is abandoned before it completes never
+/// reaches the finisher either; the idle workers of its pool retire
+/// after the pool's keep-alive time, so prefer a caller-supplied pool
+/// when streams may be abandoned.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <R> The type of output elements from the gatherer operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class MapParallelGatherer<T, R> implements Gatherer<T, MapParallelGatherer.MapParallelGathererState<T>, R> {
+    /// The mapping function.
+    private final Function<T, R> mapper;
+
+    /// The number of chunks mapped concurrently.
+    private final int parallelism;
+
+    /// The number of elements in a chunk.
+    private final int chunkSize;
+
+    /// The caller-supplied pool or null when each evaluation owns its pool.
+    private final ForkJoinPool pool;
+
+    /// A constructor that creates a pool of the given parallelism
+    /// for each evaluation and shuts it down in the finisher.
+    ///
+    /// @param  parallelism int
+    /// @param  chunkSize   int
+    /// @param  mapper      java.util.function.Function<T, R>
+    public MapParallelGatherer(final int parallelism, final int chunkSize, final Function<T, R> mapper) {
+        this(null, parallelism, chunkSize, mapper);
+    }
+
+    /// A constructor that uses a caller-owned pool.
+    /// The pool is not shut down by this gatherer.
+    ///
+    /// @param  pool        java.util.concurrent.ForkJoinPool
+    /// @param  chunkSize   int
+    /// @param  mapper      java.util.function.Function<T, R>
+    public MapParallelGatherer(final ForkJoinPool pool, final int chunkSize, final Function<T, R> mapper) {
+        this(Objects.requireNonNull(pool), pool.getParallelism(), chunkSize, mapper);
+    }
+
+    /// The canonical constructor.
+    ///
+    /// @param  pool        java.util.concurrent.ForkJoinPool
+    /// @param  parallelism int
+    /// @param  chunkSize   int
+    /// @param  mapper      java.util.function.Function<T, R>
+    private MapParallelGatherer(final ForkJoinPool pool,
+                                final int parallelism,
+                                final int chunkSize,
+                                final Function<T, R> mapper) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        this.pool = pool;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.MapParallelGatherer.MapParallelGathererState<T>>
+    @Override
+    public Supplier<MapParallelGathererState<T>> initializer() {
+        return () -> new MapParallelGathererState<>(this.parallelism * this.chunkSize);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.MapParallelGatherer.MapParallelGathererState<T>, T, R>
+    @Override
+    public Integrator<MapParallelGathererState<T>, T, R> integrator() {
+        /*
+         * This integrator is not greedy because the
+         * flush of a full batch stops as soon as the
+         * downstream no longer wants elements.
+         */
+
+        return Integrator.of((state, item, downstream) -> {
+            state.buffer.add(item);
+
+            if (state.buffer.size() == state.batchSize) {
+                return this.flush(state, downstream);
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.MapParallelGatherer.MapParallelGathererState<T>, java.util.stream.Gatherer.Downstream<? super R>>
+    @Override
+    public BiConsumer<MapParallelGathererState<T>, Downstream<? super R>> finisher() {
+        return (state, downstream) -> {
+            try {
+                if (!state.buffer.isEmpty() && !downstream.isRejecting()) {
+                    this.flush(state, downstream);
+                }
+            } finally {
+                state.shutdown();
+            }
+        };
+    }
+
+    /// Map the buffered elements chunk by chunk on the
+    /// pool and push the results downstream in order.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.MapParallelGatherer.MapParallelGathererState<T>
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super R>
+    /// @return             boolean
+    private boolean flush(final MapParallelGathererState<T> state, final Downstream<? super R> downstream) {
+        try {
+            return this.mapAndPush(state, downstream);
+        } catch (final RuntimeException | Error e) {
+            state.shutdown();    // The finisher is not called once an exception escapes
+
+            throw e;
+        }
+    }
+
+    /// Map the buffered elements and push the results.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.MapParallelGatherer.MapParallelGathererState<T>
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super R>
+    /// @return             boolean
+    private boolean mapAndPush(final MapParallelGathererState<T> state, final Downstream<? super R> downstream) {
+        final List<T> buffer = state.buffer;
+        final int size = buffer.size();
+        final Object[] results = new Object[size];
+        final ForkJoinPool executor = this.pool != null ? this.pool : state.pool(this.parallelism);
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>((size + this.chunkSize - 1) / this.chunkSize);
+
+        for (int from = 0; from < size; from += this.chunkSize) {
+            final int start = from;
+            final int end = Math.min(from + this.chunkSize, size);
+
+            tasks.add(executor.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    results[i] = this.mapper.apply(buffer.get(i));
+                }
+            }));
+        }
+
+        tasks.forEach(ForkJoinTask::join);   // Rethrows any exception raised by the mapper
+
+        buffer.clear();
+
+        for (final Object result : results) {
+            @SuppressWarnings("unchecked")
+            final R mapped = (R) result;
+
+            if (!downstream.push(mapped)) {
+                return false;   // No subsequent integration is desired
+            }
+        }
+
+        return true;    // True if subsequent integration is desired
+    }
+
+    /// A class containing the internal state of the mapParallel gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class MapParallelGathererState<T> {
+        /// The number of elements mapped per batch.
+        private final int batchSize;
+
+        /// The elements waiting to be mapped.
+        private final List<T> buffer;
+
+        /// The pool owned by this evaluation, created on first use.
+        private ForkJoinPool ownedPool;
+
+        /// A constructor that takes the batch size.
+        ///
+        /// @param  batchSize   int
+        private MapParallelGathererState(final int batchSize) {
+            super();
+
+            this.batchSize = batchSize;
+            this.buffer = new ArrayList<>(batchSize);
+        }
+
+        /// Return the pool owned by this evaluation.
+        ///
+        /// @param  parallelism int
+        /// @return             java.util.concurrent.ForkJoinPool
+        private ForkJoinPool pool(final int parallelism) {
+            if (this.ownedPool == null) {
+                this.ownedPool = new ForkJoinPool(parallelism);
+            }
+
+            return this.ownedPool;
+        }
+
+        /// Shut down the pool owned by this evaluation, if any.
+        private void shutdown() {
+            if (this.ownedPool != null) {
+                this.ownedPool.shutdown();
+                this.ownedPool = null;
+            }
+        }
+    }
+}
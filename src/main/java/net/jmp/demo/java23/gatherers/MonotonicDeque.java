@@ -0,0 +1,133 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)MonotonicDeque.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A monotonic deque over the last elements of a stream used by
+/// the sliding min-by and max-by gatherers. The head of the deque is
+/// always the extreme element of the current window. Each element is
+/// added and removed at most once so the amortized cost per element
+/// is O(1). The deque is backed by fixed arrays sized to the window
+/// so no allocation happens per element.
+///
+/// @param  <T> The type of element
+/// @param  <C> A type that extends Comparable
+///
+/// @version    0.9.0
+/// @since      0.9.0
+final class MonotonicDeque<T, C extends Comparable<C>> {
+    /// The elements held by the deque.
+    private final Object[] elements;
+
+    /// The selected keys of the elements held by the deque.
+    private final Object[] keys;
+
+    /// The stream positions of the elements held by the deque.
+    private final long[] positions;
+
+    /// The window size.
+    private final int window;
+
+    /// The sign applied to comparisons; 1 for max and -1 for min.
+    private final int sign;
+
+    /// The index of the head.
+    private int head;
+
+    /// The number of entries.
+    private int size;
+
+    /// The constructor.
+    ///
+    /// @param  window  int
+    /// @param  maximum boolean
+    MonotonicDeque(final int window, final boolean maximum) {
+        super();
+
+        this.window = window;
+        this.sign = maximum ? 1 : -1;
+        this.elements = new Object[window];
+        this.keys = new Object[window];
+        this.positions = new long[window];
+    }
+
+    /// Add the element at the given stream position, dropping
+    /// dominated entries at the tail and expired ones at the head.
+    ///
+    /// @param  position    long
+    /// @param  element     T
+    /// @param  key         C
+    void add(final long position, final T element, final C key) {
+        while (this.size > 0 && this.positions[this.head] <= position - this.window) {
+            this.clear(0);
+
+            this.head = (this.head + 1) % this.window;
+            this.size--;
+        }
+
+        while (this.size > 0 && this.sign * key.compareTo(this.keyAt(this.size - 1)) >= 0) {
+            this.size--;
+
+            this.clear(this.size);
+        }
+
+        final int tail = (this.head + this.size) % this.window;
+
+        this.elements[tail] = element;
+        this.keys[tail] = key;
+        this.positions[tail] = position;
+        this.size++;
+    }
+
+    /// Return the extreme element of the current window.
+    ///
+    /// @return T
+    @SuppressWarnings("unchecked")
+    T head() {
+        return (T) this.elements[this.head];
+    }
+
+    /// Return the key of the entry at the given offset from the head.
+    ///
+    /// @param  offset  int
+    /// @return         C
+    @SuppressWarnings("unchecked")
+    private C keyAt(final int offset) {
+        return (C) this.keys[(this.head + offset) % this.window];
+    }
+
+    /// Release the references held by the entry at the given offset.
+    ///
+    /// @param  offset  int
+    private void clear(final int offset) {
+        final int index = (this.head + offset) % this.window;
+
+        this.elements[index] = null;
+        this.keys[index] = null;
+    }
+}
@@ -0,0 +1,178 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)ParallelScanGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer computes the inclusive prefix scan of an associative
+/// operator and can run on a parallel stream. It works in two passes:
+///
+/// - Upsweep: each split scans its own elements locally and keeps its
+///   total; the combiner concatenates the scanned segments in order.
+/// - Downsweep: the finisher folds the segment totals into a carry for
+///   each segment and applies the carries to the segments in parallel.
+///
+/// For an associative operator the output is the same as that of the
+/// sequential scan `x0, x0 op x1, x0 op x1 op x2, ...`. The prefixes are
+/// held until the finisher because the first output of a split depends
+/// on every split to its left.
+///
+/// @param  <T> The type of input and output elements of the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class ParallelScanGatherer<T> implements Gatherer<T, ParallelScanGatherer.ParallelScanGathererState<T>, T> {
+    /// The associative operator.
+    private final BinaryOperator<T> operator;
+
+    /// The constructor.
+    ///
+    /// @param  operator    java.util.function.BinaryOperator<T>; must be associative
+    public ParallelScanGatherer(final BinaryOperator<T> operator) {
+        this.operator = Objects.requireNonNull(operator);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.ParallelScanGatherer.ParallelScanGathererState<T>>
+    @Override
+    public Supplier<ParallelScanGathererState<T>> initializer() {
+        return ParallelScanGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.ParallelScanGatherer.ParallelScanGathererState<T>, T, T>
+    @Override
+    public Integrator<ParallelScanGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            final List<T> prefixes = state.segments.getFirst();     // A state owns one segment until it is combined
+
+            if (prefixes.isEmpty()) {
+                prefixes.add(item);
+            } else {
+                prefixes.add(this.operator.apply(prefixes.getLast(), item));
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.gatherers.ParallelScanGatherer.ParallelScanGathererState<T>>
+    @Override
+    public BinaryOperator<ParallelScanGathererState<T>> combiner() {
+        return (left, right) -> {
+            right.segments.stream()
+                    .filter(segment -> !segment.isEmpty())
+                    .forEach(left.segments::add);
+
+            return left;
+        };
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.ParallelScanGatherer.ParallelScanGathererState<T>, java.util.stream.Gatherer.Downstream<? super T>>
+    @Override
+    public BiConsumer<ParallelScanGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            final List<List<T>> segments = state.segments.stream()
+                    .filter(segment -> !segment.isEmpty())
+                    .toList();
+
+            if (segments.size() > 1) {
+                this.downsweep(segments);
+            }
+
+            for (final List<T> segment : segments) {
+                for (final T prefix : segment) {
+                    if (!downstream.push(prefix)) {
+                        return;
+                    }
+                }
+            }
+        };
+    }
+
+    /// Apply to every segment but the first the total
+    /// of all the segments to its left.
+    ///
+    /// @param  segments    java.util.List<java.util.List<T>>
+    private void downsweep(final List<List<T>> segments) {
+        final List<T> carries = new ArrayList<>(segments.size());
+
+        T carry = segments.getFirst().getLast();
+
+        for (int i = 1; i < segments.size(); i++) {
+            carries.add(carry);
+
+            carry = this.operator.apply(carry, segments.get(i).getLast());
+        }
+
+        IntStream.range(1, segments.size())
+                .parallel()
+                .forEach(i -> {
+                    final List<T> segment = segments.get(i);
+                    final T offset = carries.get(i - 1);
+
+                    segment.replaceAll(prefix -> this.operator.apply(offset, prefix));
+                });
+    }
+
+    /// A class containing the internal state of the parallel scan gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class ParallelScanGathererState<T> {
+        /// The locally scanned segments in encounter order.
+        private final List<List<T>> segments = new ArrayList<>();
+
+        /// The default constructor.
+        private ParallelScanGathererState() {
+            super();
+
+            this.segments.add(new ArrayList<>());
+        }
+    }
+}
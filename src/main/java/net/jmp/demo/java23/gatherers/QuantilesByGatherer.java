@@ -0,0 +1,130 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)QuantilesByGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.util.KllSketch;
+
+/// This gatherer builds a KLL quantile sketch of the values extracted
+/// from the elements for each key returned by a selector function and
+/// emits the map of sketches once at the end. Each sketch retains O(k)
+/// values however many elements share its key, so percentiles can be
+/// queried without sorting the stream. Parallel states are combined by
+/// merging the sketches of equal keys.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <K> The type of key
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class QuantilesByGatherer<T, K> implements Gatherer<T, Map<K, KllSketch>, Map<K, KllSketch>> {
+    /// The key selector function.
+    private final Function<T, K> keySelector;
+
+    /// The value selector function.
+    private final ToDoubleFunction<T> valueSelector;
+
+    /// The sketch accuracy parameter.
+    private final int k;
+
+    /// The constructor.
+    ///
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  valueSelector   java.util.function.ToDoubleFunction<T>
+    /// @param  k               int; at least 8
+    public QuantilesByGatherer(final Function<T, K> keySelector, final ToDoubleFunction<T> valueSelector, final int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("K must be at least 8: " + k);
+        }
+
+        this.keySelector = Objects.requireNonNull(keySelector);
+        this.valueSelector = Objects.requireNonNull(valueSelector);
+        this.k = k;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<java.util.Map<K, net.jmp.demo.java23.util.KllSketch>>
+    @Override
+    public Supplier<Map<K, KllSketch>> initializer() {
+        return HashMap::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<java.util.Map<K, net.jmp.demo.java23.util.KllSketch>, T, java.util.Map<K, net.jmp.demo.java23.util.KllSketch>>
+    @Override
+    public Integrator<Map<K, KllSketch>, T, Map<K, KllSketch>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            state.computeIfAbsent(this.keySelector.apply(item), _ -> new KllSketch(this.k))
+                    .add(this.valueSelector.applyAsDouble(item));
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    ///
+    /// @return java.util.function.BinaryOperator<java.util.Map<K, net.jmp.demo.java23.util.KllSketch>>
+    @Override
+    public BinaryOperator<Map<K, KllSketch>> combiner() {
+        return (left, right) -> {
+            right.forEach((key, sketch) -> left.merge(key, sketch, KllSketch::merge));
+
+            return left;
+        };
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<java.util.Map<K, net.jmp.demo.java23.util.KllSketch>, java.util.stream.Gatherer.Downstream<? super java.util.Map<K, net.jmp.demo.java23.util.KllSketch>>>
+    @Override
+    public BiConsumer<Map<K, KllSketch>, Downstream<? super Map<K, KllSketch>>> finisher() {
+        return (state, downstream) -> {
+            if (!downstream.isRejecting()) {
+                downstream.push(Collections.unmodifiableMap(state));
+            }
+        };
+    }
+}
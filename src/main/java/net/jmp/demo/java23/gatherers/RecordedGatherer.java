@@ -0,0 +1,190 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)RecordedGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.events.GathererEvent;
+
+/// This gatherer decorates another gatherer and records each of its
+/// states as a flight recorder gatherer stage event. The event begins
+/// when a state is created and is committed when the state is finished
+/// with the number of elements integrated. When the event is disabled
+/// or no recording is running, the only cost per element is a count.
+/// A state merged by the combiner contributes its count to the state
+/// it is merged into and does not commit an event of its own.
+///
+/// The combiner and greediness of the decorated gatherer are kept, so
+/// a recorded stage is evaluated like the stage it decorates.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <A> The potentially mutable state type of the decorated gatherer
+/// @param  <R> The type of results of the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class RecordedGatherer<T, A, R>
+        implements Gatherer<T, RecordedGatherer.RecordedGathererState<A>, R> {
+    /// The stage name.
+    private final String stage;
+
+    /// The decorated gatherer.
+    private final Gatherer<T, A, R> delegate;
+
+    /// The constructor.
+    ///
+    /// @param  stage       java.lang.String
+    /// @param  delegate    java.util.stream.Gatherer<T, A, R>
+    public RecordedGatherer(final String stage, final Gatherer<T, A, R> delegate) {
+        this.stage = Objects.requireNonNull(stage);
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.RecordedGatherer.RecordedGathererState<A>>
+    @Override
+    public Supplier<RecordedGathererState<A>> initializer() {
+        final Supplier<A> initializer = this.delegate.initializer();
+
+        return () -> new RecordedGathererState<>(initializer.get());
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.RecordedGatherer.RecordedGathererState<A>, T, R>
+    @Override
+    public Integrator<RecordedGathererState<A>, T, R> integrator() {
+        final Integrator<A, T, R> integrator = this.delegate.integrator();
+
+        /*
+         * The decorator is greedy exactly when the
+         * decorated integrator is, so a short-circuiting
+         * gatherer still short-circuits and a greedy one
+         * keeps its optimizations.
+         */
+
+        final Integrator<RecordedGathererState<A>, T, R> recorded = (state, item, downstream) -> {
+            state.elements++;
+
+            final boolean more = integrator.integrate(state.state, item, downstream);
+
+            if (!more) {
+                state.shortCircuited = true;
+            }
+
+            return more;
+        };
+
+        if (integrator instanceof Integrator.Greedy<A, T, R>) {
+            return Integrator.<RecordedGathererState<A>, T, R>ofGreedy(recorded::integrate);
+        }
+
+        return Integrator.of(recorded);
+    }
+
+    /// A function which accepts two intermediate states and
+    /// combines them into one. The decorated combiner is
+    /// applied to the decorated states and the counts are
+    /// added together.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.gatherers.RecordedGatherer.RecordedGathererState<A>>
+    @Override
+    public BinaryOperator<RecordedGathererState<A>> combiner() {
+        final BinaryOperator<A> combiner = this.delegate.combiner();
+
+        if (combiner == Gatherer.<A>defaultCombiner()) {
+            return Gatherer.defaultCombiner();
+        }
+
+        return (left, right) -> {
+            left.state = combiner.apply(left.state, right.state);
+            left.elements += right.elements;
+            left.shortCircuited |= right.shortCircuited;
+
+            return left;
+        };
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.RecordedGatherer.RecordedGathererState<A>, java.util.stream.Gatherer.Downstream<? super R>>
+    @Override
+    public BiConsumer<RecordedGathererState<A>, Downstream<? super R>> finisher() {
+        final BiConsumer<A, Downstream<? super R>> finisher = this.delegate.finisher();
+
+        return (state, downstream) -> {
+            try {
+                finisher.accept(state.state, downstream);
+            } finally {
+                state.event.end();
+
+                if (state.event.shouldCommit()) {
+                    state.event.setStage(this.stage);
+                    state.event.setGatherer(this.delegate.getClass().getName());
+                    state.event.setElements(state.elements);
+                    state.event.setShortCircuited(state.shortCircuited);
+                    state.event.commit();
+                }
+            }
+        };
+    }
+
+    /// A class containing the internal state of the recorded gatherer.
+    ///
+    /// @param  <A> The potentially mutable state type of the decorated gatherer
+    public static class RecordedGathererState<A> {
+        /// The gatherer stage event.
+        private final GathererEvent event = new GathererEvent();
+
+        /// The state of the decorated gatherer.
+        private A state;
+
+        /// The number of elements integrated.
+        private long elements;
+
+        /// True if integration stopped early.
+        private boolean shortCircuited;
+
+        /// A constructor that takes the decorated state.
+        ///
+        /// @param  state   A
+        private RecordedGathererState(final A state) {
+            super();
+
+            this.state = state;
+            this.event.begin();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.demo.java23.gatherers;
 
 /*
+ * (#)ReduceByGatherer.java 0.9.0   10/19/2026
  * (#)ReduceByGatherer.java 0.5.0   09/19/2024
  * (#)ReduceByGatherer.java 0.4.0   09/19/2024
  * (#)ReduceByGatherer.java 0.2.0   09/18/2024
@@ -27,40 +28,107 @@ package net.jmp.demo.java23.gatherers;
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-
 import module java.base;
 
+import net.jmp.demo.java23.util.BinaryCodec;
+import net.jmp.demo.java23.util.StateBudget;
+import net.jmp.demo.java23.util.StateBudgetExceededException;
+
 /// This gatherer aggregates elements in a stream based on a selector function.
+/// The reductions can be held to a state budget. When their estimated size
+/// exceeds it the gatherer does one of the following, as configured.
+///
+/// - Fail fast.
+/// - Spill: the reductions are hash partitioned by key and appended to one
+///   temporary file per partition using a binary codec. The finisher then
+///   reduces one partition at a time and deletes the files, which are
+///   also deleted if the stream fails while they exist. The merge of a
+///   partition is metered against the same budget; a partition whose keys
+///   do not fit is split again on further bits of the key hash, so only a
+///   fraction of the keys is held in memory at once however many there
+///   are. Keys whose hashes agree on every bit used are merged in memory.
+/// - Approximate: the partial reductions are pushed downstream and the
+///   state starts again, so a key may be emitted more than once. A
+///   downstream reduce-by over the same key completes the reduction.
+///
 /// The optional combiner operation is not present in this gatherer.
 ///
 /// @param  <T> The type of input elements to the gathering operation
 /// @param  <A> The potentially mutable state type of the gathering operation
 ///
-/// @version    0.5.0
+/// @version    0.9.0
 /// @since      0.2.0
-public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>  {
+public final class ReduceByGatherer<T, A> implements Gatherer<T, ReduceByGatherer.ReduceByGathererState<T, A>, T>  {
+    /// The number of key hash bits that select a spill partition.
+    private static final int PARTITION_BITS = 3;
+
+    /// The number of spill partitions, and of sub-partitions of an oversized partition.
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+
+    /// The number of partitioning levels the key hash bits allow.
+    private static final int LEVELS = Integer.SIZE / PARTITION_BITS;
+
+    /// The number of reductions buffered per sub-partition before it is written.
+    private static final int CHUNK_SIZE = 1_024;
+
     /// The selector function.
     private final Function<T, A> selector;
 
     /// The reducer function.
     private final BiFunction<T, T, T> reducer;
 
+    /// The state budget.
+    private final StateBudget<? super T> budget;
+
+    /// The codec used for the spill files; null unless spilling.
+    private final BinaryCodec<T> codec;
+
     /// The constructor.
     ///
     /// @param  selector    java.util.function.Function<T, A>
     /// @param  reducer     java.util.function.BiFunction<T, T, T>
     public ReduceByGatherer(final Function<T, A> selector, final BiFunction<T, T, T> reducer) {
+        this(selector, reducer, StateBudget.unbounded(), null);
+    }
+
+    /// A constructor that takes a state budget.
+    ///
+    /// @param  selector    java.util.function.Function<T, A>
+    /// @param  reducer     java.util.function.BiFunction<T, T, T>
+    /// @param  budget      net.jmp.demo.java23.util.StateBudget<? super T>
+    public ReduceByGatherer(final Function<T, A> selector,
+                            final BiFunction<T, T, T> reducer,
+                            final StateBudget<? super T> budget) {
+        this(selector, reducer, budget, null);
+    }
+
+    /// A constructor that takes a state budget and the codec for spilling.
+    ///
+    /// @param  selector    java.util.function.Function<T, A>
+    /// @param  reducer     java.util.function.BiFunction<T, T, T>
+    /// @param  budget      net.jmp.demo.java23.util.StateBudget<? super T>
+    /// @param  codec       net.jmp.demo.java23.util.BinaryCodec<T>; may be null unless the policy is spill
+    public ReduceByGatherer(final Function<T, A> selector,
+                            final BiFunction<T, T, T> reducer,
+                            final StateBudget<? super T> budget,
+                            final BinaryCodec<T> codec) {
+        if (Objects.requireNonNull(budget).policy() == StateBudget.Policy.SPILL && codec == null) {
+            throw new IllegalArgumentException("A codec is required to spill the state: " + budget.name());
+        }
+
         this.selector = Objects.requireNonNull(selector);
         this.reducer = Objects.requireNonNull(reducer);
+        this.budget = budget;
+        this.codec = codec;
     }
 
     /// A function that produces an instance of the intermediate
     /// state used for this gathering operation.
     ///
-    /// @return java.util.function.Supplier<java.util.Map<A, T>>
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.ReduceByGatherer.ReduceByGathererState<T, A>>
     @Override
-    public Supplier<Map<A, T>> initializer() {
-        return HashMap::new;
+    public Supplier<ReduceByGathererState<T, A>> initializer() {
+        return () -> new ReduceByGathererState<>(this.budget);
     }
 
     /// A function which integrates provided elements,
@@ -68,9 +136,9 @@ public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>
     /// optionally producing output to the provided
     /// downstream type.
     ///
-    /// @return java.util.stream.Gatherer.Integrator<java.util.Map<A, T>, T, T>
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.ReduceByGatherer.ReduceByGathererState<T, A>, T, T>
     @Override
-    public Integrator<Map<A, T>, T, T> integrator() {
+    public Integrator<ReduceByGathererState<T, A>, T, T> integrator() {
         /*
          * Greedy integrators consume all their input,
          * and may only relay that the downstream does
@@ -79,8 +147,18 @@ public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>
          * result type (R).
          */
 
-        return Integrator.ofGreedy((state, item, _) -> {
-            state.merge(this.selector.apply(item), item, this.reducer);
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            try {
+                state.reductions.merge(this.selector.apply(item), item, this.reducer);
+
+                if (state.meter != null && state.meter.observe(state.reductions.size(), item)) {
+                    return this.relieve(state, downstream);
+                }
+            } catch (final RuntimeException | Error e) {
+                this.discard(state);    // The finisher does not run once the stream fails
+
+                throw e;
+            }
 
             return true;    // True if subsequent integration is desired
         });
@@ -91,12 +169,322 @@ public final class ReduceByGatherer<T, A> implements Gatherer<T, Map<A, T>, T>
     /// end of input elements. The lambda is the state (A) and the
     /// result type (R).
     ///
-    /// @return java.util.function.BiConsumer<java.util.Map<A, T>, java.util.stream.Gatherer.Downstream<? super T>>
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.ReduceByGatherer.ReduceByGathererState<T, A>, java.util.stream.Gatherer.Downstream<? super T>>
     @Override
-    public BiConsumer<Map<A, T>, Downstream<? super T>> finisher () {
+    public BiConsumer<ReduceByGathererState<T, A>, Downstream<? super T>> finisher () {
         return (state, downstream) -> {
-            state.values()
-                    .forEach(downstream::push);
+            if (state.partitions == null) {
+                state.reductions.values()
+                        .forEach(downstream::push);
+            } else {
+                try {
+                    this.spill(state);
+                    this.merge(state, downstream);
+                } finally {
+                    this.discard(state);
+                }
+            }
         };
     }
+
+    /// Fail, spill or push the partial reductions once the budget is
+    /// exceeded and return true if subsequent integration is desired.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.ReduceByGatherer.ReduceByGathererState<T, A>
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super T>
+    /// @return             boolean
+    private boolean relieve(final ReduceByGathererState<T, A> state, final Downstream<? super T> downstream) {
+        state.meter.breached();
+
+        return switch (this.budget.policy()) {
+            case FAIL_FAST -> throw new StateBudgetExceededException(this.budget.name(), state.meter.bytes(), this.budget.maxBytes());
+            case SPILL -> {
+                this.spill(state);
+
+                yield true;
+            }
+            case APPROXIMATE -> {
+                boolean more = true;
+
+                for (final T reduction : state.reductions.values()) {
+                    if (!downstream.push(reduction)) {
+                        more = false;
+
+                        break;
+                    }
+                }
+
+                state.reductions = new HashMap<>();     // Release the table rather than clearing it
+                state.meter.reset(0);
+
+                yield more;
+            }
+        };
+    }
+
+    /// Append the reductions to the partition files and start again.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.ReduceByGatherer.ReduceByGathererState<T, A>
+    private void spill(final ReduceByGathererState<T, A> state) {
+        final List<List<T>> partitions = new ArrayList<>(PARTITIONS);
+
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new ArrayList<>());
+        }
+
+        state.reductions.forEach((key, reduction) -> partitions.get(partitionOf(key, 0)).add(reduction));
+
+        try {
+            if (state.partitions == null) {
+                state.partitions = new Path[PARTITIONS];
+                state.chunks = new int[PARTITIONS];
+            }
+
+            for (int i = 0; i < PARTITIONS; i++) {
+                final List<T> partition = partitions.get(i);
+
+                if (partition.isEmpty()) {
+                    continue;
+                }
+
+                if (state.partitions[i] == null) {
+                    state.partitions[i] = Files.createTempFile("reduce-spill-", ".bin");
+                }
+
+                this.append(state.partitions[i], partition);
+
+                state.chunks[i]++;
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+
+        state.reductions = new HashMap<>();
+        state.meter.reset(0);
+    }
+
+    /// Reduce the partition files one at a time and push the reductions
+    /// until the partitions are exhausted or the downstream rejects.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.ReduceByGatherer.ReduceByGathererState<T, A>
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super T>
+    private void merge(final ReduceByGathererState<T, A> state, final Downstream<? super T> downstream) {
+        try {
+            for (int i = 0; i < PARTITIONS && !downstream.isRejecting(); i++) {
+                if (state.partitions[i] != null) {
+                    this.merge(state.partitions[i], state.chunks[i], 1, downstream);
+                }
+            }
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /// Delete the partition files of a state, if it has spilled.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.ReduceByGatherer.ReduceByGathererState<T, A>
+    private void discard(final ReduceByGathererState<T, A> state) {
+        if (state.partitions != null) {
+            delete(state.partitions);
+
+            state.partitions = null;
+        }
+    }
+
+    /// Reduce one partition file and push its reductions. If the reductions
+    /// exceed the budget while they are loaded, the partition is split on
+    /// the next bits of the key hash and each part is reduced in turn.
+    ///
+    /// @param  partition   java.nio.file.Path
+    /// @param  chunks      int
+    /// @param  level       int
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super T>
+    /// @throws             java.io.IOException When the partition cannot be read
+    private void merge(final Path partition,
+                       final int chunks,
+                       final int level,
+                       final Downstream<? super T> downstream) throws IOException {
+        final StateBudget.Meter<? super T> meter = this.budget.meter();
+        final Map<A, T> reductions = new HashMap<>();
+
+        boolean fits = true;
+
+        try {
+            try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(partition)))) {
+                for (int chunk = 0; chunk < chunks && fits; chunk++) {
+                    final int count = input.readInt();
+
+                    for (int j = 0; j < count && fits; j++) {
+                        final T reduction = this.codec.read(input);
+
+                        reductions.merge(this.selector.apply(reduction), reduction, this.reducer);
+
+                        if (level < LEVELS && meter.observe(reductions.size(), reduction)) {
+                            meter.breached();
+
+                            fits = false;
+                        }
+                    }
+                }
+            }
+
+            if (fits) {
+                for (final T reduction : reductions.values()) {
+                    if (!downstream.push(reduction)) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            reductions.clear();
+            meter.reset(0);     // Withdraw this merge from the budget's total
+        }
+
+        if (!fits) {
+            this.repartition(partition, chunks, level, downstream);
+        }
+    }
+
+    /// Split a partition file that does not fit the budget on the
+    /// key hash bits of the given level and reduce each part.
+    ///
+    /// @param  partition   java.nio.file.Path
+    /// @param  chunks      int
+    /// @param  level       int
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super T>
+    /// @throws             java.io.IOException When the partition cannot be split
+    private void repartition(final Path partition,
+                             final int chunks,
+                             final int level,
+                             final Downstream<? super T> downstream) throws IOException {
+        final Path[] parts = new Path[PARTITIONS];
+        final int[] partChunks = new int[PARTITIONS];
+        final List<List<T>> pending = new ArrayList<>(PARTITIONS);
+
+        for (int i = 0; i < PARTITIONS; i++) {
+            pending.add(new ArrayList<>(CHUNK_SIZE));
+        }
+
+        try {
+            try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(partition)))) {
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    final int count = input.readInt();
+
+                    for (int j = 0; j < count; j++) {
+                        final T reduction = this.codec.read(input);
+                        final int i = partitionOf(this.selector.apply(reduction), level);
+                        final List<T> part = pending.get(i);
+
+                        part.add(reduction);
+
+                        if (part.size() == CHUNK_SIZE) {
+                            parts[i] = this.appendChunk(parts[i], part);
+                            partChunks[i]++;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < PARTITIONS; i++) {
+                if (!pending.get(i).isEmpty()) {
+                    parts[i] = this.appendChunk(parts[i], pending.get(i));
+                    partChunks[i]++;
+                }
+            }
+
+            for (int i = 0; i < PARTITIONS && !downstream.isRejecting(); i++) {
+                if (parts[i] != null) {
+                    this.merge(parts[i], partChunks[i], level + 1, downstream);
+                }
+            }
+        } finally {
+            delete(parts);
+        }
+    }
+
+    /// Append a chunk of reductions to a sub-partition file, creating
+    /// the file if necessary, clear the chunk and return the file.
+    ///
+    /// @param  part    java.nio.file.Path; may be null
+    /// @param  chunk   java.util.List<T>
+    /// @return         java.nio.file.Path
+    /// @throws         java.io.IOException When the file cannot be written
+    private Path appendChunk(final Path part, final List<T> chunk) throws IOException {
+        final Path file = part != null ? part : Files.createTempFile("reduce-spill-", ".bin");
+
+        this.append(file, chunk);
+
+        chunk.clear();
+
+        return file;
+    }
+
+    /// Append one chunk of reductions, preceded by its size, to a file.
+    ///
+    /// @param  file        java.nio.file.Path
+    /// @param  reductions  java.util.List<T>
+    /// @throws             java.io.IOException When the file cannot be written
+    private void append(final Path file, final List<T> reductions) throws IOException {
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(file, StandardOpenOption.APPEND)))) {
+            output.writeInt(reductions.size());
+
+            for (final T reduction : reductions) {
+                this.codec.write(output, reduction);
+            }
+        }
+    }
+
+    /// Return the partition of a key at the given level. Each
+    /// level selects on the next bits of the key hash, so the
+    /// keys of one partition spread over its sub-partitions.
+    ///
+    /// @param  key     java.lang.Object
+    /// @param  level   int
+    /// @return         int
+    private static int partitionOf(final Object key, final int level) {
+        return (Objects.hashCode(key) >>> (level * PARTITION_BITS)) & (PARTITIONS - 1);
+    }
+
+    /// Delete the given files, ignoring any that cannot be deleted.
+    ///
+    /// @param  files   java.nio.file.Path[]
+    private static void delete(final Path[] files) {
+        for (final Path file : files) {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (final IOException _) {
+                    // A temporary file is left behind
+                }
+            }
+        }
+    }
+
+    /// A class containing the internal state of the reduce-by gatherer.
+    ///
+    /// @param  <T> The type of element
+    /// @param  <A> The type of key
+    public static class ReduceByGathererState<T, A> {
+        /// The meter; null when the budget is unbounded.
+        private final StateBudget.Meter<? super T> meter;
+
+        /// The reductions held in memory.
+        private Map<A, T> reductions = new HashMap<>();
+
+        /// The spill files by partition; null until the first spill.
+        private Path[] partitions;
+
+        /// The number of chunks appended to each spill file.
+        private int[] chunks;
+
+        /// A constructor that takes the budget.
+        ///
+        /// @param  budget  net.jmp.demo.java23.util.StateBudget<? super T>
+        private ReduceByGathererState(final StateBudget<? super T> budget) {
+            super();
+
+            this.meter = budget.isBounded() ? budget.meter() : null;
+        }
+    }
 }
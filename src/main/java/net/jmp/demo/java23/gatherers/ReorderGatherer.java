@@ -0,0 +1,155 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)ReorderGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer restores the key order of a nearly sorted stream. The
+/// elements pass through a min-heap holding at most `maxLateness + 1`
+/// elements; once it is full the element with the smallest key is
+/// emitted. A stream in which no element arrives more than `maxLateness`
+/// positions after its sorted position is emitted fully sorted, with
+/// O(maxLateness) memory and latency instead of materializing the stream
+/// as `sorted()` does. An element later than that is emitted as soon as
+/// possible, out of order. Elements with equal keys keep their order.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <C> A type that extends Comparable
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class ReorderGatherer<T, C extends Comparable<C>> implements Gatherer<T, ReorderGatherer.ReorderGathererState<T, C>, T> {
+    /// The key selector function.
+    private final Function<T, C> keySelector;
+
+    /// The largest number of positions an element may be late.
+    private final int maxLateness;
+
+    /// The constructor.
+    ///
+    /// @param  keySelector java.util.function.Function<T, C>
+    /// @param  maxLateness int
+    public ReorderGatherer(final Function<T, C> keySelector, final int maxLateness) {
+        if (maxLateness < 0) {
+            throw new IllegalArgumentException("Maximum lateness must not be negative: " + maxLateness);
+        }
+
+        this.keySelector = Objects.requireNonNull(keySelector);
+        this.maxLateness = maxLateness;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.ReorderGatherer.ReorderGathererState<T, C>>
+    @Override
+    public Supplier<ReorderGathererState<T, C>> initializer() {
+        return ReorderGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.ReorderGatherer.ReorderGathererState<T, C>, T, T>
+    @Override
+    public Integrator<ReorderGathererState<T, C>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.heap.add(new Pending<>(this.keySelector.apply(item), state.sequence++, item));
+
+            if (state.heap.size() > this.maxLateness) {
+                return downstream.push(state.heap.poll().element());
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.ReorderGatherer.ReorderGathererState<T, C>, java.util.stream.Gatherer.Downstream<? super T>>
+    @Override
+    public BiConsumer<ReorderGathererState<T, C>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            while (!state.heap.isEmpty()) {
+                if (!downstream.push(state.heap.poll().element())) {
+                    break;
+                }
+            }
+        };
+    }
+
+    /// An element waiting in the heap.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  <C>         A type that extends Comparable
+    /// @param  key         C
+    /// @param  sequence    long; the arrival order, used to break ties
+    /// @param  element     T
+    private record Pending<T, C extends Comparable<C>>(C key, long sequence, T element) implements Comparable<Pending<T, C>> {
+        /// Order by key and then by arrival.
+        ///
+        /// @param  other   net.jmp.demo.java23.gatherers.ReorderGatherer.Pending<T, C>
+        /// @return         int
+        @Override
+        public int compareTo(final Pending<T, C> other) {
+            final int result = this.key.compareTo(other.key);
+
+            return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+        }
+    }
+
+    /// A class containing the internal state of the reorder gatherer.
+    ///
+    /// @param   <T>    The type of element
+    /// @param   <C>    A type that extends Comparable
+    public static class ReorderGathererState<T, C extends Comparable<C>> {
+        /// The elements waiting to be emitted.
+        private final PriorityQueue<Pending<T, C>> heap = new PriorityQueue<>();
+
+        /// The arrival number of the next element.
+        private long sequence;
+
+        /// The default constructor.
+        private ReorderGathererState() {
+            super();
+        }
+    }
+}
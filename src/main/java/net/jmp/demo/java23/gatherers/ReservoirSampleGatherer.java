@@ -0,0 +1,274 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)ReservoirSampleGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.util.HyperLogLog;
+
+/// This gatherer emits a uniform random sample of at most `k` elements
+/// using O(k) memory. The first `k` elements fill the reservoir; after
+/// that Li's Algorithm L computes how many elements to skip before the
+/// next replacement, so random numbers are drawn only for the elements
+/// that enter the reservoir rather than for every element.
+///
+/// On a parallel stream each segment samples its own elements and the
+/// combiner merges two reservoirs by drawing how many elements to keep
+/// from each side in proportion to the number of elements each side has
+/// seen, so every element is still kept with probability `k / n`. The
+/// gatherer holds no mutable state: each state seeds its generator from
+/// the seed and the 64-bit hash of the first element it sees, and the
+/// combiner draws from the left state's generator. Segments that start
+/// with different elements therefore make independent skip decisions,
+/// while the same seed and source always yield the same sample, both
+/// sequentially and on a parallel stream split the same way, whichever
+/// instance runs it and however often.
+///
+/// @param  <T> The type of input and output elements of the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class ReservoirSampleGatherer<T> implements Gatherer<T, ReservoirSampleGatherer.ReservoirSampleGathererState<T>, T> {
+    /// The maximum sample size.
+    private final int size;
+
+    /// The random number generator seed.
+    private final long seed;
+
+    /// The constructor.
+    ///
+    /// @param  size    int
+    /// @param  seed    long
+    public ReservoirSampleGatherer(final int size, final long seed) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Sample size must be positive: " + size);
+        }
+
+        this.size = size;
+        this.seed = seed;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.ReservoirSampleGatherer.ReservoirSampleGathererState<T>>
+    @Override
+    public Supplier<ReservoirSampleGathererState<T>> initializer() {
+        return () -> new ReservoirSampleGathererState<>(this.size, this.seed);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.ReservoirSampleGatherer.ReservoirSampleGathererState<T>, T, T>
+    @Override
+    public Integrator<ReservoirSampleGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            state.add(item);
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts two intermediate states and combines them into one.
+    /// Used for parallel streams to combine states from different segments.
+    ///
+    /// @return java.util.function.BinaryOperator<net.jmp.demo.java23.gatherers.ReservoirSampleGatherer.ReservoirSampleGathererState<T>>
+    @Override
+    public BinaryOperator<ReservoirSampleGathererState<T>> combiner() {
+        return ReservoirSampleGathererState::merge;
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.ReservoirSampleGatherer.ReservoirSampleGathererState<T>, java.util.stream.Gatherer.Downstream<? super T>>
+    @Override
+    public BiConsumer<ReservoirSampleGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            for (final T item : state.reservoir) {
+                if (!downstream.push(item)) {
+                    break;
+                }
+            }
+        };
+    }
+
+    /// A class containing the internal state of the reservoir sample gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class ReservoirSampleGathererState<T> {
+        /// The sampled elements.
+        private final List<T> reservoir;
+
+        /// The maximum sample size.
+        private final int size;
+
+        /// The random number generator seed.
+        private final long seed;
+
+        /// The random number generator, created with the first element.
+        private SplittableRandom random;
+
+        /// The number of elements seen.
+        private long seen;
+
+        /// The position of the next element to enter the full reservoir.
+        private long next;
+
+        /// Algorithm L's running weight.
+        private double weight;
+
+        /// A constructor that takes the sample size and the random number generator seed.
+        ///
+        /// @param  size    int
+        /// @param  seed    long
+        private ReservoirSampleGathererState(final int size, final long seed) {
+            super();
+
+            this.reservoir = new ArrayList<>(size);
+            this.size = size;
+            this.seed = seed;
+        }
+
+        /// Offer an element to the reservoir.
+        ///
+        /// @param  item    T
+        private void add(final T item) {
+            final long position = this.seen++;
+
+            if (position == 0) {
+                this.random = new SplittableRandom(HyperLogLog.hash(this.seed ^ HyperLogLog.hashOf(item)));
+            }
+
+            if (position < this.size) {
+                this.reservoir.add(item);
+
+                if (this.seen == this.size) {
+                    this.weight = Math.exp(Math.log(this.uniform()) / this.size);
+                    this.next = this.skip(position);
+                }
+            } else if (position == this.next) {
+                this.reservoir.set(this.random.nextInt(this.size), item);
+                this.weight *= Math.exp(Math.log(this.uniform()) / this.size);
+                this.next = this.skip(position);
+            }
+        }
+
+        /// Return the position of the next element
+        /// to enter the reservoir after the given one.
+        ///
+        /// @param  position    long
+        /// @return             long
+        private long skip(final long position) {
+            final double gap = Math.floor(Math.log(this.uniform()) / Math.log1p(-this.weight));
+
+            if (gap >= Long.MAX_VALUE - position - 1) {
+                return Long.MAX_VALUE;
+            }
+
+            return position + (long) gap + 1;
+        }
+
+        /// Return a uniform random number in (0, 1].
+        ///
+        /// @return double
+        private double uniform() {
+            return 1.0 - this.random.nextDouble();
+        }
+
+        /// Merge another reservoir into this one. The number of elements
+        /// kept from this side follows the hypergeometric distribution
+        /// of drawing the sample from both populations without replacement.
+        /// Only this side's generator is drawn from, so the merge depends
+        /// on nothing but the two states.
+        ///
+        /// @param  other   net.jmp.demo.java23.gatherers.ReservoirSampleGatherer.ReservoirSampleGathererState<T>
+        /// @return         net.jmp.demo.java23.gatherers.ReservoirSampleGatherer.ReservoirSampleGathererState<T>
+        private ReservoirSampleGathererState<T> merge(final ReservoirSampleGathererState<T> other) {
+            if (other.seen == 0) {
+                return this;
+            }
+
+            if (this.seen == 0) {
+                return other;
+            }
+
+            final int total = (int) Math.min(this.size, this.seen + other.seen);
+
+            long mine = this.seen;
+            long theirs = other.seen;
+            int fromMine = 0;
+
+            for (int i = 0; i < total; i++) {
+                if (this.random.nextLong(mine + theirs) < mine) {
+                    fromMine++;
+                    mine--;
+                } else {
+                    theirs--;
+                }
+            }
+
+            final List<T> merged = new ArrayList<>(this.size);
+
+            this.choose(this.reservoir, fromMine, merged);
+            this.choose(other.reservoir, total - fromMine, merged);
+
+            this.reservoir.clear();
+            this.reservoir.addAll(merged);
+            this.seen += other.seen;
+            this.next = Long.MAX_VALUE;     // A merged state only feeds the finisher or another merge
+
+            return this;
+        }
+
+        /// Move a random subset of the given size from the source into the target.
+        ///
+        /// @param  source  java.util.List<T>
+        /// @param  count   int
+        /// @param  target  java.util.List<T>
+        private void choose(final List<T> source, final int count, final List<T> target) {
+            for (int i = 0; i < count; i++) {
+                Collections.swap(source, i, i + this.random.nextInt(source.size() - i));
+
+                target.add(source.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)ScanMutableGatherer.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer performs a prefix scan over a mutable container. The
+/// accumulator mutates the container in place and a snapshot function
+/// turns the container into the value emitted after each element. The
+/// accumulation is linear; only the snapshots cost what the caller asks
+/// them to cost. The container must not be emitted directly because it
+/// keeps changing after it has been pushed.
+/// The optional combiner operation is not present in this gatherer.
+/// The optional finisher operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <A> The mutable container type of the gathering operation
+/// @param  <R> The type of output elements from the gatherer operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class ScanMutableGatherer<T, A, R> implements Gatherer<T, A, R> {
+    /// The container supplier.
+    private final Supplier<A> supplier;
+
+    /// The accumulator function.
+    private final BiConsumer<A, T> accumulator;
+
+    /// The snapshot function.
+    private final Function<A, R> snapshot;
+
+    /// The constructor.
+    ///
+    /// @param  supplier    java.util.function.Supplier<A>
+    /// @param  accumulator java.util.function.BiConsumer<A, T>
+    /// @param  snapshot    java.util.function.Function<A, R>
+    public ScanMutableGatherer(final Supplier<A> supplier,
+                               final BiConsumer<A, T> accumulator,
+                               final Function<A, R> snapshot) {
+        this.supplier = Objects.requireNonNull(supplier);
+        this.accumulator = Objects.requireNonNull(accumulator);
+        this.snapshot = Objects.requireNonNull(snapshot);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<A>
+    @Override
+    public Supplier<A> initializer() {
+        return this.supplier;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<A, T, R>
+    @Override
+    public Integrator<A, T, R> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            this.accumulator.accept(state, item);
+
+            return downstream.push(this.snapshot.apply(state));
+        });
+    }
+}
@@ -0,0 +1,252 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)SessionWindowGatherer.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.TimeWindow;
+
+/// This gatherer assigns elements to event-time session windows using a
+/// timestamp extracted from each element. A session holds elements that
+/// are less than the gap apart and ends one gap after its last element.
+/// An element that bridges two sessions merges them. The watermark is the
+/// largest timestamp seen less the allowed lateness; a session is emitted
+/// and released as soon as its end is at or behind the watermark. Elements
+/// whose own session would already have ended are late and are dropped.
+/// Memory is therefore bounded by the number of open sessions.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class SessionWindowGatherer<T> implements Gatherer<T, SessionWindowGatherer.SessionWindowGathererState<T>, TimeWindow<T>> {
+    /// The timestamp function returning epoch milliseconds.
+    private final ToLongFunction<T> timestamp;
+
+    /// The session gap in milliseconds.
+    private final long gap;
+
+    /// The allowed lateness in milliseconds.
+    private final long lateness;
+
+    /// The constructor.
+    ///
+    /// @param  timestamp   java.util.function.ToLongFunction<T>
+    /// @param  gap         java.time.Duration
+    /// @param  lateness    java.time.Duration
+    public SessionWindowGatherer(final ToLongFunction<T> timestamp, final Duration gap, final Duration lateness) {
+        this.timestamp = Objects.requireNonNull(timestamp);
+        this.gap = Objects.requireNonNull(gap).toMillis();
+        this.lateness = Objects.requireNonNull(lateness).toMillis();
+
+        if (this.gap < 1) {
+            throw new IllegalArgumentException("Session gap must be at least one millisecond: " + gap);
+        }
+
+        if (this.lateness < 0) {
+            throw new IllegalArgumentException("Allowed lateness must not be negative: " + lateness);
+        }
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.SessionWindowGatherer.SessionWindowGathererState<T>>
+    @Override
+    public Supplier<SessionWindowGathererState<T>> initializer() {
+        return SessionWindowGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.SessionWindowGatherer.SessionWindowGathererState<T>, T, net.jmp.demo.java23.records.TimeWindow<T>>
+    @Override
+    public Integrator<SessionWindowGathererState<T>, T, TimeWindow<T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long time = this.timestamp.applyAsLong(item);
+
+            if (state.hasWatermark && time + this.gap <= state.watermark) {
+                return true;    // Late; its session has already ended
+            }
+
+            this.assign(state.open, time, item);
+
+            if (!state.hasWatermark || time - this.lateness > state.watermark) {
+                state.watermark = time - this.lateness;
+                state.hasWatermark = true;
+            }
+
+            /*
+             * Sessions do not overlap so they end in the
+             * same order as they start; only the head of
+             * the map can be the next one to close.
+             */
+
+            while (!state.open.isEmpty() && state.open.firstEntry().getValue().last + this.gap <= state.watermark) {
+                if (!downstream.push(this.toWindow(state.open.pollFirstEntry().getValue()))) {
+                    return false;   // No subsequent integration is desired
+                }
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.SessionWindowGatherer.SessionWindowGathererState<T>, java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.TimeWindow<T>>>
+    @Override
+    public BiConsumer<SessionWindowGathererState<T>, Downstream<? super TimeWindow<T>>> finisher() {
+        return (state, downstream) -> {
+            while (!state.open.isEmpty() && !downstream.isRejecting()) {
+                downstream.push(this.toWindow(state.open.pollFirstEntry().getValue()));
+            }
+        };
+    }
+
+    /// Add the element to the session it falls into,
+    /// merging the sessions on either side when it
+    /// bridges them, or start a new session.
+    ///
+    /// @param  open    java.util.NavigableMap<java.lang.Long, net.jmp.demo.java23.gatherers.SessionWindowGatherer.Session<T>>
+    /// @param  time    long
+    /// @param  item    T
+    private void assign(final NavigableMap<Long, Session<T>> open, final long time, final T item) {
+        final Map.Entry<Long, Session<T>> before = open.floorEntry(time);
+        final Map.Entry<Long, Session<T>> after = open.higherEntry(time);
+
+        Session<T> session = null;
+
+        if (before != null && before.getValue().last + this.gap > time) {
+            session = before.getValue();
+        }
+
+        if (after != null && after.getKey() - this.gap < time) {
+            open.remove(after.getKey());
+
+            if (session == null) {
+                session = after.getValue();
+            } else {
+                session.absorb(after.getValue());
+            }
+        }
+
+        if (session == null) {
+            session = new Session<>(time);
+        }
+
+        session.add(time, item);
+
+        open.put(session.first, session);
+    }
+
+    /// Convert a closed session into a time window.
+    ///
+    /// @param  session net.jmp.demo.java23.gatherers.SessionWindowGatherer.Session<T>
+    /// @return         net.jmp.demo.java23.records.TimeWindow<T>
+    private TimeWindow<T> toWindow(final Session<T> session) {
+        return new TimeWindow<>(Instant.ofEpochMilli(session.first),
+                Instant.ofEpochMilli(session.last + this.gap),
+                session.elements);
+    }
+
+    /// An open session.
+    ///
+    /// @param   <T>    The type of element
+    private static final class Session<T> {
+        /// The elements in arrival order.
+        private final List<T> elements = new ArrayList<>();
+
+        /// The earliest timestamp in the session.
+        private long first;
+
+        /// The latest timestamp in the session.
+        private long last;
+
+        /// A constructor that takes the first timestamp.
+        ///
+        /// @param  time    long
+        private Session(final long time) {
+            super();
+
+            this.first = time;
+            this.last = time;
+        }
+
+        /// Add an element.
+        ///
+        /// @param  time    long
+        /// @param  item    T
+        private void add(final long time, final T item) {
+            this.elements.add(item);
+            this.first = Math.min(this.first, time);
+            this.last = Math.max(this.last, time);
+        }
+
+        /// Absorb the following session.
+        ///
+        /// @param  other   net.jmp.demo.java23.gatherers.SessionWindowGatherer.Session<T>
+        private void absorb(final Session<T> other) {
+            this.elements.addAll(other.elements);
+            this.last = Math.max(this.last, other.last);
+        }
+    }
+
+    /// A class containing the internal state of the session window gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class SessionWindowGathererState<T> {
+        /// The open sessions keyed by their first timestamp.
+        private final NavigableMap<Long, Session<T>> open = new TreeMap<>();
+
+        /// The watermark in epoch milliseconds.
+        private long watermark;
+
+        /// True once the first element has set the watermark.
+        private boolean hasWatermark;
+
+        /// The default constructor.
+        private SessionWindowGathererState() {
+            super();
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)SlidingMedianGatherer.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer emits the median of each sliding window of values
+/// extracted by a selector function. The lower half of the window is
+/// kept in a max-heap and the upper half in a min-heap. Values leaving
+/// the window are removed lazily: they are counted as pending and only
+/// discarded when they reach the top of a heap, so the cost is O(log w)
+/// per element. As with the built-in sliding windows, a stream shorter
+/// than the window yields a single result.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class SlidingMedianGatherer<T> implements Gatherer<T, SlidingMedianGatherer.SlidingMedianGathererState, Double> {
+    /// The window size.
+    private final int window;
+
+    /// The value selector function.
+    private final ToDoubleFunction<T> selector;
+
+    /// The constructor.
+    ///
+    /// @param  window      int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    public SlidingMedianGatherer(final int window, final ToDoubleFunction<T> selector) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + window);
+        }
+
+        this.window = window;
+        this.selector = Objects.requireNonNull(selector);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.SlidingMedianGatherer.SlidingMedianGathererState>
+    @Override
+    public Supplier<SlidingMedianGathererState> initializer() {
+        return () -> new SlidingMedianGathererState(this.window);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.SlidingMedianGatherer.SlidingMedianGathererState, T, java.lang.Double>
+    @Override
+    public Integrator<SlidingMedianGathererState, T, Double> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.add(this.selector.applyAsDouble(item));
+
+            if (state.count >= this.window) {
+                return downstream.push(state.median());
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.SlidingMedianGatherer.SlidingMedianGathererState, java.util.stream.Gatherer.Downstream<? super java.lang.Double>>
+    @Override
+    public BiConsumer<SlidingMedianGathererState, Downstream<? super Double>> finisher() {
+        return (state, downstream) -> {
+            if (state.count > 0 && state.count < this.window && !downstream.isRejecting()) {
+                downstream.push(state.median());
+            }
+        };
+    }
+
+    /// A class containing the internal state of the sliding median gatherer.
+    public static class SlidingMedianGathererState {
+        /// The ring buffer of values in the window.
+        private final double[] values;
+
+        /// The max-heap holding the lower half of the window.
+        private final PriorityQueue<Double> lower = new PriorityQueue<>(Comparator.reverseOrder());
+
+        /// The min-heap holding the upper half of the window.
+        private final PriorityQueue<Double> upper = new PriorityQueue<>();
+
+        /// The values that have left the window but are still in a heap.
+        private final Map<Double, Integer> pending = new HashMap<>();
+
+        /// The number of live values in the lower heap.
+        private int lowerSize;
+
+        /// The number of live values in the upper heap.
+        private int upperSize;
+
+        /// The number of values seen.
+        private long count;
+
+        /// A constructor that takes the window size.
+        ///
+        /// @param  window  int
+        private SlidingMedianGathererState(final int window) {
+            super();
+
+            this.values = new double[window];
+        }
+
+        /// Add a value, evicting the oldest one once the window is full.
+        ///
+        /// @param  raw double
+        private void add(final double raw) {
+            final double value = raw + 0.0;     // Fold -0.0 into 0.0 so pending keys match heap values
+            final int slot = (int) (this.count % this.values.length);
+
+            if (this.count >= this.values.length) {
+                this.remove(this.values[slot]);
+            }
+
+            this.values[slot] = value;
+            this.count++;
+
+            if (this.lower.isEmpty() || value <= this.lower.peek()) {
+                this.lower.add(value);
+                this.lowerSize++;
+            } else {
+                this.upper.add(value);
+                this.upperSize++;
+            }
+
+            this.rebalance();
+        }
+
+        /// Mark a value as having left the window.
+        ///
+        /// @param  value   double
+        private void remove(final double value) {
+            this.pending.merge(value, 1, Integer::sum);
+
+            if (value <= this.lower.peek()) {
+                this.lowerSize--;
+
+                if (value == this.lower.peek()) {
+                    this.prune(this.lower);
+                }
+            } else {
+                this.upperSize--;
+
+                if (value == this.upper.peek()) {
+                    this.prune(this.upper);
+                }
+            }
+
+            this.rebalance();
+        }
+
+        /// Keep the lower heap equal in size to the upper
+        /// heap or larger by one live value.
+        private void rebalance() {
+            if (this.lowerSize > this.upperSize + 1) {
+                this.upper.add(this.lower.poll());
+                this.lowerSize--;
+                this.upperSize++;
+
+                this.prune(this.lower);
+            } else if (this.lowerSize < this.upperSize) {
+                this.lower.add(this.upper.poll());
+                this.lowerSize++;
+                this.upperSize--;
+
+                this.prune(this.upper);
+            }
+        }
+
+        /// Discard pending values from the top of a heap.
+        ///
+        /// @param  heap    java.util.PriorityQueue<java.lang.Double>
+        private void prune(final PriorityQueue<Double> heap) {
+            while (!heap.isEmpty()) {
+                final Double top = heap.peek();
+                final Integer times = this.pending.get(top);
+
+                if (times == null) {
+                    break;
+                }
+
+                if (times == 1) {
+                    this.pending.remove(top);
+                } else {
+                    this.pending.put(top, times - 1);
+                }
+
+                heap.poll();
+            }
+        }
+
+        /// Return the median of the current window.
+        ///
+        /// @return double
+        private double median() {
+            if (this.lowerSize > this.upperSize) {
+                return this.lower.peek();
+            }
+
+            return (this.lower.peek() + this.upper.peek()) / 2.0;
+        }
+    }
+}
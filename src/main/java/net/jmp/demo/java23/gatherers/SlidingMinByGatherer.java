@@ -0,0 +1,134 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)SlidingMinByGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer emits the minimum element of each sliding window
+/// based on a selector function. It keeps a monotonic deque of the
+/// candidates instead of building a list for each window so the
+/// amortized cost is O(1) per element. As with the built-in sliding
+/// windows, a stream shorter than the window yields a single result.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <C> A type that extends Comparable; T must extend Comparable
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class SlidingMinByGatherer<T, C extends Comparable<C>> implements Gatherer<T, SlidingMinByGatherer.SlidingMinByGathererState<T, C>, T> {
+    /// The window size.
+    private final int window;
+
+    /// The selector function.
+    private final Function<T, C> selector;
+
+    /// The constructor.
+    ///
+    /// @param  window      int
+    /// @param  selector    java.util.function.Function<T, C>
+    public SlidingMinByGatherer(final int window, final Function<T, C> selector) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + window);
+        }
+
+        this.window = window;
+        this.selector = Objects.requireNonNull(selector);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.SlidingMinByGatherer.SlidingMinByGathererState<T, C>>
+    @Override
+    public Supplier<SlidingMinByGathererState<T, C>> initializer() {
+        return () -> new SlidingMinByGathererState<>(this.window);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.SlidingMinByGatherer.SlidingMinByGathererState<T, C>, T, T>
+    @Override
+    public Integrator<SlidingMinByGathererState<T, C>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.deque.add(state.count++, item, this.selector.apply(item));
+
+            if (state.count >= this.window) {
+                return downstream.push(state.deque.head());
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.SlidingMinByGatherer.SlidingMinByGathererState<T, C>, java.util.stream.Gatherer.Downstream<? super T>>
+    @Override
+    public BiConsumer<SlidingMinByGathererState<T, C>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            if (state.count > 0 && state.count < this.window && !downstream.isRejecting()) {
+                downstream.push(state.deque.head());
+            }
+        };
+    }
+
+    /// A class containing the internal state of the sliding minBy gatherer.
+    ///
+    /// @param   <T>    The type of element
+    /// @param   <C>    A type that extends Comparable
+    public static class SlidingMinByGathererState<T, C extends Comparable<C>> {
+        /// The monotonic deque of candidates.
+        private final MonotonicDeque<T, C> deque;
+
+        /// The number of elements seen.
+        private long count;
+
+        /// A constructor that takes the window size.
+        ///
+        /// @param  window  int
+        private SlidingMinByGathererState(final int window) {
+            super();
+
+            this.deque = new MonotonicDeque<>(window, false);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)SlidingSumGatherer.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer emits the sum or the average of each sliding window
+/// of values extracted by a selector function. A running sum is kept
+/// by adding the incoming value and subtracting the one leaving the
+/// window, so the cost is O(1) per element. To stop floating-point
+/// drift from accumulating the sum is recomputed from the ring buffer
+/// once per full turn of the buffer, which is still amortized O(1).
+/// As with the built-in sliding windows, a stream shorter than the
+/// window yields a single result.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class SlidingSumGatherer<T> implements Gatherer<T, SlidingSumGatherer.SlidingSumGathererState, Double> {
+    /// The window size.
+    private final int window;
+
+    /// The value selector function.
+    private final ToDoubleFunction<T> selector;
+
+    /// True when the average rather than the sum is emitted.
+    private final boolean average;
+
+    /// The constructor.
+    ///
+    /// @param  window      int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @param  average     boolean
+    public SlidingSumGatherer(final int window, final ToDoubleFunction<T> selector, final boolean average) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + window);
+        }
+
+        this.window = window;
+        this.selector = Objects.requireNonNull(selector);
+        this.average = average;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.SlidingSumGatherer.SlidingSumGathererState>
+    @Override
+    public Supplier<SlidingSumGathererState> initializer() {
+        return () -> new SlidingSumGathererState(this.window);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.SlidingSumGatherer.SlidingSumGathererState, T, java.lang.Double>
+    @Override
+    public Integrator<SlidingSumGathererState, T, Double> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.add(this.selector.applyAsDouble(item));
+
+            if (state.count >= this.window) {
+                return downstream.push(this.result(state));
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.SlidingSumGatherer.SlidingSumGathererState, java.util.stream.Gatherer.Downstream<? super java.lang.Double>>
+    @Override
+    public BiConsumer<SlidingSumGathererState, Downstream<? super Double>> finisher() {
+        return (state, downstream) -> {
+            if (state.count > 0 && state.count < this.window && !downstream.isRejecting()) {
+                downstream.push(this.result(state));
+            }
+        };
+    }
+
+    /// Return the sum or the average of the current window.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.SlidingSumGatherer.SlidingSumGathererState
+    /// @return         double
+    private double result(final SlidingSumGathererState state) {
+        if (this.average) {
+            return state.sum / Math.min(state.count, this.window);
+        }
+
+        return state.sum;
+    }
+
+    /// A class containing the internal state of the sliding sum gatherer.
+    public static class SlidingSumGathererState {
+        /// The ring buffer of values in the window.
+        private final double[] values;
+
+        /// The running sum of the values in the window.
+        private double sum;
+
+        /// The number of values seen.
+        private long count;
+
+        /// The index of the next slot to write.
+        private int next;
+
+        /// A constructor that takes the window size.
+        ///
+        /// @param  window  int
+        private SlidingSumGathererState(final int window) {
+            super();
+
+            this.values = new double[window];
+        }
+
+        /// Add a value, evicting the oldest one once the window is full.
+        ///
+        /// @param  value   double
+        private void add(final double value) {
+            this.sum += value - this.values[this.next];   // The slot holds 0.0 until the window fills
+            this.values[this.next] = value;
+            this.count++;
+
+            if (++this.next == this.values.length) {
+                this.next = 0;
+                this.sum = 0.0;
+
+                for (final double v : this.values) {
+                    this.sum += v;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)SlidingWindowViewGatherer.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer emits sliding windows as read-only views over a
+/// single ring buffer instead of copying each window into a new list.
+/// Consecutive windows overlap in the ring, so a consumer releases
+/// each view once it has finished with it. If a view is still held
+/// when the next element arrives, the view is first given its own
+/// copy of its window, so retained windows stay correct and only
+/// they pay for a copy. A consumer that releases every view in place
+/// windows the stream with one ring buffer regardless of its length.
+/// As with the built-in sliding windows, a stream shorter than the
+/// window yields a single partial window.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class SlidingWindowViewGatherer<T> implements Gatherer<T, SlidingWindowViewGatherer.SlidingWindowViewGathererState<T>, WindowView<T>> {
+    /// The window size.
+    private final int window;
+
+    /// The constructor.
+    ///
+    /// @param  window  int
+    public SlidingWindowViewGatherer(final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + window);
+        }
+
+        this.window = window;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.SlidingWindowViewGatherer.SlidingWindowViewGathererState<T>>
+    @Override
+    public Supplier<SlidingWindowViewGathererState<T>> initializer() {
+        return () -> new SlidingWindowViewGathererState<>(this.window);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.SlidingWindowViewGatherer.SlidingWindowViewGathererState<T>, T, net.jmp.demo.java23.gatherers.WindowView<T>>
+    @Override
+    public Integrator<SlidingWindowViewGathererState<T>, T, WindowView<T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            state.detachHeld();
+
+            state.buffer[state.next] = item;
+
+            if (++state.next == this.window) {
+                state.next = 0;
+            }
+
+            if (state.count < this.window) {
+                state.count++;
+            }
+
+            if (state.count == this.window) {
+                return downstream.push(state.view(state.next, this.window));    // The oldest element is in the next slot
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.SlidingWindowViewGatherer.SlidingWindowViewGathererState<T>, java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.gatherers.WindowView<T>>>
+    @Override
+    public BiConsumer<SlidingWindowViewGathererState<T>, Downstream<? super WindowView<T>>> finisher() {
+        return (state, downstream) -> {
+            if (state.count > 0 && state.count < this.window && !downstream.isRejecting()) {
+                downstream.push(state.view(0, state.count));
+            }
+
+            if (state.held == null || state.held.isReleased()) {
+                Arrays.fill(state.buffer, null);
+            }
+
+            state.held = null;
+        };
+    }
+
+    /// A class containing the internal state of the sliding window view gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class SlidingWindowViewGathererState<T> {
+        /// The ring buffer.
+        private final Object[] buffer;
+
+        /// The pool of arrays for detached windows.
+        private final WindowView.Pool pool;
+
+        /// The last view pushed downstream over the ring buffer.
+        private WindowView<T> held;
+
+        /// The number of buffered elements, up to the window size.
+        private int count;
+
+        /// The index of the next slot to write.
+        private int next;
+
+        /// A constructor that takes the window size.
+        ///
+        /// @param  window  int
+        private SlidingWindowViewGathererState(final int window) {
+            super();
+
+            this.buffer = new Object[window];
+            this.pool = new WindowView.Pool(window);
+        }
+
+        /// Create the view of a window over the ring buffer.
+        ///
+        /// @param  start   int
+        /// @param  size    int
+        /// @return         net.jmp.demo.java23.gatherers.WindowView<T>
+        private WindowView<T> view(final int start, final int size) {
+            this.held = new WindowView<>(this.pool, this.buffer, start, size, false);
+
+            return this.held;
+        }
+
+        /// Give the last view its own copy of its window
+        /// if it is still held, so that the ring buffer
+        /// can be overwritten.
+        private void detachHeld() {
+            if (this.held != null) {
+                if (!this.held.isReleased()) {
+                    this.held.detach();
+                }
+
+                this.held = null;
+            }
+        }
+    }
+}
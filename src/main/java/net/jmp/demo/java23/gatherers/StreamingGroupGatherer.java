@@ -0,0 +1,272 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)StreamingGroupGatherer.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.Group;
+
+/// This gatherer groups elements by the key returned by a selector
+/// function and emits each group as soon as it closes instead of
+/// holding every group until the end of the stream. A group closes when
+///
+/// - it reaches the maximum count,
+/// - an element matching the end-of-key predicate is added to it, or
+/// - no element has been added to it for the inactivity timeout.
+///
+/// The open groups are kept in least recently active order, so expired
+/// groups are found at the head without scanning. Whenever the estimated
+/// size of the open groups exceeds the byte budget the least recently
+/// active groups are emitted early until it fits again. As with the batch
+/// gatherer no timer thread is used: timeouts are checked with the
+/// monotonic clock when an element arrives and the finisher emits the
+/// groups still open.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+/// @param  <K> The type of key
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class StreamingGroupGatherer<T, K> implements Gatherer<T, StreamingGroupGatherer.StreamingGroupGathererState<T, K>, Group<K, T>> {
+    /// The key selector function.
+    private final Function<T, K> keySelector;
+
+    /// The maximum number of elements in a group.
+    private final int maxCount;
+
+    /// The inactivity timeout in nanoseconds; zero for none.
+    private final long inactivityNanos;
+
+    /// The end-of-key predicate.
+    private final Predicate<T> endOfKey;
+
+    /// The maximum estimated size in bytes of the open groups.
+    private final long byteBudget;
+
+    /// The element size estimator.
+    private final ToLongFunction<T> sizeEstimator;
+
+    /// The constructor.
+    ///
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  maxCount        int
+    /// @param  inactivity      java.time.Duration; zero for no timeout
+    /// @param  endOfKey        java.util.function.Predicate<T>
+    /// @param  byteBudget      long
+    /// @param  sizeEstimator   java.util.function.ToLongFunction<T>
+    public StreamingGroupGatherer(final Function<T, K> keySelector,
+                                  final int maxCount,
+                                  final Duration inactivity,
+                                  final Predicate<T> endOfKey,
+                                  final long byteBudget,
+                                  final ToLongFunction<T> sizeEstimator) {
+        if (maxCount < 1) {
+            throw new IllegalArgumentException("Maximum count must be positive: " + maxCount);
+        }
+
+        if (Objects.requireNonNull(inactivity).isNegative()) {
+            throw new IllegalArgumentException("Inactivity timeout must not be negative: " + inactivity);
+        }
+
+        if (byteBudget < 1) {
+            throw new IllegalArgumentException("Byte budget must be positive: " + byteBudget);
+        }
+
+        this.keySelector = Objects.requireNonNull(keySelector);
+        this.maxCount = maxCount;
+        this.inactivityNanos = inactivity.toNanos();
+        this.endOfKey = Objects.requireNonNull(endOfKey);
+        this.byteBudget = byteBudget;
+        this.sizeEstimator = Objects.requireNonNull(sizeEstimator);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.StreamingGroupGatherer.StreamingGroupGathererState<T, K>>
+    @Override
+    public Supplier<StreamingGroupGathererState<T, K>> initializer() {
+        return StreamingGroupGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.StreamingGroupGatherer.StreamingGroupGathererState<T, K>, T, net.jmp.demo.java23.records.Group<K, T>>
+    @Override
+    public Integrator<StreamingGroupGathererState<T, K>, T, Group<K, T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long now = this.inactivityNanos > 0 ? System.nanoTime() : 0L;
+
+            if (this.inactivityNanos > 0 && !this.closeInactive(state, now, downstream)) {
+                return false;   // No subsequent integration is desired
+            }
+
+            final K key = this.keySelector.apply(item);
+            final OpenGroup<T> group = state.groups.computeIfAbsent(key, _ -> new OpenGroup<>());   // Moves the group to the tail
+            final long size = this.sizeEstimator.applyAsLong(item);
+
+            group.elements.add(item);
+            group.bytes += size;
+            group.lastActive = now;
+            state.bytes += size;
+
+            if (group.elements.size() >= this.maxCount || this.endOfKey.test(item)) {
+                state.groups.remove(key);
+
+                if (!this.emit(state, key, group, downstream)) {
+                    return false;   // No subsequent integration is desired
+                }
+            }
+
+            while (state.bytes > this.byteBudget && !state.groups.isEmpty()) {
+                if (!this.emitEldest(state, downstream)) {
+                    return false;   // No subsequent integration is desired
+                }
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.StreamingGroupGatherer.StreamingGroupGathererState<T, K>, java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.Group<K, T>>>
+    @Override
+    public BiConsumer<StreamingGroupGathererState<T, K>, Downstream<? super Group<K, T>>> finisher() {
+        return (state, downstream) -> {
+            while (!state.groups.isEmpty()) {
+                if (!this.emitEldest(state, downstream)) {
+                    break;
+                }
+            }
+        };
+    }
+
+    /// Emit the least recently active groups that
+    /// have been inactive for longer than the timeout.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.StreamingGroupGatherer.StreamingGroupGathererState<T, K>
+    /// @param  now         long
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.Group<K, T>>
+    /// @return             boolean; false if the downstream rejected a group
+    private boolean closeInactive(final StreamingGroupGathererState<T, K> state,
+                                  final long now,
+                                  final Downstream<? super Group<K, T>> downstream) {
+        while (!state.groups.isEmpty()) {
+            final OpenGroup<T> eldest = state.groups.firstEntry().getValue();
+
+            if (now - eldest.lastActive < this.inactivityNanos) {
+                break;
+            }
+
+            if (!this.emitEldest(state, downstream)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /// Remove and emit the least recently active group.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.StreamingGroupGatherer.StreamingGroupGathererState<T, K>
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.Group<K, T>>
+    /// @return             boolean; false if the downstream rejected the group
+    private boolean emitEldest(final StreamingGroupGathererState<T, K> state,
+                               final Downstream<? super Group<K, T>> downstream) {
+        final Map.Entry<K, OpenGroup<T>> eldest = state.groups.pollFirstEntry();
+
+        return this.emit(state, eldest.getKey(), eldest.getValue(), downstream);
+    }
+
+    /// Emit a group that has been removed from the open groups.
+    ///
+    /// @param  state       net.jmp.demo.java23.gatherers.StreamingGroupGatherer.StreamingGroupGathererState<T, K>
+    /// @param  key         K
+    /// @param  group       net.jmp.demo.java23.gatherers.StreamingGroupGatherer.OpenGroup<T>
+    /// @param  downstream  java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.Group<K, T>>
+    /// @return             boolean; false if the downstream rejected the group
+    private boolean emit(final StreamingGroupGathererState<T, K> state,
+                         final K key,
+                         final OpenGroup<T> group,
+                         final Downstream<? super Group<K, T>> downstream) {
+        state.bytes -= group.bytes;
+
+        return downstream.push(new Group<>(key, group.elements));
+    }
+
+    /// An open group.
+    ///
+    /// @param  <T> The type of element
+    private static final class OpenGroup<T> {
+        /// The elements.
+        private final List<T> elements = new ArrayList<>();
+
+        /// The estimated size of the elements in bytes.
+        private long bytes;
+
+        /// The monotonic time the last element was added.
+        private long lastActive;
+
+        /// The default constructor.
+        private OpenGroup() {
+            super();
+        }
+    }
+
+    /// A class containing the internal state of the streaming group gatherer.
+    ///
+    /// @param   <T>    The type of element
+    /// @param   <K>    The type of key
+    public static class StreamingGroupGathererState<T, K> {
+        /// The open groups, least recently active first.
+        private final LinkedHashMap<K, OpenGroup<T>> groups = new LinkedHashMap<>(16, 0.75f, true);
+
+        /// The estimated size of the open groups in bytes.
+        private long bytes;
+
+        /// The default constructor.
+        private StreamingGroupGathererState() {
+            super();
+        }
+    }
+}
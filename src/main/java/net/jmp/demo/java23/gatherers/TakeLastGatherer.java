@@ -0,0 +1,138 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)TakeLastGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer emits the last `n` elements that match a predicate, in
+/// encounter order. The matching elements are written to a ring buffer
+/// of `n` slots that overwrites the oldest one, so a tail query over a
+/// stream of any length takes O(n) memory and no copying.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class TakeLastGatherer<T> implements Gatherer<T, TakeLastGatherer.TakeLastGathererState<T>, T> {
+    /// The number of elements to keep.
+    private final int count;
+
+    /// The predicate function.
+    private final Predicate<T> predicate;
+
+    /// The constructor.
+    ///
+    /// @param  count       int
+    /// @param  predicate   java.util.function.Predicate<T>
+    public TakeLastGatherer(final int count, final Predicate<T> predicate) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive: " + count);
+        }
+
+        this.count = count;
+        this.predicate = Objects.requireNonNull(predicate);
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.TakeLastGatherer.TakeLastGathererState<T>>
+    @Override
+    public Supplier<TakeLastGathererState<T>> initializer() {
+        return () -> new TakeLastGathererState<>(this.count);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.TakeLastGatherer.TakeLastGathererState<T>, T, T>
+    @Override
+    public Integrator<TakeLastGathererState<T>, T, T> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, _) -> {
+            if (this.predicate.test(item)) {
+                state.slots[(int) (state.matched++ % state.slots.length)] = item;
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.TakeLastGatherer.TakeLastGathererState<T>, java.util.stream.Gatherer.Downstream<? super T>>
+    @Override
+    public BiConsumer<TakeLastGathererState<T>, Downstream<? super T>> finisher() {
+        return (state, downstream) -> {
+            final int length = state.slots.length;
+            final int size = (int) Math.min(state.matched, length);
+            final long first = state.matched - size;
+
+            for (long i = first; i < state.matched; i++) {
+                @SuppressWarnings("unchecked")
+                final T item = (T) state.slots[(int) (i % length)];
+
+                if (!downstream.push(item)) {
+                    break;
+                }
+            }
+        };
+    }
+
+    /// A class containing the internal state of the take last gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class TakeLastGathererState<T> {
+        /// The ring buffer.
+        private final Object[] slots;
+
+        /// The number of matching elements seen.
+        private long matched;
+
+        /// A constructor that takes the number of slots.
+        ///
+        /// @param  count   int
+        private TakeLastGathererState(final int count) {
+            super();
+
+            this.slots = new Object[count];
+        }
+    }
+}
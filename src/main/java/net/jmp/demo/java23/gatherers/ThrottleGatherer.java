@@ -0,0 +1,160 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)ThrottleGatherer.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// This gatherer limits the rate at which elements are passed downstream
+/// with a token bucket. The bucket holds up to `burst` tokens and refills
+/// at `permitsPerSecond`; each element takes one token and, when none is
+/// left, the evaluating thread parks until the next token is due. The
+/// tokens are computed from the monotonic clock, so no timer thread is
+/// used, and `LockSupport.parkNanos` unmounts a virtual thread instead of
+/// pinning its carrier or busy-waiting. If the thread is interrupted the
+/// gatherer stops consuming input and the interrupt status is kept.
+/// The optional combiner operation is not present in this gatherer.
+/// The optional finisher operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class ThrottleGatherer<T> implements Gatherer<T, ThrottleGatherer.ThrottleGathererState, T> {
+    /// The number of nanoseconds in a second.
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /// The nanoseconds between two tokens.
+    private final double nanosPerPermit;
+
+    /// The bucket capacity.
+    private final int burst;
+
+    /// The constructor.
+    ///
+    /// @param  permitsPerSecond    double
+    /// @param  burst               int
+    public ThrottleGatherer(final double permitsPerSecond, final int burst) {
+        if (!(permitsPerSecond > 0.0) || Double.isInfinite(permitsPerSecond)) {
+            throw new IllegalArgumentException("Permits per second must be positive: " + permitsPerSecond);
+        }
+
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive: " + burst);
+        }
+
+        this.nanosPerPermit = NANOS_PER_SECOND / permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.ThrottleGatherer.ThrottleGathererState>
+    @Override
+    public Supplier<ThrottleGathererState> initializer() {
+        return () -> new ThrottleGathererState(this.burst);
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.ThrottleGatherer.ThrottleGathererState, T, T>
+    @Override
+    public Integrator<ThrottleGathererState, T, T> integrator() {
+        /*
+         * This integrator is not greedy because an
+         * interrupt while waiting for a token stops
+         * the consumption of input.
+         */
+
+        return Integrator.of((state, item, downstream) -> {
+            if (!this.acquire(state)) {
+                return false;   // Interrupted; no subsequent integration is desired
+            }
+
+            return downstream.push(item);
+        });
+    }
+
+    /// Take a token, parking until one is available.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.ThrottleGatherer.ThrottleGathererState
+    /// @return         boolean; false if the thread was interrupted
+    private boolean acquire(final ThrottleGathererState state) {
+        long now = System.nanoTime();
+
+        this.refill(state, now);
+
+        if (state.tokens < 1.0) {
+            final long deadline = now + (long) Math.ceil((1.0 - state.tokens) * this.nanosPerPermit);
+
+            while ((now = System.nanoTime()) - deadline < 0) {
+                LockSupport.parkNanos(deadline - now);
+
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+
+            this.refill(state, now);
+        }
+
+        state.tokens -= 1.0;
+
+        return true;
+    }
+
+    /// Add the tokens earned since the last refill.
+    ///
+    /// @param  state   net.jmp.demo.java23.gatherers.ThrottleGatherer.ThrottleGathererState
+    /// @param  now     long
+    private void refill(final ThrottleGathererState state, final long now) {
+        state.tokens = Math.min(this.burst, state.tokens + (now - state.refilledAt) / this.nanosPerPermit);
+        state.refilledAt = now;
+    }
+
+    /// A class containing the internal state of the throttle gatherer.
+    public static class ThrottleGathererState {
+        /// The tokens in the bucket.
+        private double tokens;
+
+        /// The monotonic time of the last refill.
+        private long refilledAt;
+
+        /// A constructor that takes the bucket capacity.
+        ///
+        /// @param  burst   int
+        private ThrottleGathererState(final int burst) {
+            super();
+
+            this.tokens = burst;
+            this.refilledAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)TumblingWindowGatherer.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.TimeWindow;
+
+/// This gatherer assigns elements to fixed, non-overlapping event-time
+/// windows using a timestamp extracted from each element. The watermark
+/// is the largest timestamp seen less the allowed lateness; a window is
+/// emitted and released as soon as its end is at or behind the watermark.
+/// Elements that arrive for a window that has already been emitted are
+/// late and are dropped. Memory is therefore bounded by the number of
+/// open windows rather than by the length of the stream.
+/// The optional combiner operation is not present in this gatherer.
+///
+/// @param  <T> The type of input elements to the gathering operation
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class TumblingWindowGatherer<T> implements Gatherer<T, TumblingWindowGatherer.TumblingWindowGathererState<T>, TimeWindow<T>> {
+    /// The timestamp function returning epoch milliseconds.
+    private final ToLongFunction<T> timestamp;
+
+    /// The window size in milliseconds.
+    private final long size;
+
+    /// The allowed lateness in milliseconds.
+    private final long lateness;
+
+    /// The constructor.
+    ///
+    /// @param  timestamp   java.util.function.ToLongFunction<T>
+    /// @param  size        java.time.Duration
+    /// @param  lateness    java.time.Duration
+    public TumblingWindowGatherer(final ToLongFunction<T> timestamp, final Duration size, final Duration lateness) {
+        this.timestamp = Objects.requireNonNull(timestamp);
+        this.size = Objects.requireNonNull(size).toMillis();
+        this.lateness = Objects.requireNonNull(lateness).toMillis();
+
+        if (this.size < 1) {
+            throw new IllegalArgumentException("Window size must be at least one millisecond: " + size);
+        }
+
+        if (this.lateness < 0) {
+            throw new IllegalArgumentException("Allowed lateness must not be negative: " + lateness);
+        }
+    }
+
+    /// A function that produces an instance of the intermediate
+    /// state used for this gathering operation.
+    ///
+    /// @return java.util.function.Supplier<net.jmp.demo.java23.gatherers.TumblingWindowGatherer.TumblingWindowGathererState<T>>
+    @Override
+    public Supplier<TumblingWindowGathererState<T>> initializer() {
+        return TumblingWindowGathererState::new;
+    }
+
+    /// A function which integrates provided elements,
+    /// potentially using the provided intermediate state,
+    /// optionally producing output to the provided
+    /// downstream type.
+    ///
+    /// @return java.util.stream.Gatherer.Integrator<net.jmp.demo.java23.gatherers.TumblingWindowGatherer.TumblingWindowGathererState<T>, T, net.jmp.demo.java23.records.TimeWindow<T>>
+    @Override
+    public Integrator<TumblingWindowGathererState<T>, T, TimeWindow<T>> integrator() {
+        /*
+         * Greedy integrators consume all their input,
+         * and may only relay that the downstream does
+         * not want more elements. The greedy lambda is
+         * the state (A), the element type (T), and the
+         * result type (R).
+         */
+
+        return Integrator.ofGreedy((state, item, downstream) -> {
+            final long time = this.timestamp.applyAsLong(item);
+            final long start = Math.floorDiv(time, this.size) * this.size;
+
+            if (state.hasWatermark && start + this.size <= state.watermark) {
+                return true;    // Late; the window has already been emitted
+            }
+
+            state.open.computeIfAbsent(start, _ -> new ArrayList<>()).add(item);
+
+            if (!state.hasWatermark || time - this.lateness > state.watermark) {
+                state.watermark = time - this.lateness;
+                state.hasWatermark = true;
+            }
+
+            while (!state.open.isEmpty() && state.open.firstKey() + this.size <= state.watermark) {
+                if (!downstream.push(this.toWindow(state.open.pollFirstEntry()))) {
+                    return false;   // No subsequent integration is desired
+                }
+            }
+
+            return true;    // True if subsequent integration is desired
+        });
+    }
+
+    /// A function which accepts the final intermediate state and a
+    /// downstream object, allowing to perform a final action at the
+    /// end of input elements. The lambda is the state (A) and the
+    /// result type (R).
+    ///
+    /// @return java.util.function.BiConsumer<net.jmp.demo.java23.gatherers.TumblingWindowGatherer.TumblingWindowGathererState<T>, java.util.stream.Gatherer.Downstream<? super net.jmp.demo.java23.records.TimeWindow<T>>>
+    @Override
+    public BiConsumer<TumblingWindowGathererState<T>, Downstream<? super TimeWindow<T>>> finisher() {
+        return (state, downstream) -> {
+            while (!state.open.isEmpty() && !downstream.isRejecting()) {
+                downstream.push(this.toWindow(state.open.pollFirstEntry()));
+            }
+        };
+    }
+
+    /// Convert an open window into a time window.
+    ///
+    /// @param  entry   java.util.Map.Entry<java.lang.Long, java.util.List<T>>
+    /// @return         net.jmp.demo.java23.records.TimeWindow<T>
+    private TimeWindow<T> toWindow(final Map.Entry<Long, List<T>> entry) {
+        final long start = entry.getKey();
+
+        return new TimeWindow<>(Instant.ofEpochMilli(start), Instant.ofEpochMilli(start + this.size), entry.getValue());
+    }
+
+    /// A class containing the internal state of the tumbling window gatherer.
+    ///
+    /// @param   <T>    The type of element
+    public static class TumblingWindowGathererState<T> {
+        /// The open windows keyed by their start.
+        private final NavigableMap<Long, List<T>> open = new TreeMap<>();
+
+        /// The watermark in epoch milliseconds.
+        private long watermark;
+
+        /// True once the first element has set the watermark.
+        private boolean hasWatermark;
+
+        /// The default constructor.
+        private TumblingWindowGathererState() {
+            super();
+        }
+    }
+}
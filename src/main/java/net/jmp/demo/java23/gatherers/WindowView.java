@@ -0,0 +1,203 @@
+package net.jmp.demo.java23.gatherers;
+
+/*
+ * (#)WindowView.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A read-only list view over a region of a window buffer. The
+/// window view gatherers push a fresh view for every window without
+/// copying its elements. A consumer signals that it has finished with
+/// a window by calling `release` (or `close` in a
+/// try-with-resources block), which hands the buffer back to the
+/// gatherer so that it can be reused for a later window. A view that
+/// is still held when the gatherer needs its buffer keeps its own
+/// buffer instead, so retained windows stay correct and only cost the
+/// allocation that recycling would have saved. Any access to a view
+/// after it has been released fails fast with an
+/// `IllegalStateException`, as do its iterators.
+///
+/// @param  <T> The type of element
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class WindowView<T> extends AbstractList<T> implements RandomAccess, AutoCloseable {
+    /// The pool the buffer is returned to on release.
+    private final Pool pool;
+
+    /// The backing buffer.
+    private Object[] buffer;
+
+    /// The index in the buffer of the first element of the window.
+    private int start;
+
+    /// The number of elements in the window.
+    private final int size;
+
+    /// True if the buffer is owned by this view and goes back to the pool on release.
+    private boolean owner;
+
+    /// True once the consumer has released the view.
+    private boolean released;
+
+    /// A constructor that takes the pool, the backing buffer and the window.
+    ///
+    /// @param  pool    net.jmp.demo.java23.gatherers.WindowView.Pool
+    /// @param  buffer  java.lang.Object[]
+    /// @param  start   int
+    /// @param  size    int
+    /// @param  owner   boolean
+    WindowView(final Pool pool, final Object[] buffer, final int start, final int size, final boolean owner) {
+        super();
+
+        this.pool = pool;
+        this.buffer = buffer;
+        this.start = start;
+        this.size = size;
+        this.owner = owner;
+    }
+
+    /// Returns the element at the specified position in this list.
+    ///
+    /// @param  index   int
+    /// @return         T
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(final int index) {
+        this.checkNotReleased();
+
+        Objects.checkIndex(index, this.size);
+
+        final int position = this.start + index;
+
+        return (T) this.buffer[position < this.buffer.length ? position : position - this.buffer.length];
+    }
+
+    /// Returns the number of elements in this list.
+    ///
+    /// @return int
+    @Override
+    public int size() {
+        this.checkNotReleased();
+
+        return this.size;
+    }
+
+    /// Signal that the consumer has finished with this window.
+    /// Releasing a view more than once has no further effect.
+    public void release() {
+        if (!this.released) {
+            this.released = true;
+            this.modCount++;
+
+            if (this.owner) {
+                this.pool.release(this.buffer);
+            }
+
+            this.buffer = null;
+        }
+    }
+
+    /// Release the view. This method allows
+    /// a view to be used with try-with-resources.
+    @Override
+    public void close() {
+        this.release();
+    }
+
+    /// Returns true if the consumer has released this view.
+    ///
+    /// @return boolean
+    boolean isReleased() {
+        return this.released;
+    }
+
+    /// Give a view that is still held its own copy of the window
+    /// so that the shared buffer behind it can be overwritten.
+    void detach() {
+        final Object[] copy = this.pool.acquire();
+
+        for (int i = 0; i < this.size; i++) {
+            final int position = this.start + i;
+
+            copy[i] = this.buffer[position < this.buffer.length ? position : position - this.buffer.length];
+        }
+
+        this.buffer = copy;
+        this.start = 0;
+        this.owner = true;
+    }
+
+    /// Throw if the view has been released.
+    private void checkNotReleased() {
+        if (this.released) {
+            throw new IllegalStateException("The window view has been released");
+        }
+    }
+
+    /// A small pool of window buffers that
+    /// released views are returned to.
+    static final class Pool {
+        /// The maximum number of idle buffers kept.
+        private static final int CAPACITY = 2;
+
+        /// The idle buffers.
+        private final Deque<Object[]> idle = new ArrayDeque<>(CAPACITY);
+
+        /// The length of every buffer.
+        private final int length;
+
+        /// A constructor that takes the buffer length.
+        ///
+        /// @param  length  int
+        Pool(final int length) {
+            super();
+
+            this.length = length;
+        }
+
+        /// Take an idle buffer or allocate a new one.
+        ///
+        /// @return java.lang.Object[]
+        synchronized Object[] acquire() {
+            final Object[] buffer = this.idle.pollFirst();
+
+            return buffer != null ? buffer : new Object[this.length];
+        }
+
+        /// Return a buffer to the pool. The buffer is
+        /// cleared so that it holds no stale elements.
+        ///
+        /// @param  buffer  java.lang.Object[]
+        synchronized void release(final Object[] buffer) {
+            Arrays.fill(buffer, null);
+
+            if (this.idle.size() < CAPACITY) {
+                this.idle.offerFirst(buffer);
+            }
+        }
+    }
+}
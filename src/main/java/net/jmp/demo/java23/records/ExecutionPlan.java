@@ -0,0 +1,62 @@
+package net.jmp.demo.java23.records;
+
+/*
+ * (#)ExecutionPlan.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// An execution plan record. It is chosen
+/// by the gatherer pipeline planner.
+///
+/// @param  mode            net.jmp.demo.java23.records.ExecutionPlan.Mode
+/// @param  chunkSize       int; the smallest split handed to a worker, or 0 when sequential
+/// @param  estimatedSize   long; Long.MAX_VALUE when unknown
+/// @param  reason          java.lang.String
+/// @version                0.9.0
+/// @since                  0.9.0
+public record ExecutionPlan(Mode mode, int chunkSize, long estimatedSize, String reason) {
+    /// The compact constructor.
+    public ExecutionPlan {
+        Objects.requireNonNull(mode);
+        Objects.requireNonNull(reason);
+
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Chunk size must not be negative: " + chunkSize);
+        }
+    }
+
+    /// The execution modes.
+    public enum Mode {
+        /// Run on the calling thread.
+        SEQUENTIAL,
+
+        /// Run in parallel, preserving encounter order.
+        PARALLEL,
+
+        /// Run in parallel without preserving encounter order.
+        CONCURRENT
+    }
+}
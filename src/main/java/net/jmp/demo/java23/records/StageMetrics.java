@@ -0,0 +1,56 @@
+package net.jmp.demo.java23.records;
+
+/*
+ * (#)StageMetrics.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A gatherer stage metrics record. It is
+/// reported by the instrumented gatherer.
+///
+/// @param  stage                   java.lang.String
+/// @param  elementsIn              long
+/// @param  elementsOut             long
+/// @param  shortCircuits           long; the number of times integration stopped early
+/// @param  sampledIntegrations     long; the number of timed integrator calls
+/// @param  estimatedIntegratorTime java.time.Duration; the sampled time scaled to all calls
+/// @param  finisherTime            java.time.Duration
+/// @version                        0.9.0
+/// @since                          0.9.0
+public record StageMetrics(String stage,
+                           long elementsIn,
+                           long elementsOut,
+                           long shortCircuits,
+                           long sampledIntegrations,
+                           Duration estimatedIntegratorTime,
+                           Duration finisherTime) {
+    /// The compact constructor.
+    public StageMetrics {
+        Objects.requireNonNull(stage);
+        Objects.requireNonNull(estimatedIntegratorTime);
+        Objects.requireNonNull(finisherTime);
+    }
+}
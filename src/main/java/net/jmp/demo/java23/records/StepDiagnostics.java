@@ -0,0 +1,46 @@
+package net.jmp.demo.java23.records;
+
+/*
+ * (#)StepDiagnostics.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A gatherer step diagnostics record. It
+/// is reported by the diagnostic gatherer.
+///
+/// @param  name        java.lang.String
+/// @param  sequential  boolean; true if the step has no combiner
+/// @param  elements    long; the number of elements integrated
+/// @param  time        java.time.Duration; spent in the step's own work, estimated from sampled calls
+/// @version            0.9.0
+/// @since              0.9.0
+public record StepDiagnostics(String name, boolean sequential, long elements, Duration time) {
+    /// The compact constructor.
+    public StepDiagnostics {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(time);
+    }
+}
@@ -0,0 +1,48 @@
+package net.jmp.demo.java23.records;
+
+/*
+ * (#)TimeWindow.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// An event-time window record. It is used by
+/// the tumbling and session window gatherers.
+///
+/// @param  <T>         The type of element
+/// @param  start       java.time.Instant; inclusive
+/// @param  end         java.time.Instant; exclusive
+/// @param  elements    java.util.List<T>
+/// @version            0.9.0
+/// @since              0.9.0
+public record TimeWindow<T>(Instant start, Instant end, List<T> elements) {
+    /// The compact constructor.
+    public TimeWindow {
+        Objects.requireNonNull(start);
+        Objects.requireNonNull(end);
+
+        elements = Collections.unmodifiableList(Objects.requireNonNull(elements));
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.demo.java23.scopes;
 
 /*
+ * (#)CustomScope.java  0.9.0   10/19/2026
  * (#)CustomScope.java  0.5.0   09/19/2024
  * (#)CustomScope.java  0.4.0   09/19/2024
  * (#)CustomScope.java  0.3.0   09/18/2024
@@ -30,22 +31,82 @@ package net.jmp.demo.java23.scopes;
 
 import module java.base;
 
+import net.jmp.demo.java23.events.ScopeForkEvent;
+import net.jmp.demo.java23.events.ScopeJoinEvent;
+import net.jmp.demo.java23.events.SubtaskEvent;
+
 /// A custom scope class used by
 /// the structured concurreny demo.
+/// Forks, joins, and the run of each subtask
+/// are recorded as flight recorder events.
 ///
 /// @param  <T> The type of element
-/// @version    0.5.0
+/// @version    0.9.0
 /// @since      0.3.0
 public final class CustomScope<T> extends StructuredTaskScope<T> {
+    /// The scope name.
+    private static final String NAME = "Custom scope";
+
     /// A queue of completed results.
     private final Queue<T> results = new ConcurrentLinkedQueue<>();
 
     /// A queue of failed throwables.
     private final Queue<Throwable> throwables = new ConcurrentLinkedQueue<>();
 
+    /// The number of subtasks forked.
+    private final AtomicLong forked = new AtomicLong();
+
     /// The default constructor.
     public CustomScope() {
-        super("Custom scope", Thread.ofVirtual().factory());
+        super(NAME, Thread.ofVirtual().factory());
+    }
+
+    /// Start a new thread in this task scope to execute a
+    /// value-returning method. The fork is recorded as an
+    /// event and the task is wrapped so that its run on the
+    /// new thread is recorded as another.
+    ///
+    /// @param  <U>     The type of result
+    /// @param  task    java.util.concurrent.Callable<? extends U>
+    /// @return         java.util.concurrent.StructuredTaskScope.Subtask<U>
+    @Override
+    public <U extends T> Subtask<U> fork(final Callable<? extends U> task) {
+        Objects.requireNonNull(task);
+
+        final long subtask = this.forked.incrementAndGet();
+        final ScopeForkEvent fork = new ScopeForkEvent();
+
+        if (fork.shouldCommit()) {
+            fork.setScope(NAME);
+            fork.setSubtask(subtask);
+            fork.commit();
+        }
+
+        final Callable<U> recorded = () -> {
+            final SubtaskEvent event = new SubtaskEvent();
+            boolean succeeded = false;
+
+            event.begin();
+
+            try {
+                final U result = task.call();
+
+                succeeded = true;
+
+                return result;
+            } finally {
+                event.end();
+
+                if (event.shouldCommit()) {
+                    event.setScope(NAME);
+                    event.setSubtask(subtask);
+                    event.setSucceeded(succeeded);
+                    event.commit();
+                }
+            }
+        };
+
+        return super.fork(recorded);
     }
 
     /// Invoked by a subtask when it completes successfully or
@@ -77,7 +138,21 @@ public final class CustomScope<T> extends StructuredTaskScope<T> {
     /// @throws java.lang.InterruptedException When a thread is interrupted
     @Override
     public CustomScope<T> join() throws InterruptedException {
-        super.join();
+        final ScopeJoinEvent event = new ScopeJoinEvent();
+
+        event.begin();
+
+        try {
+            super.join();
+        } finally {
+            event.end();
+
+            if (event.shouldCommit()) {
+                event.setScope(NAME);
+                event.setForked(this.forked.get());
+                event.commit();
+            }
+        }
 
         return this;
     }
@@ -0,0 +1,53 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)BinaryCodec.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A codec that writes values to and reads them back from a compact
+/// binary form. It is used by the external sort gatherer to spill
+/// sorted runs to temporary files.
+///
+/// @param  <T> The type of value
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public interface BinaryCodec<T> {
+    /// Write a value.
+    ///
+    /// @param  output  java.io.DataOutput
+    /// @param  value   T
+    /// @throws         java.io.IOException When the value cannot be written
+    void write(DataOutput output, T value) throws IOException;
+
+    /// Read a value.
+    ///
+    /// @param  input   java.io.DataInput
+    /// @return         T
+    /// @throws         java.io.IOException When the value cannot be read
+    T read(DataInput input) throws IOException;
+}
@@ -0,0 +1,161 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)BloomFilter.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A Bloom filter. An object sets `hashes` bits of a bit array chosen by
+/// double hashing of its 64-bit hash from `HyperLogLog.hashOf`; an object
+/// whose bits are not all set was certainly never added, while one whose
+/// bits are all set was probably added. The size and the number of hashes are
+/// derived from the expected number of objects and the desired false
+/// positive probability. The filter counts the objects added so that
+/// the false positive probability can be estimated as it fills; once
+/// more than the expected number have been added it climbs past the
+/// desired probability towards one.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class BloomFilter {
+    /// The bits.
+    private final long[] bits;
+
+    /// The number of bits.
+    private final long size;
+
+    /// The number of hash functions.
+    private final int hashes;
+
+    /// The expected number of objects.
+    private final long expected;
+
+    /// The number of objects added.
+    private long insertions;
+
+    /// The constructor.
+    ///
+    /// @param  expected                    long; the expected number of objects
+    /// @param  falsePositiveProbability    double; between 0.0 and 1.0 exclusive
+    public BloomFilter(final long expected, final double falsePositiveProbability) {
+        super();
+
+        if (expected < 1) {
+            throw new IllegalArgumentException("Expected number of objects must be positive: " + expected);
+        }
+
+        if (falsePositiveProbability <= 0.0 || falsePositiveProbability >= 1.0) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1: " + falsePositiveProbability);
+        }
+
+        final double ln2 = Math.log(2);
+        final long optimal = (long) Math.ceil(-expected * Math.log(falsePositiveProbability) / (ln2 * ln2));
+
+        this.bits = new long[(int) Math.max(1, (optimal + Long.SIZE - 1) / Long.SIZE)];
+        this.size = (long) this.bits.length * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) this.size / expected * ln2));
+        this.expected = expected;
+    }
+
+    /// Add an object.
+    ///
+    /// @param  object  java.lang.Object
+    public void add(final Object object) {
+        final long hash = HyperLogLog.hashOf(object);
+
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = this.index(hash, i);
+
+            this.bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+
+        this.insertions++;
+    }
+
+    /// Return false if the object was certainly
+    /// never added and true if it probably was.
+    ///
+    /// @param  object  java.lang.Object
+    /// @return         boolean
+    public boolean mightContain(final Object object) {
+        final long hash = HyperLogLog.hashOf(object);
+
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = this.index(hash, i);
+
+            if ((this.bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /// Return the number of bits.
+    ///
+    /// @return long
+    public long size() {
+        return this.size;
+    }
+
+    /// Return the number of hash functions.
+    ///
+    /// @return int
+    public int hashes() {
+        return this.hashes;
+    }
+
+    /// Return the expected number of objects.
+    ///
+    /// @return long
+    public long expected() {
+        return this.expected;
+    }
+
+    /// Return the number of objects added.
+    ///
+    /// @return long
+    public long insertions() {
+        return this.insertions;
+    }
+
+    /// Return the estimated false positive probability
+    /// for the number of objects added so far.
+    ///
+    /// @return double
+    public double falsePositiveProbability() {
+        return Math.pow(-Math.expm1(-(double) this.hashes * this.insertions / this.size), this.hashes);
+    }
+
+    /// Return the bit index of a hash for a hash function.
+    ///
+    /// @param  hash    long
+    /// @param  i       int
+    /// @return         long
+    private long index(final long hash, final int i) {
+        return Math.floorMod((hash >>> 32) + i * (hash & 0xffffffffL), this.size);
+    }
+}
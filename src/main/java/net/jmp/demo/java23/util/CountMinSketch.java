@@ -0,0 +1,144 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)CountMinSketch.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A count-min sketch of item frequencies. Each of the `depth` rows has
+/// `width` counters and an item increments one counter per row, chosen
+/// by double hashing of its 64-bit hash from `HyperLogLog.hashOf`. The
+/// estimate is the smallest of the item's counters, which never
+/// underestimates and with high probability overestimates by at most
+/// `e / width` of the total count. Sketches of the same shape merge by adding their counters.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class CountMinSketch {
+    /// The counters, one row per hash function.
+    private final long[][] counters;
+
+    /// The number of counters per row.
+    private final int width;
+
+    /// The total count added.
+    private long total;
+
+    /// The constructor.
+    ///
+    /// @param  width   int
+    /// @param  depth   int
+    public CountMinSketch(final int width, final int depth) {
+        super();
+
+        if (width < 1) {
+            throw new IllegalArgumentException("Width must be positive: " + width);
+        }
+
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be positive: " + depth);
+        }
+
+        this.width = width;
+        this.counters = new long[depth][width];
+    }
+
+    /// Count one occurrence of an item and return its new estimate.
+    ///
+    /// @param  item    java.lang.Object
+    /// @return         long
+    public long add(final Object item) {
+        final long hash = HyperLogLog.hashOf(item);
+
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < this.counters.length; row++) {
+            final long count = ++this.counters[row][this.index(hash, row)];
+
+            estimate = Math.min(estimate, count);
+        }
+
+        this.total++;
+
+        return estimate;
+    }
+
+    /// Return the estimated count of an item.
+    ///
+    /// @param  item    java.lang.Object
+    /// @return         long
+    public long estimate(final Object item) {
+        final long hash = HyperLogLog.hashOf(item);
+
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < this.counters.length; row++) {
+            estimate = Math.min(estimate, this.counters[row][this.index(hash, row)]);
+        }
+
+        return estimate;
+    }
+
+    /// Merge another sketch into this one.
+    ///
+    /// @param  other   net.jmp.demo.java23.util.CountMinSketch
+    /// @return         net.jmp.demo.java23.util.CountMinSketch
+    public CountMinSketch merge(final CountMinSketch other) {
+        if (other.width != this.width || other.counters.length != this.counters.length) {
+            throw new IllegalArgumentException("Sketch shapes differ: "
+                    + this.width + "x" + this.counters.length + " and "
+                    + other.width + "x" + other.counters.length);
+        }
+
+        for (int row = 0; row < this.counters.length; row++) {
+            for (int i = 0; i < this.width; i++) {
+                this.counters[row][i] += other.counters[row][i];
+            }
+        }
+
+        this.total += other.total;
+
+        return this;
+    }
+
+    /// Return the total count added.
+    ///
+    /// @return long
+    public long total() {
+        return this.total;
+    }
+
+    /// Return the counter index of a hash in a row.
+    ///
+    /// @param  hash    long
+    /// @param  row     int
+    /// @return         int
+    private int index(final long hash, final int row) {
+        final int combined = (int) hash + row * (int) (hash >>> 32);
+
+        return Math.floorMod(combined, this.width);
+    }
+}
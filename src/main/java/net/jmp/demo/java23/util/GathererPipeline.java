@@ -0,0 +1,398 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)GathererPipeline.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.gatherers.DiagnosticGatherer;
+
+import net.jmp.demo.java23.records.ExecutionPlan;
+import net.jmp.demo.java23.records.StepDiagnostics;
+
+/// A pipeline of gatherers over a source that chooses how to run.
+/// The planner looks at the source spliterator and the gatherers:
+///
+/// - A gatherer without a combiner is evaluated sequentially even in
+///   a parallel stream, so such a pipeline runs sequentially and does
+///   not pay for splitting.
+/// - A source of unknown size, a source smaller than the parallel
+///   threshold, or a common pool with a single worker runs sequentially.
+/// - A source that is not `SUBSIZED` splits unevenly, so it must be
+///   four times the threshold before it runs in parallel.
+/// - A source that is not `ORDERED` runs concurrently, that is, in
+///   parallel with the stream marked unordered.
+///
+/// When the pipeline runs in parallel the source is not split below
+/// the chosen chunk size, which aims at a few chunks per worker.
+/// The steps that serialize a parallel stream are listed by
+/// `sequentialSteps`, and `diagnose` wraps every step so that they
+/// are flagged and timed while the pipeline runs.
+///
+/// Each call to `gather` returns a new pipeline; a pipeline built on
+/// a stream can only be streamed once.
+///
+/// @param  <S> The type of source element
+/// @param  <R> The type of result element
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class GathererPipeline<S, R> {
+    /// The default number of elements below which a pipeline runs sequentially.
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    /// The smallest chunk handed to a worker.
+    private static final int MIN_CHUNK_SIZE = 1_024;
+
+    /// The number of chunks aimed at per worker.
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /// The supplier of the source spliterator.
+    private final Supplier<Spliterator<S>> source;
+
+    /// The gatherers in order.
+    private final List<Gatherer<?, ?, ?>> gatherers;
+
+    /// The number of elements below which the pipeline runs sequentially.
+    private final long parallelThreshold;
+
+    /// The constructor.
+    ///
+    /// @param  source              java.util.function.Supplier<java.util.Spliterator<S>>
+    /// @param  gatherers           java.util.List<java.util.stream.Gatherer<?, ?, ?>>
+    /// @param  parallelThreshold   long
+    private GathererPipeline(final Supplier<Spliterator<S>> source,
+                             final List<Gatherer<?, ?, ?>> gatherers,
+                             final long parallelThreshold) {
+        super();
+
+        this.source = source;
+        this.gatherers = gatherers;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /// Return a pipeline over the elements of a collection.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  collection  java.util.Collection<T>
+    /// @return             net.jmp.demo.java23.util.GathererPipeline<T, T>
+    public static <T> GathererPipeline<T, T> of(final Collection<T> collection) {
+        Objects.requireNonNull(collection);
+
+        return new GathererPipeline<>(collection::spliterator, List.of(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /// Return a pipeline over the elements of a stream.
+    /// The stream is consumed by this method.
+    ///
+    /// @param  <T>     The type of element
+    /// @param  stream  java.util.stream.Stream<T>
+    /// @return         net.jmp.demo.java23.util.GathererPipeline<T, T>
+    public static <T> GathererPipeline<T, T> of(final Stream<T> stream) {
+        final Spliterator<T> spliterator = stream.spliterator();
+
+        return new GathererPipeline<>(() -> spliterator, List.of(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /// Return a pipeline with a gatherer appended.
+    ///
+    /// @param  <U>         The type of the new result element
+    /// @param  gatherer    java.util.stream.Gatherer<? super R, ?, U>
+    /// @return             net.jmp.demo.java23.util.GathererPipeline<S, U>
+    public <U> GathererPipeline<S, U> gather(final Gatherer<? super R, ?, U> gatherer) {
+        final List<Gatherer<?, ?, ?>> appended = new ArrayList<>(this.gatherers);
+
+        appended.add(Objects.requireNonNull(gatherer));
+
+        return new GathererPipeline<>(this.source, List.copyOf(appended), this.parallelThreshold);
+    }
+
+    /// Return a pipeline with a different parallel threshold.
+    ///
+    /// @param  threshold   long
+    /// @return             net.jmp.demo.java23.util.GathererPipeline<S, R>
+    public GathererPipeline<S, R> parallelThreshold(final long threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive: " + threshold);
+        }
+
+        return new GathererPipeline<>(this.source, this.gatherers, threshold);
+    }
+
+    /// Return the gatherers in order.
+    ///
+    /// @return java.util.List<java.util.stream.Gatherer<?, ?, ?>>
+    public List<Gatherer<?, ?, ?>> gatherers() {
+        return this.gatherers;
+    }
+
+    /// Return the names of the steps without a combiner. Each
+    /// of them is evaluated sequentially in a parallel stream.
+    ///
+    /// @return java.util.List<java.lang.String>
+    public List<String> sequentialSteps() {
+        return this.gatherers.stream()
+                .filter(gatherer -> !hasCombiner(gatherer))
+                .map(GathererPipeline::stepName)
+                .toList();
+    }
+
+    /// Return a pipeline with each gatherer wrapped in a diagnostic
+    /// gatherer named after it. The flag handler is called with the
+    /// name of each sequential step when it first integrates, if the
+    /// source alone would have the pipeline run in parallel. Such a
+    /// step is what makes the planner run the pipeline sequentially,
+    /// so it is flagged even though the stream it runs in is not.
+    ///
+    /// @param  flagHandler java.util.function.Consumer<java.lang.String>
+    /// @return             net.jmp.demo.java23.util.GathererPipeline<S, R>
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GathererPipeline<S, R> diagnose(final Consumer<String> flagHandler) {
+        Objects.requireNonNull(flagHandler);
+
+        final boolean parallel = this.planSource(this.source.get()).mode() != ExecutionPlan.Mode.SEQUENTIAL;
+        final List<Gatherer<?, ?, ?>> wrapped = new ArrayList<>(this.gatherers.size());
+
+        for (final Gatherer gatherer : this.gatherers) {
+            wrapped.add(gatherer instanceof DiagnosticGatherer
+                    ? gatherer
+                    : new DiagnosticGatherer<>(stepName(gatherer), gatherer, flagHandler, parallel));
+        }
+
+        return new GathererPipeline<>(this.source, List.copyOf(wrapped), this.parallelThreshold);
+    }
+
+    /// Return the diagnostics of the diagnostic gatherers in the pipeline.
+    ///
+    /// @return java.util.List<net.jmp.demo.java23.records.StepDiagnostics>
+    public List<StepDiagnostics> diagnostics() {
+        return this.gatherers.stream()
+                .filter(DiagnosticGatherer.class::isInstance)
+                .map(gatherer -> ((DiagnosticGatherer<?, ?, ?>) gatherer).diagnostics())
+                .toList();
+    }
+
+    /// Return the time spent in the sequential steps of the pipeline
+    /// as measured by its diagnostic gatherers. Each step reports its
+    /// own work only, so the times of the steps are added up.
+    ///
+    /// @return java.time.Duration
+    public Duration sequentialTime() {
+        return this.diagnostics().stream()
+                .filter(StepDiagnostics::sequential)
+                .map(StepDiagnostics::time)
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /// Return the execution plan.
+    ///
+    /// @return net.jmp.demo.java23.records.ExecutionPlan
+    public ExecutionPlan plan() {
+        return this.plan(this.source.get());
+    }
+
+    /// Return a stream of the results run according to the plan.
+    ///
+    /// @return java.util.stream.Stream<R>
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Stream<R> stream() {
+        final Spliterator<S> spliterator = this.source.get();
+        final ExecutionPlan plan = this.plan(spliterator);
+
+        Stream stream = switch (plan.mode()) {
+            case SEQUENTIAL -> StreamSupport.stream(spliterator, false);
+            case PARALLEL   -> StreamSupport.stream(new ChunkedSpliterator<>(spliterator, plan.chunkSize()), true);
+            case CONCURRENT -> StreamSupport.stream(new ChunkedSpliterator<>(spliterator, plan.chunkSize()), true).unordered();
+        };
+
+        for (final Gatherer gatherer : this.gatherers) {
+            stream = stream.gather(gatherer);
+        }
+
+        return (Stream<R>) stream;
+    }
+
+    /// Return true if the gatherer has a combiner.
+    ///
+    /// @param  gatherer    java.util.stream.Gatherer<?, ?, ?>
+    /// @return             boolean
+    public static boolean hasCombiner(final Gatherer<?, ?, ?> gatherer) {
+        return gatherer.combiner() != Gatherer.defaultCombiner();
+    }
+
+    /// Return the name of a step.
+    ///
+    /// @param  gatherer    java.util.stream.Gatherer<?, ?, ?>
+    /// @return             java.lang.String
+    private static String stepName(final Gatherer<?, ?, ?> gatherer) {
+        if (gatherer instanceof DiagnosticGatherer<?, ?, ?> diagnostic) {
+            return diagnostic.name();
+        }
+
+        return gatherer.getClass().getSimpleName();
+    }
+
+    /// Choose the execution plan for a source spliterator.
+    ///
+    /// @param  spliterator java.util.Spliterator<S>
+    /// @return             net.jmp.demo.java23.records.ExecutionPlan
+    private ExecutionPlan plan(final Spliterator<S> spliterator) {
+        for (final Gatherer<?, ?, ?> gatherer : this.gatherers) {
+            if (!hasCombiner(gatherer)) {
+                return new ExecutionPlan(ExecutionPlan.Mode.SEQUENTIAL,
+                                         0,
+                                         size(spliterator),
+                                         stepName(gatherer) + " has no combiner");
+            }
+        }
+
+        return this.planSource(spliterator);
+    }
+
+    /// Choose the execution plan for a source spliterator
+    /// as if every gatherer in the pipeline had a combiner.
+    ///
+    /// @param  spliterator java.util.Spliterator<S>
+    /// @return             net.jmp.demo.java23.records.ExecutionPlan
+    private ExecutionPlan planSource(final Spliterator<S> spliterator) {
+        final long size = size(spliterator);
+        final int workers = ForkJoinPool.getCommonPoolParallelism();
+
+        if (size == Long.MAX_VALUE) {
+            return new ExecutionPlan(ExecutionPlan.Mode.SEQUENTIAL, 0, size, "The source size is unknown");
+        }
+
+        if (workers < 2) {
+            return new ExecutionPlan(ExecutionPlan.Mode.SEQUENTIAL, 0, size, "The common pool has a single worker");
+        }
+
+        final long threshold = spliterator.hasCharacteristics(Spliterator.SUBSIZED)
+                ? this.parallelThreshold
+                : this.parallelThreshold * 4;
+
+        if (size < threshold) {
+            return new ExecutionPlan(ExecutionPlan.Mode.SEQUENTIAL, 0, size, "The source is smaller than " + threshold);
+        }
+
+        final int chunkSize = (int) Math.min(Integer.MAX_VALUE,
+                                             Math.max(MIN_CHUNK_SIZE, size / ((long) workers * CHUNKS_PER_WORKER)));
+
+        if (!spliterator.hasCharacteristics(Spliterator.ORDERED)) {
+            return new ExecutionPlan(ExecutionPlan.Mode.CONCURRENT, chunkSize, size, "The source is unordered");
+        }
+
+        return new ExecutionPlan(ExecutionPlan.Mode.PARALLEL, chunkSize, size, "The source is ordered");
+    }
+
+    /// Return the exact size of a spliterator if it is known,
+    /// and otherwise its estimated size.
+    ///
+    /// @param  spliterator java.util.Spliterator<?>
+    /// @return             long
+    private static long size(final Spliterator<?> spliterator) {
+        return spliterator.hasCharacteristics(Spliterator.SIZED)
+                ? spliterator.getExactSizeIfKnown()
+                : spliterator.estimateSize();
+    }
+
+    /// A spliterator that does not split below a chunk size.
+    ///
+    /// @param  <T> The type of element
+    private static final class ChunkedSpliterator<T> implements Spliterator<T> {
+        /// The delegate spliterator.
+        private final Spliterator<T> delegate;
+
+        /// The chunk size.
+        private final int chunkSize;
+
+        /// The constructor.
+        ///
+        /// @param  delegate    java.util.Spliterator<T>
+        /// @param  chunkSize   int
+        private ChunkedSpliterator(final Spliterator<T> delegate, final int chunkSize) {
+            super();
+
+            this.delegate = delegate;
+            this.chunkSize = chunkSize;
+        }
+
+        /// Perform the action on the next element if there is one.
+        ///
+        /// @param  action  java.util.function.Consumer<? super T>
+        /// @return         boolean
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            return this.delegate.tryAdvance(action);
+        }
+
+        /// Perform the action on the remaining elements.
+        ///
+        /// @param  action  java.util.function.Consumer<? super T>
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            this.delegate.forEachRemaining(action);
+        }
+
+        /// Split off a prefix unless this spliterator
+        /// holds no more than two chunks.
+        ///
+        /// @return java.util.Spliterator<T>
+        @Override
+        public Spliterator<T> trySplit() {
+            if (this.delegate.estimateSize() <= 2L * this.chunkSize) {
+                return null;
+            }
+
+            final Spliterator<T> prefix = this.delegate.trySplit();
+
+            return prefix == null ? null : new ChunkedSpliterator<>(prefix, this.chunkSize);
+        }
+
+        /// Return the estimated number of remaining elements.
+        ///
+        /// @return long
+        @Override
+        public long estimateSize() {
+            return this.delegate.estimateSize();
+        }
+
+        /// Return the characteristics of the delegate.
+        ///
+        /// @return int
+        @Override
+        public int characteristics() {
+            return this.delegate.characteristics();
+        }
+
+        /// Return the comparator of the delegate.
+        ///
+        /// @return java.util.Comparator<? super T>
+        @Override
+        public Comparator<? super T> getComparator() {
+            return this.delegate.getComparator();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.demo.java23.util;
 
 /*
+ * (#)GatherersFactory.java 0.9.0   10/19/2026
  * (#)DemoGatherers.java    0.5.0   09/19/2024
  * (#)DemoGatherers.java    0.4.0   09/19/2024
  * (#)DemoGatherers.java    0.2.0   09/18/2024
@@ -34,7 +35,7 @@ import net.jmp.demo.java23.gatherers.*;
 
 /// A factory class for gatherers.
 ///
-/// @version    0.5.0
+/// @version    0.9.0
 /// @since      0.2.0
 public final class GatherersFactory {
     /// The default constructor.
@@ -52,6 +53,28 @@ public final class GatherersFactory {
         return new DistinctByGatherer<>(selector);
     }
 
+    /// A distinct-by gatherer whose keys are held to a state budget.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The potentially mutable state type of the gathering operation
+    /// @param  selector    java.util.function.Function<T, A>
+    /// @param  budget      net.jmp.demo.java23.util.StateBudget<? super A>
+    /// @return             net.jmp.demo.java23.gatherers.DistinctByGatherer<T, A>
+    public static <T, A> DistinctByGatherer<T, A> distinctBy(final Function<T, A> selector,
+                                                             final StateBudget<? super A> budget) {
+        return new DistinctByGatherer<>(selector, budget);
+    }
+
+    /// A distinct-until-changed-by gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The type of key
+    /// @param  selector    java.util.function.Function<T, A>
+    /// @return             net.jmp.demo.java23.gatherers.DistinctUntilChangedGatherer<T, A>
+    public static <T, A> DistinctUntilChangedGatherer<T, A> distinctUntilChangedBy(final Function<T, A> selector) {
+        return new DistinctUntilChangedGatherer<>(selector);
+    }
+
     /// A reduce-by gatherer.
     ///
     /// @param   <T>         The type of input elements to the gathering operation
@@ -64,6 +87,37 @@ public final class GatherersFactory {
         return new ReduceByGatherer<>(selector, reducer);
     }
 
+    /// A reduce-by gatherer whose reductions are held to a state budget.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The potentially mutable state type of the gathering operation
+    /// @param  selector    java.util.function.Function<T, A>
+    /// @param  reducer     java.util.function.BiFunction<T, T, T>
+    /// @param  budget      net.jmp.demo.java23.util.StateBudget<? super T>
+    /// @return             net.jmp.demo.java23.gatherers.ReduceByGatherer<T, A>
+    public static <T, A> ReduceByGatherer<T, A> reduceBy(final Function<T, A> selector,
+                                                         final BiFunction<T, T, T> reducer,
+                                                         final StateBudget<? super T> budget) {
+        return new ReduceByGatherer<>(selector, reducer, budget);
+    }
+
+    /// A reduce-by gatherer whose reductions are held
+    /// to a state budget and spilled with a codec.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The potentially mutable state type of the gathering operation
+    /// @param  selector    java.util.function.Function<T, A>
+    /// @param  reducer     java.util.function.BiFunction<T, T, T>
+    /// @param  budget      net.jmp.demo.java23.util.StateBudget<? super T>
+    /// @param  codec       net.jmp.demo.java23.util.BinaryCodec<T>
+    /// @return             net.jmp.demo.java23.gatherers.ReduceByGatherer<T, A>
+    public static <T, A> ReduceByGatherer<T, A> reduceBy(final Function<T, A> selector,
+                                                         final BiFunction<T, T, T> reducer,
+                                                         final StateBudget<? super T> budget,
+                                                         final BinaryCodec<T> codec) {
+        return new ReduceByGatherer<>(selector, reducer, budget, Objects.requireNonNull(codec));
+    }
+
     /// A max-by gatherer.
     ///
     /// @param  <T>         The type of input elements to the gathering operation
@@ -111,4 +165,618 @@ public final class GatherersFactory {
     public static <T> FindLastGatherer<T> findLast(final Predicate<T> predicate) {
         return new FindLastGatherer<>(predicate);
     }
+
+    /// A find last gatherer that returns the last
+    /// count matching elements in encounter order.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  count       int
+    /// @param  predicate   java.util.function.Predicate<T>
+    /// @return             net.jmp.demo.java23.gatherers.TakeLastGatherer<T>
+    public static <T> TakeLastGatherer<T> findLast(final int count, final Predicate<T> predicate) {
+        return new TakeLastGatherer<>(count, predicate);
+    }
+
+    /// A take last gatherer.
+    ///
+    /// @param  <T>     The type of input elements to the gathering operation
+    /// @param  count   int
+    /// @return         net.jmp.demo.java23.gatherers.TakeLastGatherer<T>
+    public static <T> TakeLastGatherer<T> takeLast(final int count) {
+        return new TakeLastGatherer<>(count, _ -> true);
+    }
+
+    /// A map parallel gatherer for CPU-bound mappers.
+    /// A fork-join pool of the given parallelism is
+    /// created for each evaluation of the stream.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <R>         The type of output elements from the gatherer operation
+    /// @param  parallelism int
+    /// @param  chunkSize   int
+    /// @param  mapper      java.util.function.Function<T, R>
+    /// @return             net.jmp.demo.java23.gatherers.MapParallelGatherer<T, R>
+    public static <T, R> MapParallelGatherer<T, R> mapParallel(final int parallelism,
+                                                               final int chunkSize,
+                                                               final Function<T, R> mapper) {
+        return new MapParallelGatherer<>(parallelism, chunkSize, mapper);
+    }
+
+    /// A map parallel gatherer for CPU-bound
+    /// mappers that runs on a caller-owned pool.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <R>         The type of output elements from the gatherer operation
+    /// @param  pool        java.util.concurrent.ForkJoinPool
+    /// @param  chunkSize   int
+    /// @param  mapper      java.util.function.Function<T, R>
+    /// @return             net.jmp.demo.java23.gatherers.MapParallelGatherer<T, R>
+    public static <T, R> MapParallelGatherer<T, R> mapParallel(final ForkJoinPool pool,
+                                                               final int chunkSize,
+                                                               final Function<T, R> mapper) {
+        return new MapParallelGatherer<>(pool, chunkSize, mapper);
+    }
+
+    /// A batch gatherer that flushes on size or latency,
+    /// whichever limit is reached first. The latency limit
+    /// is only checked when an element arrives, so a partial
+    /// batch waits for the next element or the end of the
+    /// stream however long its deadline has passed.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  maxSize     int
+    /// @param  maxDelay    java.time.Duration
+    /// @return             net.jmp.demo.java23.gatherers.BatchGatherer<T>
+    public static <T> BatchGatherer<T> batch(final int maxSize, final Duration maxDelay) {
+        return new BatchGatherer<>(maxSize, maxDelay);
+    }
+
+    /// A sliding sum gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  window      int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @return             net.jmp.demo.java23.gatherers.SlidingSumGatherer<T>
+    public static <T> SlidingSumGatherer<T> slidingSum(final int window, final ToDoubleFunction<T> selector) {
+        return new SlidingSumGatherer<>(window, selector, false);
+    }
+
+    /// A sliding average gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  window      int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @return             net.jmp.demo.java23.gatherers.SlidingSumGatherer<T>
+    public static <T> SlidingSumGatherer<T> slidingAverage(final int window, final ToDoubleFunction<T> selector) {
+        return new SlidingSumGatherer<>(window, selector, true);
+    }
+
+    /// A sliding max-by gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <C>         A type that extends Comparable; T must extend Comparable
+    /// @param  window      int
+    /// @param  selector    java.util.function.Function<T, C>
+    /// @return             net.jmp.demo.java23.gatherers.SlidingMaxByGatherer<T, C extends Comparable<C>>
+    public static <T, C extends Comparable<C>> SlidingMaxByGatherer<T, C> slidingMaxBy(final int window,
+                                                                                      final Function<T, C> selector) {
+        return new SlidingMaxByGatherer<>(window, selector);
+    }
+
+    /// A sliding min-by gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <C>         A type that extends Comparable; T must extend Comparable
+    /// @param  window      int
+    /// @param  selector    java.util.function.Function<T, C>
+    /// @return             net.jmp.demo.java23.gatherers.SlidingMinByGatherer<T, C extends Comparable<C>>
+    public static <T, C extends Comparable<C>> SlidingMinByGatherer<T, C> slidingMinBy(final int window,
+                                                                                      final Function<T, C> selector) {
+        return new SlidingMinByGatherer<>(window, selector);
+    }
+
+    /// A sliding median gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  window      int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @return             net.jmp.demo.java23.gatherers.SlidingMedianGatherer<T>
+    public static <T> SlidingMedianGatherer<T> slidingMedian(final int window, final ToDoubleFunction<T> selector) {
+        return new SlidingMedianGatherer<>(window, selector);
+    }
+
+    /// A sliding window gatherer that emits read-only views over a recycled
+    /// ring buffer. Each view should be released once it has been consumed;
+    /// a view that is still held is given its own copy of its window.
+    ///
+    /// @param  <T>     The type of input elements to the gathering operation
+    /// @param  window  int
+    /// @return         net.jmp.demo.java23.gatherers.SlidingWindowViewGatherer<T>
+    public static <T> SlidingWindowViewGatherer<T> windowSlidingView(final int window) {
+        return new SlidingWindowViewGatherer<>(window);
+    }
+
+    /// A fixed window gatherer that emits read-only views over a recycled
+    /// array. Each view should be released once it has been consumed so
+    /// that its array can be reused for a later window.
+    ///
+    /// @param  <T>     The type of input elements to the gathering operation
+    /// @param  window  int
+    /// @return         net.jmp.demo.java23.gatherers.FixedWindowViewGatherer<T>
+    public static <T> FixedWindowViewGatherer<T> windowFixedView(final int window) {
+        return new FixedWindowViewGatherer<>(window);
+    }
+
+    /// An event-time tumbling window gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  timestamp   java.util.function.ToLongFunction<T>; epoch milliseconds
+    /// @param  size        java.time.Duration
+    /// @param  lateness    java.time.Duration
+    /// @return             net.jmp.demo.java23.gatherers.TumblingWindowGatherer<T>
+    public static <T> TumblingWindowGatherer<T> tumblingWindows(final ToLongFunction<T> timestamp,
+                                                                final Duration size,
+                                                                final Duration lateness) {
+        return new TumblingWindowGatherer<>(timestamp, size, lateness);
+    }
+
+    /// An event-time session window gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  timestamp   java.util.function.ToLongFunction<T>; epoch milliseconds
+    /// @param  gap         java.time.Duration
+    /// @param  lateness    java.time.Duration
+    /// @return             net.jmp.demo.java23.gatherers.SessionWindowGatherer<T>
+    public static <T> SessionWindowGatherer<T> sessionWindows(final ToLongFunction<T> timestamp,
+                                                              final Duration gap,
+                                                              final Duration lateness) {
+        return new SessionWindowGatherer<>(timestamp, gap, lateness);
+    }
+
+    /// A sequential mutable fold gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The mutable container type of the gathering operation
+    /// @param  supplier    java.util.function.Supplier<A>
+    /// @param  accumulator java.util.function.BiConsumer<A, T>
+    /// @return             net.jmp.demo.java23.gatherers.FoldMutableGatherer<T, A>
+    public static <T, A> FoldMutableGatherer<T, A> foldMutable(final Supplier<A> supplier,
+                                                               final BiConsumer<A, T> accumulator) {
+        return new FoldMutableGatherer<>(supplier, accumulator);
+    }
+
+    /// A mutable fold gatherer that can run in parallel.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The mutable container type of the gathering operation
+    /// @param  supplier    java.util.function.Supplier<A>
+    /// @param  accumulator java.util.function.BiConsumer<A, T>
+    /// @param  combiner    java.util.function.BinaryOperator<A>
+    /// @return             net.jmp.demo.java23.gatherers.FoldMutableGatherer<T, A>
+    public static <T, A> FoldMutableGatherer<T, A> foldMutable(final Supplier<A> supplier,
+                                                               final BiConsumer<A, T> accumulator,
+                                                               final BinaryOperator<A> combiner) {
+        return new FoldMutableGatherer<>(supplier, accumulator, combiner);
+    }
+
+    /// A mutable scan gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The mutable container type of the gathering operation
+    /// @param  <R>         The type of output elements from the gatherer operation
+    /// @param  supplier    java.util.function.Supplier<A>
+    /// @param  accumulator java.util.function.BiConsumer<A, T>
+    /// @param  snapshot    java.util.function.Function<A, R>
+    /// @return             net.jmp.demo.java23.gatherers.ScanMutableGatherer<T, A, R>
+    public static <T, A, R> ScanMutableGatherer<T, A, R> scanMutable(final Supplier<A> supplier,
+                                                                     final BiConsumer<A, T> accumulator,
+                                                                     final Function<A, R> snapshot) {
+        return new ScanMutableGatherer<>(supplier, accumulator, snapshot);
+    }
+
+    /// A prefix scan gatherer for an associative operator
+    /// that computes its prefixes in parallel.
+    ///
+    /// @param  <T>         The type of input and output elements of the gathering operation
+    /// @param  operator    java.util.function.BinaryOperator<T>
+    /// @return             net.jmp.demo.java23.gatherers.ParallelScanGatherer<T>
+    public static <T> ParallelScanGatherer<T> scanParallel(final BinaryOperator<T> operator) {
+        return new ParallelScanGatherer<>(operator);
+    }
+
+    /// A reservoir sampling gatherer with a random seed.
+    ///
+    /// @param  <T>     The type of input and output elements of the gathering operation
+    /// @param  size    int
+    /// @return         net.jmp.demo.java23.gatherers.ReservoirSampleGatherer<T>
+    public static <T> ReservoirSampleGatherer<T> sample(final int size) {
+        return new ReservoirSampleGatherer<>(size, ThreadLocalRandom.current().nextLong());
+    }
+
+    /// A reservoir sampling gatherer with a fixed seed.
+    ///
+    /// @param  <T>     The type of input and output elements of the gathering operation
+    /// @param  size    int
+    /// @param  seed    long
+    /// @return         net.jmp.demo.java23.gatherers.ReservoirSampleGatherer<T>
+    public static <T> ReservoirSampleGatherer<T> sample(final int size, final long seed) {
+        return new ReservoirSampleGatherer<>(size, seed);
+    }
+
+    /// An approximate count distinct-by gatherer
+    /// with a precision of 12, which uses four
+    /// kilobytes of registers.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <K>         The type of key
+    /// @param  selector    java.util.function.Function<T, K>
+    /// @return             net.jmp.demo.java23.gatherers.CountDistinctByGatherer<T, K>
+    public static <T, K> CountDistinctByGatherer<T, K> countDistinctBy(final Function<T, K> selector) {
+        return new CountDistinctByGatherer<>(selector, 12);
+    }
+
+    /// An approximate count distinct-by gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <K>         The type of key
+    /// @param  selector    java.util.function.Function<T, K>
+    /// @param  precision   int; between 4 and 18
+    /// @return             net.jmp.demo.java23.gatherers.CountDistinctByGatherer<T, K>
+    public static <T, K> CountDistinctByGatherer<T, K> countDistinctBy(final Function<T, K> selector, final int precision) {
+        return new CountDistinctByGatherer<>(selector, precision);
+    }
+
+    /// An approximate count distinct-by gatherer that takes
+    /// a 64-bit key hash, for keys whose hash code cannot
+    /// tell more than `2^32` of them apart.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  keyHash     java.util.function.ToLongFunction<T>
+    /// @param  precision   int; between 4 and 18
+    /// @return             net.jmp.demo.java23.gatherers.CountDistinctByGatherer<T, java.lang.Long>
+    public static <T> CountDistinctByGatherer<T, Long> countDistinctByHash(final ToLongFunction<T> keyHash, final int precision) {
+        return new CountDistinctByGatherer<>(keyHash, precision);
+    }
+
+    /// A quantiles-by gatherer that builds a KLL sketch per key.
+    ///
+    /// @param  <T>             The type of input elements to the gathering operation
+    /// @param  <K>             The type of key
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  valueSelector   java.util.function.ToDoubleFunction<T>
+    /// @param  k               int; at least 8
+    /// @return                 net.jmp.demo.java23.gatherers.QuantilesByGatherer<T, K>
+    public static <T, K> QuantilesByGatherer<T, K> quantilesBy(final Function<T, K> keySelector,
+                                                               final ToDoubleFunction<T> valueSelector,
+                                                               final int k) {
+        return new QuantilesByGatherer<>(keySelector, valueSelector, k);
+    }
+
+    /// A heavy hitters gatherer backed by a count-min
+    /// sketch of four rows of 2,048 counters.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <K>         The type of key
+    /// @param  selector    java.util.function.Function<T, K>
+    /// @param  k           int
+    /// @return             net.jmp.demo.java23.gatherers.HeavyHittersGatherer<T, K>
+    public static <T, K> HeavyHittersGatherer<T, K> heavyHitters(final Function<T, K> selector, final int k) {
+        return new HeavyHittersGatherer<>(selector, k, 2_048, 4);
+    }
+
+    /// A reorder-by gatherer for nearly sorted streams.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <C>         A type that extends Comparable
+    /// @param  keySelector java.util.function.Function<T, C>
+    /// @param  maxLateness int
+    /// @return             net.jmp.demo.java23.gatherers.ReorderGatherer<T, C>
+    public static <T, C extends Comparable<C>> ReorderGatherer<T, C> reorderBy(final Function<T, C> keySelector,
+                                                                              final int maxLateness) {
+        return new ReorderGatherer<>(keySelector, maxLateness);
+    }
+
+    /// An external merge sort gatherer that spills
+    /// sorted runs to temporary files.
+    ///
+    /// @param  <T>             The type of input elements to the gathering operation
+    /// @param  <C>             A type that extends Comparable
+    /// @param  selector        java.util.function.Function<T, C>
+    /// @param  memoryBudget    int; the number of elements held in memory
+    /// @param  codec           net.jmp.demo.java23.util.BinaryCodec<T>
+    /// @return                 net.jmp.demo.java23.gatherers.ExternalSortGatherer<T, C>
+    public static <T, C extends Comparable<C>> ExternalSortGatherer<T, C> sortBy(final Function<T, C> selector,
+                                                                                final int memoryBudget,
+                                                                                final BinaryCodec<T> codec) {
+        return new ExternalSortGatherer<>(selector, memoryBudget, codec);
+    }
+
+    /// A hash join gatherer.
+    ///
+    /// @param  <T>             The type of input elements to the gathering operation
+    /// @param  <K>             The type of key
+    /// @param  <S>             The type of side elements
+    /// @param  <R>             The type of output elements from the gatherer operation
+    /// @param  side            java.util.Collection<S>
+    /// @param  sideKeySelector java.util.function.Function<S, K>
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  joiner          java.util.function.BiFunction<T, S, R>
+    /// @param  mode            net.jmp.demo.java23.gatherers.JoinGatherer.Mode
+    /// @param  bloomFilter     boolean
+    /// @return                 net.jmp.demo.java23.gatherers.JoinGatherer<T, K, S, R>
+    public static <T, K, S, R> JoinGatherer<T, K, S, R> join(final Collection<S> side,
+                                                             final Function<S, K> sideKeySelector,
+                                                             final Function<T, K> keySelector,
+                                                             final BiFunction<T, S, R> joiner,
+                                                             final JoinGatherer.Mode mode,
+                                                             final boolean bloomFilter) {
+        return new JoinGatherer<>(side, sideKeySelector, keySelector, joiner, mode, bloomFilter);
+    }
+
+    /// An inner hash join gatherer.
+    ///
+    /// @param  <T>             The type of input elements to the gathering operation
+    /// @param  <K>             The type of key
+    /// @param  <S>             The type of side elements
+    /// @param  <R>             The type of output elements from the gatherer operation
+    /// @param  side            java.util.Collection<S>
+    /// @param  sideKeySelector java.util.function.Function<S, K>
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  joiner          java.util.function.BiFunction<T, S, R>
+    /// @return                 net.jmp.demo.java23.gatherers.JoinGatherer<T, K, S, R>
+    public static <T, K, S, R> JoinGatherer<T, K, S, R> innerJoin(final Collection<S> side,
+                                                                  final Function<S, K> sideKeySelector,
+                                                                  final Function<T, K> keySelector,
+                                                                  final BiFunction<T, S, R> joiner) {
+        return new JoinGatherer<>(side, sideKeySelector, keySelector, joiner, JoinGatherer.Mode.INNER, false);
+    }
+
+    /// A left outer hash join gatherer. Unmatched
+    /// elements are joined with a null side element.
+    ///
+    /// @param  <T>             The type of input elements to the gathering operation
+    /// @param  <K>             The type of key
+    /// @param  <S>             The type of side elements
+    /// @param  <R>             The type of output elements from the gatherer operation
+    /// @param  side            java.util.Collection<S>
+    /// @param  sideKeySelector java.util.function.Function<S, K>
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  joiner          java.util.function.BiFunction<T, S, R>
+    /// @return                 net.jmp.demo.java23.gatherers.JoinGatherer<T, K, S, R>
+    public static <T, K, S, R> JoinGatherer<T, K, S, R> leftJoin(final Collection<S> side,
+                                                                 final Function<S, K> sideKeySelector,
+                                                                 final Function<T, K> keySelector,
+                                                                 final BiFunction<T, S, R> joiner) {
+        return new JoinGatherer<>(side, sideKeySelector, keySelector, joiner, JoinGatherer.Mode.LEFT, false);
+    }
+
+    /// A semi hash join gatherer. The elements
+    /// with a match are passed through unchanged.
+    ///
+    /// @param  <T>             The type of input elements to the gathering operation
+    /// @param  <K>             The type of key
+    /// @param  <S>             The type of side elements
+    /// @param  side            java.util.Collection<S>
+    /// @param  sideKeySelector java.util.function.Function<S, K>
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @return                 net.jmp.demo.java23.gatherers.JoinGatherer<T, K, S, T>
+    public static <T, K, S> JoinGatherer<T, K, S, T> semiJoin(final Collection<S> side,
+                                                              final Function<S, K> sideKeySelector,
+                                                              final Function<T, K> keySelector) {
+        return new JoinGatherer<>(side, sideKeySelector, keySelector, (item, _) -> item, JoinGatherer.Mode.SEMI, false);
+    }
+
+    /// A streaming group-by gatherer that closes groups
+    /// by count or inactivity, without a byte budget.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <K>         The type of key
+    /// @param  keySelector java.util.function.Function<T, K>
+    /// @param  maxCount    int
+    /// @param  inactivity  java.time.Duration; zero for no timeout
+    /// @return             net.jmp.demo.java23.gatherers.StreamingGroupGatherer<T, K>
+    public static <T, K> StreamingGroupGatherer<T, K> streamingGroupBy(final Function<T, K> keySelector,
+                                                                       final int maxCount,
+                                                                       final Duration inactivity) {
+        return new StreamingGroupGatherer<>(keySelector, maxCount, inactivity, _ -> false, Long.MAX_VALUE, _ -> 0L);
+    }
+
+    /// A streaming group-by gatherer.
+    ///
+    /// @param  <T>             The type of input elements to the gathering operation
+    /// @param  <K>             The type of key
+    /// @param  keySelector     java.util.function.Function<T, K>
+    /// @param  maxCount        int
+    /// @param  inactivity      java.time.Duration; zero for no timeout
+    /// @param  endOfKey        java.util.function.Predicate<T>
+    /// @param  byteBudget      long
+    /// @param  sizeEstimator   java.util.function.ToLongFunction<T>
+    /// @return                 net.jmp.demo.java23.gatherers.StreamingGroupGatherer<T, K>
+    public static <T, K> StreamingGroupGatherer<T, K> streamingGroupBy(final Function<T, K> keySelector,
+                                                                       final int maxCount,
+                                                                       final Duration inactivity,
+                                                                       final Predicate<T> endOfKey,
+                                                                       final long byteBudget,
+                                                                       final ToLongFunction<T> sizeEstimator) {
+        return new StreamingGroupGatherer<>(keySelector, maxCount, inactivity, endOfKey, byteBudget, sizeEstimator);
+    }
+
+    /// A token bucket throttle gatherer.
+    ///
+    /// @param  <T>                 The type of input elements to the gathering operation
+    /// @param  permitsPerSecond    double
+    /// @param  burst               int
+    /// @return                     net.jmp.demo.java23.gatherers.ThrottleGatherer<T>
+    public static <T> ThrottleGatherer<T> throttle(final double permitsPerSecond, final int burst) {
+        return new ThrottleGatherer<>(permitsPerSecond, burst);
+    }
+
+    /// A debounce gatherer.
+    ///
+    /// @param  <T>     The type of input elements to the gathering operation
+    /// @param  quiet   java.time.Duration
+    /// @return         net.jmp.demo.java23.gatherers.DebounceGatherer<T>
+    public static <T> DebounceGatherer<T> debounce(final Duration quiet) {
+        return new DebounceGatherer<>(quiet);
+    }
+
+    /// A batch reduce gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <R>         The type of reduction of each batch
+    /// @param  batchSize   int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @param  reduction   net.jmp.demo.java23.gatherers.BatchReduceGatherer.Reduction<R>
+    /// @return             net.jmp.demo.java23.gatherers.BatchReduceGatherer<T, R>
+    public static <T, R> BatchReduceGatherer<T, R> batchReduce(final int batchSize,
+                                                               final ToDoubleFunction<T> selector,
+                                                               final BatchReduceGatherer.Reduction<R> reduction) {
+        return new BatchReduceGatherer<>(batchSize, selector, reduction);
+    }
+
+    /// A batch sum gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  batchSize   int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @return             net.jmp.demo.java23.gatherers.BatchReduceGatherer<T, java.lang.Double>
+    public static <T> BatchReduceGatherer<T, Double> batchSum(final int batchSize, final ToDoubleFunction<T> selector) {
+        return new BatchReduceGatherer<>(batchSize, selector, (kernels, values, length) -> kernels.sum(values, 0, length));
+    }
+
+    /// A batch minimum gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  batchSize   int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @return             net.jmp.demo.java23.gatherers.BatchReduceGatherer<T, java.lang.Double>
+    public static <T> BatchReduceGatherer<T, Double> batchMin(final int batchSize, final ToDoubleFunction<T> selector) {
+        return new BatchReduceGatherer<>(batchSize, selector, (kernels, values, length) -> kernels.min(values, 0, length));
+    }
+
+    /// A batch maximum gatherer.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  batchSize   int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @return             net.jmp.demo.java23.gatherers.BatchReduceGatherer<T, java.lang.Double>
+    public static <T> BatchReduceGatherer<T, Double> batchMax(final int batchSize, final ToDoubleFunction<T> selector) {
+        return new BatchReduceGatherer<>(batchSize, selector, (kernels, values, length) -> kernels.max(values, 0, length));
+    }
+
+    /// A batch count gatherer that emits the number
+    /// of values in each batch above the threshold.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  batchSize   int
+    /// @param  selector    java.util.function.ToDoubleFunction<T>
+    /// @param  threshold   double
+    /// @return             net.jmp.demo.java23.gatherers.BatchReduceGatherer<T, java.lang.Long>
+    public static <T> BatchReduceGatherer<T, Long> batchCountAbove(final int batchSize,
+                                                                   final ToDoubleFunction<T> selector,
+                                                                   final double threshold) {
+        return new BatchReduceGatherer<>(batchSize,
+                                         selector,
+                                         (kernels, values, length) -> (long) kernels.countGreaterThan(values, 0, length, threshold));
+    }
+
+    /// A gatherer pipeline over the elements of a collection
+    /// that chooses sequential, parallel, or concurrent execution.
+    ///
+    /// @param  <T>         The type of element
+    /// @param  collection  java.util.Collection<T>
+    /// @return             net.jmp.demo.java23.util.GathererPipeline<T, T>
+    public static <T> GathererPipeline<T, T> pipeline(final Collection<T> collection) {
+        return GathererPipeline.of(collection);
+    }
+
+    /// A gatherer pipeline over the elements of a stream
+    /// that chooses sequential, parallel, or concurrent execution.
+    ///
+    /// @param  <T>     The type of element
+    /// @param  stream  java.util.stream.Stream<T>
+    /// @return         net.jmp.demo.java23.util.GathererPipeline<T, T>
+    public static <T> GathererPipeline<T, T> pipeline(final Stream<T> stream) {
+        return GathererPipeline.of(stream);
+    }
+
+    /// A diagnostic gatherer that flags and times a step that has
+    /// no combiner. The step is assumed to be evaluated by a parallel
+    /// stream; wrapping a step of a sequential stream flags it falsely.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The potentially mutable state type of the gathering operation
+    /// @param  <R>         The type of results of the gathering operation
+    /// @param  name        java.lang.String
+    /// @param  gatherer    java.util.stream.Gatherer<T, A, R>
+    /// @param  flagHandler java.util.function.Consumer<java.lang.String>
+    /// @return             net.jmp.demo.java23.gatherers.DiagnosticGatherer<T, A, R>
+    public static <T, A, R> DiagnosticGatherer<T, A, R> diagnose(final String name,
+                                                                 final Gatherer<T, A, R> gatherer,
+                                                                 final Consumer<String> flagHandler) {
+        return new DiagnosticGatherer<>(name, gatherer, flagHandler);
+    }
+
+    /// A diagnostic gatherer that times a step and flags
+    /// it if it has no combiner and the stream is parallel.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The potentially mutable state type of the gathering operation
+    /// @param  <R>         The type of results of the gathering operation
+    /// @param  name        java.lang.String
+    /// @param  gatherer    java.util.stream.Gatherer<T, A, R>
+    /// @param  flagHandler java.util.function.Consumer<java.lang.String>
+    /// @param  parallel    boolean
+    /// @return             net.jmp.demo.java23.gatherers.DiagnosticGatherer<T, A, R>
+    public static <T, A, R> DiagnosticGatherer<T, A, R> diagnose(final String name,
+                                                                 final Gatherer<T, A, R> gatherer,
+                                                                 final Consumer<String> flagHandler,
+                                                                 final boolean parallel) {
+        return new DiagnosticGatherer<>(name, gatherer, flagHandler, parallel);
+    }
+
+    /// An instrumented gatherer that records the metrics of its
+    /// stage in the global metrics registry, timing one integrator
+    /// call in every 64.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The potentially mutable state type of the decorated gatherer
+    /// @param  <R>         The type of results of the gathering operation
+    /// @param  stage       java.lang.String
+    /// @param  gatherer    java.util.stream.Gatherer<T, A, R>
+    /// @return             net.jmp.demo.java23.gatherers.InstrumentedGatherer<T, A, R>
+    public static <T, A, R> InstrumentedGatherer<T, A, R> instrument(final String stage, final Gatherer<T, A, R> gatherer) {
+        return new InstrumentedGatherer<>(stage, gatherer, MetricsRegistry.global(), 64);
+    }
+
+    /// An instrumented gatherer that records the metrics
+    /// of its stage in the given metrics registry.
+    ///
+    /// @param  <T>                 The type of input elements to the gathering operation
+    /// @param  <A>                 The potentially mutable state type of the decorated gatherer
+    /// @param  <R>                 The type of results of the gathering operation
+    /// @param  stage               java.lang.String
+    /// @param  gatherer            java.util.stream.Gatherer<T, A, R>
+    /// @param  registry            net.jmp.demo.java23.util.MetricsRegistry
+    /// @param  samplingInterval    int; a power of two
+    /// @return                     net.jmp.demo.java23.gatherers.InstrumentedGatherer<T, A, R>
+    public static <T, A, R> InstrumentedGatherer<T, A, R> instrument(final String stage,
+                                                                     final Gatherer<T, A, R> gatherer,
+                                                                     final MetricsRegistry registry,
+                                                                     final int samplingInterval) {
+        return new InstrumentedGatherer<>(stage, gatherer, registry, samplingInterval);
+    }
+
+    /// A recorded gatherer that commits a flight
+    /// recorder event for each state of its stage.
+    ///
+    /// @param  <T>         The type of input elements to the gathering operation
+    /// @param  <A>         The potentially mutable state type of the decorated gatherer
+    /// @param  <R>         The type of results of the gathering operation
+    /// @param  stage       java.lang.String
+    /// @param  gatherer    java.util.stream.Gatherer<T, A, R>
+    /// @return             net.jmp.demo.java23.gatherers.RecordedGatherer<T, A, R>
+    public static <T, A, R> RecordedGatherer<T, A, R> recorded(final String stage, final Gatherer<T, A, R> gatherer) {
+        return new RecordedGatherer<>(stage, gatherer);
+    }
 }
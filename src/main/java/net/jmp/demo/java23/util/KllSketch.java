@@ -0,0 +1,328 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)KllSketch.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A KLL quantile sketch over double values. Values enter the level-0
+/// compactor; when the sketch holds more values than its capacity the
+/// lowest full compactor is sorted and every other value, starting at a
+/// random offset, is promoted to the next level with twice the weight.
+/// Capacities shrink geometrically by 2/3 towards the lower levels, so
+/// the sketch retains O(k) values whatever the stream length and a rank
+/// error of roughly 1.7 / k. Sketches with the same `k` can be merged,
+/// which makes the sketch suitable as the state of a parallel gatherer.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class KllSketch {
+    /// The smallest capacity of any level.
+    private static final int MIN_CAPACITY = 2;
+
+    /// The capacity shrink factor per level.
+    private static final double SHRINK = 2.0 / 3.0;
+
+    /// The capacity of the top level.
+    private final int k;
+
+    /// The compactors, lowest level first.
+    private final List<Compactor> levels = new ArrayList<>();
+
+    /// The random number generator for compaction offsets.
+    private final SplittableRandom random;
+
+    /// The number of values added.
+    private long count;
+
+    /// The smallest value added.
+    private double min = Double.NaN;
+
+    /// The largest value added.
+    private double max = Double.NaN;
+
+    /// The number of values retained.
+    private int retained;
+
+    /// The constructor.
+    ///
+    /// @param  k   int; at least 8
+    public KllSketch(final int k) {
+        super();
+
+        if (k < 8) {
+            throw new IllegalArgumentException("K must be at least 8: " + k);
+        }
+
+        this.k = k;
+        this.random = new SplittableRandom(k);
+        this.levels.add(new Compactor());
+    }
+
+    /// Add a value. Not-a-number values are ignored.
+    ///
+    /// @param  value   double
+    public void add(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        if (this.count++ == 0) {
+            this.min = value;
+            this.max = value;
+        } else {
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+        }
+
+        this.levels.getFirst().add(value);
+        this.retained++;
+
+        this.compress();
+    }
+
+    /// Merge another sketch into this one.
+    ///
+    /// @param  other   net.jmp.demo.java23.util.KllSketch
+    /// @return         net.jmp.demo.java23.util.KllSketch
+    public KllSketch merge(final KllSketch other) {
+        if (other.k != this.k) {
+            throw new IllegalArgumentException("K values differ: " + this.k + " and " + other.k);
+        }
+
+        if (other.count == 0) {
+            return this;
+        }
+
+        if (this.count == 0) {
+            this.min = other.min;
+            this.max = other.max;
+        } else {
+            this.min = Math.min(this.min, other.min);
+            this.max = Math.max(this.max, other.max);
+        }
+
+        while (this.levels.size() < other.levels.size()) {
+            this.levels.add(new Compactor());
+        }
+
+        for (int h = 0; h < other.levels.size(); h++) {
+            final Compactor source = other.levels.get(h);
+
+            for (int i = 0; i < source.size; i++) {
+                this.levels.get(h).add(source.values[i]);
+            }
+        }
+
+        this.count += other.count;
+        this.retained += other.retained;
+
+        this.compress();
+
+        return this;
+    }
+
+    /// Return the estimated value at the given normalized rank.
+    ///
+    /// @param  rank    double; between 0.0 and 1.0
+    /// @return         double; not-a-number if the sketch is empty
+    public double quantile(final double rank) {
+        if (rank < 0.0 || rank > 1.0) {
+            throw new IllegalArgumentException("Rank must be between 0 and 1: " + rank);
+        }
+
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+
+        if (rank == 0.0) {
+            return this.min;
+        }
+
+        if (rank == 1.0) {
+            return this.max;
+        }
+
+        final double[] values = new double[this.retained];
+        final long[] weights = new long[this.retained];
+
+        int n = 0;
+
+        for (int h = 0; h < this.levels.size(); h++) {
+            final Compactor level = this.levels.get(h);
+
+            for (int i = 0; i < level.size; i++) {
+                values[n] = level.values[i];
+                weights[n] = 1L << h;
+                n++;
+            }
+        }
+
+        final Integer[] order = new Integer[n];
+
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingDouble(i -> values[i]));
+
+        long total = 0;
+
+        for (final long weight : weights) {
+            total += weight;
+        }
+
+        final double target = rank * total;
+
+        long cumulative = 0;
+
+        for (final Integer i : order) {
+            cumulative += weights[i];
+
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+
+        return this.max;
+    }
+
+    /// Return the number of values added.
+    ///
+    /// @return long
+    public long count() {
+        return this.count;
+    }
+
+    /// Return the smallest value added.
+    ///
+    /// @return double; not-a-number if the sketch is empty
+    public double min() {
+        return this.min;
+    }
+
+    /// Return the largest value added.
+    ///
+    /// @return double; not-a-number if the sketch is empty
+    public double max() {
+        return this.max;
+    }
+
+    /// Return the number of values retained by the sketch.
+    ///
+    /// @return int
+    public int retained() {
+        return this.retained;
+    }
+
+    /// Compact levels until the retained values fit the total capacity.
+    private void compress() {
+        while (this.retained > this.totalCapacity()) {
+            for (int h = 0; h < this.levels.size(); h++) {
+                if (this.levels.get(h).size >= this.capacity(h)) {
+                    if (h + 1 == this.levels.size()) {
+                        this.levels.add(new Compactor());
+                    }
+
+                    this.retained -= this.levels.get(h).compact(this.levels.get(h + 1), this.random.nextInt(2));
+
+                    break;
+                }
+            }
+        }
+    }
+
+    /// Return the capacity of the given level.
+    ///
+    /// @param  level   int
+    /// @return         int
+    private int capacity(final int level) {
+        final int depth = this.levels.size() - 1 - level;
+
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(this.k * Math.pow(SHRINK, depth)));
+    }
+
+    /// Return the sum of the capacities of all levels.
+    ///
+    /// @return int
+    private int totalCapacity() {
+        int total = 0;
+
+        for (int h = 0; h < this.levels.size(); h++) {
+            total += this.capacity(h);
+        }
+
+        return total;
+    }
+
+    /// A compactor holding the values of one level.
+    private static final class Compactor {
+        /// The values.
+        private double[] values = new double[MIN_CAPACITY];
+
+        /// The number of values.
+        private int size;
+
+        /// The default constructor.
+        private Compactor() {
+            super();
+        }
+
+        /// Add a value.
+        ///
+        /// @param  value   double
+        private void add(final double value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+
+            this.values[this.size++] = value;
+        }
+
+        /// Sort the values and promote every other one to the next
+        /// level. With an odd number of values the largest one stays.
+        ///
+        /// @param  next    net.jmp.demo.java23.util.KllSketch.Compactor
+        /// @param  offset  int; 0 or 1
+        /// @return         int; the number of values no longer retained
+        private int compact(final Compactor next, final int offset) {
+            final int pairs = this.size / 2;
+
+            Arrays.sort(this.values, 0, this.size);
+
+            for (int i = 0; i < pairs; i++) {
+                next.add(this.values[2 * i + offset]);
+            }
+
+            final boolean odd = (this.size & 1) == 1;
+
+            if (odd) {
+                this.values[0] = this.values[this.size - 1];
+            }
+
+            this.size = odd ? 1 : 0;
+
+            return pairs;
+        }
+    }
+}
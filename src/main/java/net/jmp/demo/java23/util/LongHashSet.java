@@ -0,0 +1,141 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)LongHashSet.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A set of long values using open addressing with linear probing.
+/// Values are stored in a plain `long[]`, so adding one allocates
+/// nothing until the table grows. Zero marks an empty slot and is
+/// tracked separately. It is used by the primitive distinct adapters.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class LongHashSet {
+    /// The initial table capacity.
+    private static final int INITIAL_CAPACITY = 16;
+
+    /// The slots; zero is empty.
+    private long[] table = new long[INITIAL_CAPACITY];
+
+    /// The number of non-zero values.
+    private int size;
+
+    /// True if zero has been added.
+    private boolean containsZero;
+
+    /// The default constructor.
+    public LongHashSet() {
+        super();
+    }
+
+    /// Add a value.
+    ///
+    /// @param  value   long
+    /// @return         boolean; true if the value was not already present
+    public boolean add(final long value) {
+        if (value == 0) {
+            final boolean added = !this.containsZero;
+
+            this.containsZero = true;
+
+            return added;
+        }
+
+        final int mask = this.table.length - 1;
+
+        int index = (int) HyperLogLog.hash(value) & mask;
+
+        while (this.table[index] != 0) {
+            if (this.table[index] == value) {
+                return false;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        this.table[index] = value;
+
+        if (++this.size * 2 > this.table.length) {
+            this.grow();
+        }
+
+        return true;
+    }
+
+    /// Return true if the value is present.
+    ///
+    /// @param  value   long
+    /// @return         boolean
+    public boolean contains(final long value) {
+        if (value == 0) {
+            return this.containsZero;
+        }
+
+        final int mask = this.table.length - 1;
+
+        int index = (int) HyperLogLog.hash(value) & mask;
+
+        while (this.table[index] != 0) {
+            if (this.table[index] == value) {
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /// Return the number of values.
+    ///
+    /// @return int
+    public int size() {
+        return this.size + (this.containsZero ? 1 : 0);
+    }
+
+    /// Double the table and reinsert the values.
+    private void grow() {
+        final long[] old = this.table;
+
+        this.table = new long[old.length * 2];
+
+        final int mask = this.table.length - 1;
+
+        for (final long value : old) {
+            if (value != 0) {
+                int index = (int) HyperLogLog.hash(value) & mask;
+
+                while (this.table[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+
+                this.table[index] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)MetricsRegistry.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// An in-process registry of named metrics. Counters, timers, and
+/// gauges are created on first use and shared by name afterwards.
+/// Updates use `LongAdder` and atomic fields so that recording from
+/// many threads does not contend on a lock. The snapshot flattens
+/// the metrics into sorted names with numeric values, for example
+/// `stage.in` for a counter and `stage.integrator.count`,
+/// `stage.integrator.totalNanos`, and `stage.integrator.maxNanos`
+/// for a timer.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class MetricsRegistry {
+    /// The shared registry.
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    /// The counters by name.
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /// The timers by name.
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /// The gauges by name.
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    /// The default constructor.
+    public MetricsRegistry() {
+        super();
+    }
+
+    /// Return the shared registry.
+    ///
+    /// @return net.jmp.demo.java23.util.MetricsRegistry
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /// Return the counter with the given name.
+    ///
+    /// @param  name    java.lang.String
+    /// @return         net.jmp.demo.java23.util.MetricsRegistry.Counter
+    public Counter counter(final String name) {
+        return this.counters.computeIfAbsent(Objects.requireNonNull(name), _ -> new Counter());
+    }
+
+    /// Return the timer with the given name.
+    ///
+    /// @param  name    java.lang.String
+    /// @return         net.jmp.demo.java23.util.MetricsRegistry.Timer
+    public Timer timer(final String name) {
+        return this.timers.computeIfAbsent(Objects.requireNonNull(name), _ -> new Timer());
+    }
+
+    /// Return the gauge with the given name.
+    ///
+    /// @param  name    java.lang.String
+    /// @return         net.jmp.demo.java23.util.MetricsRegistry.Gauge
+    public Gauge gauge(final String name) {
+        return this.gauges.computeIfAbsent(Objects.requireNonNull(name), _ -> new Gauge());
+    }
+
+    /// Return a snapshot of all the metrics.
+    ///
+    /// @return java.util.SortedMap<java.lang.String, java.lang.Long>
+    public SortedMap<String, Long> snapshot() {
+        final SortedMap<String, Long> snapshot = new TreeMap<>();
+
+        this.counters.forEach((name, counter) -> snapshot.put(name, counter.count()));
+
+        this.timers.forEach((name, timer) -> {
+            snapshot.put(name + ".count", timer.count());
+            snapshot.put(name + ".totalNanos", timer.totalNanos());
+            snapshot.put(name + ".maxNanos", timer.maxNanos());
+        });
+
+        this.gauges.forEach((name, gauge) -> {
+            snapshot.put(name, gauge.value());
+            snapshot.put(name + ".max", gauge.max());
+        });
+
+        return Collections.unmodifiableSortedMap(snapshot);
+    }
+
+    /// Remove all the metrics.
+    public void clear() {
+        this.counters.clear();
+        this.timers.clear();
+        this.gauges.clear();
+    }
+
+    /// A monotonically increasing count.
+    public static final class Counter {
+        /// The count.
+        private final LongAdder count = new LongAdder();
+
+        /// The default constructor.
+        private Counter() {
+            super();
+        }
+
+        /// Add one.
+        public void increment() {
+            this.count.increment();
+        }
+
+        /// Add a number.
+        ///
+        /// @param  delta   long
+        public void add(final long delta) {
+            this.count.add(delta);
+        }
+
+        /// Return the count.
+        ///
+        /// @return long
+        public long count() {
+            return this.count.sum();
+        }
+    }
+
+    /// A recorder of durations.
+    public static final class Timer {
+        /// The number of recorded durations.
+        private final LongAdder count = new LongAdder();
+
+        /// The total of the recorded durations in nanoseconds.
+        private final LongAdder totalNanos = new LongAdder();
+
+        /// The longest recorded duration in nanoseconds.
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        /// The default constructor.
+        private Timer() {
+            super();
+        }
+
+        /// Record a duration.
+        ///
+        /// @param  nanos   long
+        public void record(final long nanos) {
+            this.record(1, nanos, nanos);
+        }
+
+        /// Record a number of durations at once.
+        ///
+        /// @param  count       long
+        /// @param  totalNanos  long
+        /// @param  maxNanos    long
+        public void record(final long count, final long totalNanos, final long maxNanos) {
+            this.count.add(count);
+            this.totalNanos.add(totalNanos);
+            this.maxNanos.accumulate(maxNanos);
+        }
+
+        /// Return the number of recorded durations.
+        ///
+        /// @return long
+        public long count() {
+            return this.count.sum();
+        }
+
+        /// Return the total of the recorded durations in nanoseconds.
+        ///
+        /// @return long
+        public long totalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        /// Return the longest recorded duration in nanoseconds.
+        ///
+        /// @return long
+        public long maxNanos() {
+            return this.maxNanos.get();
+        }
+    }
+
+    /// The latest value of a quantity and its maximum.
+    public static final class Gauge {
+        /// The latest value.
+        private final AtomicLong value = new AtomicLong();
+
+        /// The maximum value.
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        /// The default constructor.
+        private Gauge() {
+            super();
+        }
+
+        /// Set the value.
+        ///
+        /// @param  value   long
+        public void set(final long value) {
+            this.value.set(value);
+            this.max.accumulate(value);
+        }
+
+        /// Return the latest value.
+        ///
+        /// @return long
+        public long value() {
+            return this.value.get();
+        }
+
+        /// Return the maximum value.
+        ///
+        /// @return long
+        public long max() {
+            return this.max.get();
+        }
+    }
+}
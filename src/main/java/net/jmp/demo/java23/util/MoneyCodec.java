@@ -0,0 +1,76 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)MoneyCodec.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.records.Money;
+
+/// A binary codec for money. The amount is written as
+/// its scale and the bytes of its unscaled value and the
+/// currency as its three-letter code.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class MoneyCodec implements BinaryCodec<Money> {
+    /// The default constructor.
+    public MoneyCodec() {
+        super();
+    }
+
+    /// Write money.
+    ///
+    /// @param  output  java.io.DataOutput
+    /// @param  value   net.jmp.demo.java23.records.Money
+    /// @throws         java.io.IOException When the money cannot be written
+    @Override
+    public void write(final DataOutput output, final Money value) throws IOException {
+        final byte[] unscaled = value.amount().unscaledValue().toByteArray();
+
+        output.writeInt(value.amount().scale());
+        output.writeShort(unscaled.length);
+        output.write(unscaled);
+        output.writeUTF(value.currency().getCurrencyCode());
+    }
+
+    /// Read money.
+    ///
+    /// @param  input   java.io.DataInput
+    /// @return         net.jmp.demo.java23.records.Money
+    /// @throws         java.io.IOException When the money cannot be read
+    @Override
+    public Money read(final DataInput input) throws IOException {
+        final int scale = input.readInt();
+        final byte[] unscaled = new byte[input.readUnsignedShort()];
+
+        input.readFully(unscaled);
+
+        final BigDecimal amount = new BigDecimal(new BigInteger(unscaled), scale);
+
+        return new Money(amount, Currency.getInstance(input.readUTF()));
+    }
+}
@@ -0,0 +1,103 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)NumericKernels.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// The numeric kernels behind the batch and window aggregations:
+/// sums, minimums, maximums, and threshold counts over a range of
+/// a primitive array. The minimum of an empty range is positive
+/// infinity or `Long.MAX_VALUE` and the maximum is negative infinity
+/// or `Long.MIN_VALUE`, the identities of the operations.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public interface NumericKernels {
+    /// Return the sum of the values from index `from` inclusive
+    /// to index `to` exclusive.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    double sum(double[] values, int from, int to);
+
+    /// Return the minimum of the values from index `from` inclusive
+    /// to index `to` exclusive.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    double min(double[] values, int from, int to);
+
+    /// Return the maximum of the values from index `from` inclusive
+    /// to index `to` exclusive.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    double max(double[] values, int from, int to);
+
+    /// Return the number of values from index `from` inclusive
+    /// to index `to` exclusive that are greater than the threshold.
+    ///
+    /// @param  values      double[]
+    /// @param  from        int
+    /// @param  to          int
+    /// @param  threshold   double
+    /// @return             int
+    int countGreaterThan(double[] values, int from, int to, double threshold);
+
+    /// Return the sum of the values from index `from` inclusive
+    /// to index `to` exclusive. Overflow wraps silently.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    long sum(long[] values, int from, int to);
+
+    /// Return the minimum of the values from index `from` inclusive
+    /// to index `to` exclusive.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    long min(long[] values, int from, int to);
+
+    /// Return the maximum of the values from index `from` inclusive
+    /// to index `to` exclusive.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    long max(long[] values, int from, int to);
+}
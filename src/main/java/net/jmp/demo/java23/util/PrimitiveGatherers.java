@@ -0,0 +1,842 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)PrimitiveGatherers.java   0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// Primitive stream adapters for the scan, distinct and window
+/// gatherers. `gather` is only defined on `Stream<T>`, so running
+/// those gatherers over numbers boxes every value. These adapters
+/// wrap the spliterator of an `IntStream`, `LongStream` or
+/// `DoubleStream` instead and keep their state in primitives:
+/// a scan result, a `LongHashSet` of the values seen, the previous
+/// value, or a primitive array per window. Minimum and maximum
+/// need no adapter as the primitive streams already provide them.
+///
+/// The adapted streams are sequential and close the source
+/// stream when they are closed.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class PrimitiveGatherers {
+    /// The default constructor.
+    private PrimitiveGatherers() {
+        super();
+    }
+
+    /// Return the running results of an associative operator
+    /// over an IntStream: the first value, then the operator
+    /// applied to the previous result and each next value.
+    ///
+    /// @param  stream      java.util.stream.IntStream
+    /// @param  operator    java.util.function.IntBinaryOperator
+    /// @return             java.util.stream.IntStream
+    public static IntStream scan(final IntStream stream, final IntBinaryOperator operator) {
+        Objects.requireNonNull(operator);
+
+        final Spliterator.OfInt source = stream.spliterator();
+
+        return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(source.estimateSize(), source.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED)) {
+            /// True once the first value has been seen.
+            private boolean started;
+
+            /// The running result.
+            private int result;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.IntConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final IntConsumer action) {
+                return source.tryAdvance((int value) -> this.accept(value, action));
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.IntConsumer
+            @Override
+            public void forEachRemaining(final IntConsumer action) {
+                source.forEachRemaining((int value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   int
+            /// @param  action  java.util.function.IntConsumer
+            private void accept(final int value, final IntConsumer action) {
+                this.result = this.started ? operator.applyAsInt(this.result, value) : value;
+                this.started = true;
+
+                action.accept(this.result);
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the distinct values of an IntStream in encounter
+    /// order. Unlike `IntStream.distinct()`, which boxes every
+    /// value, the values seen are kept in a primitive hash set.
+    ///
+    /// @param  stream  java.util.stream.IntStream
+    /// @return         java.util.stream.IntStream
+    public static IntStream distinct(final IntStream stream) {
+        final Spliterator.OfInt source = stream.spliterator();
+
+        return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(source.estimateSize(), (source.characteristics() & Spliterator.ORDERED) | Spliterator.DISTINCT) {
+            /// The values seen.
+            private final LongHashSet seen = new LongHashSet();
+
+            /// True when the last value read was emitted.
+            private boolean emitted;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.IntConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final IntConsumer action) {
+                this.emitted = false;
+
+                while (!this.emitted && source.tryAdvance((int value) -> this.accept(value, action))) {
+                    // Read until a new value is emitted or the source is exhausted
+                }
+
+                return this.emitted;
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.IntConsumer
+            @Override
+            public void forEachRemaining(final IntConsumer action) {
+                source.forEachRemaining((int value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   int
+            /// @param  action  java.util.function.IntConsumer
+            private void accept(final int value, final IntConsumer action) {
+                if (this.seen.add(value)) {
+                    this.emitted = true;
+
+                    action.accept(value);
+                }
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the values of an IntStream without the values
+    /// equal to the one just before them. Only the previous
+    /// value is kept.
+    ///
+    /// @param  stream  java.util.stream.IntStream
+    /// @return         java.util.stream.IntStream
+    public static IntStream distinctUntilChanged(final IntStream stream) {
+        final Spliterator.OfInt source = stream.spliterator();
+
+        return StreamSupport.intStream(new Spliterators.AbstractIntSpliterator(source.estimateSize(), source.characteristics() & Spliterator.ORDERED) {
+            /// True once the first value has been seen.
+            private boolean started;
+
+            /// The previous value.
+            private int previous;
+
+            /// True when the last value read was emitted.
+            private boolean emitted;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.IntConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final IntConsumer action) {
+                this.emitted = false;
+
+                while (!this.emitted && source.tryAdvance((int value) -> this.accept(value, action))) {
+                    // Read until a value is emitted or the source is exhausted
+                }
+
+                return this.emitted;
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.IntConsumer
+            @Override
+            public void forEachRemaining(final IntConsumer action) {
+                source.forEachRemaining((int value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   int
+            /// @param  action  java.util.function.IntConsumer
+            private void accept(final int value, final IntConsumer action) {
+                if (!this.started || !(value == this.previous)) {
+                    this.started = true;
+                    this.previous = value;
+                    this.emitted = true;
+
+                    action.accept(value);
+                }
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the consecutive, non-overlapping windows of an
+    /// IntStream as arrays. The last window may be shorter.
+    ///
+    /// @param  stream  java.util.stream.IntStream
+    /// @param  size    int
+    /// @return         java.util.stream.Stream<int[]>
+    public static Stream<int[]> windowFixed(final IntStream stream, final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+
+        final Spliterator.OfInt source = stream.spliterator();
+
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<int[]>(Long.MAX_VALUE, (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL) {
+            /// The window being filled.
+            private int[] window = new int[size];
+
+            /// The number of values in the window.
+            private int count;
+
+            /// Emit the next window, if any.
+            ///
+            /// @param  action  java.util.function.Consumer<? super int[]>
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final Consumer<? super int[]> action) {
+                while (this.count < size && source.tryAdvance((int value) -> this.window[this.count++] = value)) {
+                    // Fill the window
+                }
+
+                if (this.count == 0) {
+                    return false;
+                }
+
+                action.accept(this.count == size ? this.window : Arrays.copyOf(this.window, this.count));
+
+                this.window = new int[size];
+                this.count = 0;
+
+                return true;
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the overlapping windows of an IntStream, each one
+    /// value further along, as arrays. A stream shorter than the
+    /// window yields a single shorter window.
+    ///
+    /// @param  stream  java.util.stream.IntStream
+    /// @param  size    int
+    /// @return         java.util.stream.Stream<int[]>
+    public static Stream<int[]> windowSliding(final IntStream stream, final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+
+        final Spliterator.OfInt source = stream.spliterator();
+
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<int[]>(Long.MAX_VALUE, (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL) {
+            /// The last window emitted or null before the first.
+            private int[] window;
+
+            /// The next value read.
+            private int next;
+
+            /// Emit the next window, if any.
+            ///
+            /// @param  action  java.util.function.Consumer<? super int[]>
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final Consumer<? super int[]> action) {
+                if (this.window == null) {
+                    final int[] first = new int[size];
+                    final int[] count = new int[1];
+
+                    while (count[0] < size && source.tryAdvance((int value) -> first[count[0]++] = value)) {
+                        // Fill the first window
+                    }
+
+                    if (count[0] == 0) {
+                        return false;
+                    }
+
+                    this.window = count[0] == size ? first : Arrays.copyOf(first, count[0]);
+                } else {
+                    if (this.window.length < size || !source.tryAdvance((int value) -> this.next = value)) {
+                        return false;
+                    }
+
+                    final int[] slid = new int[size];
+
+                    System.arraycopy(this.window, 1, slid, 0, size - 1);
+
+                    slid[size - 1] = this.next;
+                    this.window = slid;
+                }
+
+                action.accept(this.window);
+
+                return true;
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the running results of an associative operator
+    /// over a LongStream: the first value, then the operator
+    /// applied to the previous result and each next value.
+    ///
+    /// @param  stream      java.util.stream.LongStream
+    /// @param  operator    java.util.function.LongBinaryOperator
+    /// @return             java.util.stream.LongStream
+    public static LongStream scan(final LongStream stream, final LongBinaryOperator operator) {
+        Objects.requireNonNull(operator);
+
+        final Spliterator.OfLong source = stream.spliterator();
+
+        return StreamSupport.longStream(new Spliterators.AbstractLongSpliterator(source.estimateSize(), source.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED)) {
+            /// True once the first value has been seen.
+            private boolean started;
+
+            /// The running result.
+            private long result;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.LongConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final LongConsumer action) {
+                return source.tryAdvance((long value) -> this.accept(value, action));
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.LongConsumer
+            @Override
+            public void forEachRemaining(final LongConsumer action) {
+                source.forEachRemaining((long value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   long
+            /// @param  action  java.util.function.LongConsumer
+            private void accept(final long value, final LongConsumer action) {
+                this.result = this.started ? operator.applyAsLong(this.result, value) : value;
+                this.started = true;
+
+                action.accept(this.result);
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the distinct values of a LongStream in encounter
+    /// order. Unlike `LongStream.distinct()`, which boxes every
+    /// value, the values seen are kept in a primitive hash set.
+    ///
+    /// @param  stream  java.util.stream.LongStream
+    /// @return         java.util.stream.LongStream
+    public static LongStream distinct(final LongStream stream) {
+        final Spliterator.OfLong source = stream.spliterator();
+
+        return StreamSupport.longStream(new Spliterators.AbstractLongSpliterator(source.estimateSize(), (source.characteristics() & Spliterator.ORDERED) | Spliterator.DISTINCT) {
+            /// The values seen.
+            private final LongHashSet seen = new LongHashSet();
+
+            /// True when the last value read was emitted.
+            private boolean emitted;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.LongConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final LongConsumer action) {
+                this.emitted = false;
+
+                while (!this.emitted && source.tryAdvance((long value) -> this.accept(value, action))) {
+                    // Read until a new value is emitted or the source is exhausted
+                }
+
+                return this.emitted;
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.LongConsumer
+            @Override
+            public void forEachRemaining(final LongConsumer action) {
+                source.forEachRemaining((long value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   long
+            /// @param  action  java.util.function.LongConsumer
+            private void accept(final long value, final LongConsumer action) {
+                if (this.seen.add(value)) {
+                    this.emitted = true;
+
+                    action.accept(value);
+                }
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the values of a LongStream without the values
+    /// equal to the one just before them. Only the previous
+    /// value is kept.
+    ///
+    /// @param  stream  java.util.stream.LongStream
+    /// @return         java.util.stream.LongStream
+    public static LongStream distinctUntilChanged(final LongStream stream) {
+        final Spliterator.OfLong source = stream.spliterator();
+
+        return StreamSupport.longStream(new Spliterators.AbstractLongSpliterator(source.estimateSize(), source.characteristics() & Spliterator.ORDERED) {
+            /// True once the first value has been seen.
+            private boolean started;
+
+            /// The previous value.
+            private long previous;
+
+            /// True when the last value read was emitted.
+            private boolean emitted;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.LongConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final LongConsumer action) {
+                this.emitted = false;
+
+                while (!this.emitted && source.tryAdvance((long value) -> this.accept(value, action))) {
+                    // Read until a value is emitted or the source is exhausted
+                }
+
+                return this.emitted;
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.LongConsumer
+            @Override
+            public void forEachRemaining(final LongConsumer action) {
+                source.forEachRemaining((long value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   long
+            /// @param  action  java.util.function.LongConsumer
+            private void accept(final long value, final LongConsumer action) {
+                if (!this.started || !(value == this.previous)) {
+                    this.started = true;
+                    this.previous = value;
+                    this.emitted = true;
+
+                    action.accept(value);
+                }
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the consecutive, non-overlapping windows of a
+    /// LongStream as arrays. The last window may be shorter.
+    ///
+    /// @param  stream  java.util.stream.LongStream
+    /// @param  size    int
+    /// @return         java.util.stream.Stream<long[]>
+    public static Stream<long[]> windowFixed(final LongStream stream, final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+
+        final Spliterator.OfLong source = stream.spliterator();
+
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<long[]>(Long.MAX_VALUE, (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL) {
+            /// The window being filled.
+            private long[] window = new long[size];
+
+            /// The number of values in the window.
+            private int count;
+
+            /// Emit the next window, if any.
+            ///
+            /// @param  action  java.util.function.Consumer<? super long[]>
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final Consumer<? super long[]> action) {
+                while (this.count < size && source.tryAdvance((long value) -> this.window[this.count++] = value)) {
+                    // Fill the window
+                }
+
+                if (this.count == 0) {
+                    return false;
+                }
+
+                action.accept(this.count == size ? this.window : Arrays.copyOf(this.window, this.count));
+
+                this.window = new long[size];
+                this.count = 0;
+
+                return true;
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the overlapping windows of a LongStream, each one
+    /// value further along, as arrays. A stream shorter than the
+    /// window yields a single shorter window.
+    ///
+    /// @param  stream  java.util.stream.LongStream
+    /// @param  size    int
+    /// @return         java.util.stream.Stream<long[]>
+    public static Stream<long[]> windowSliding(final LongStream stream, final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+
+        final Spliterator.OfLong source = stream.spliterator();
+
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<long[]>(Long.MAX_VALUE, (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL) {
+            /// The last window emitted or null before the first.
+            private long[] window;
+
+            /// The next value read.
+            private long next;
+
+            /// Emit the next window, if any.
+            ///
+            /// @param  action  java.util.function.Consumer<? super long[]>
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final Consumer<? super long[]> action) {
+                if (this.window == null) {
+                    final long[] first = new long[size];
+                    final int[] count = new int[1];
+
+                    while (count[0] < size && source.tryAdvance((long value) -> first[count[0]++] = value)) {
+                        // Fill the first window
+                    }
+
+                    if (count[0] == 0) {
+                        return false;
+                    }
+
+                    this.window = count[0] == size ? first : Arrays.copyOf(first, count[0]);
+                } else {
+                    if (this.window.length < size || !source.tryAdvance((long value) -> this.next = value)) {
+                        return false;
+                    }
+
+                    final long[] slid = new long[size];
+
+                    System.arraycopy(this.window, 1, slid, 0, size - 1);
+
+                    slid[size - 1] = this.next;
+                    this.window = slid;
+                }
+
+                action.accept(this.window);
+
+                return true;
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the running results of an associative operator
+    /// over a DoubleStream: the first value, then the operator
+    /// applied to the previous result and each next value.
+    ///
+    /// @param  stream      java.util.stream.DoubleStream
+    /// @param  operator    java.util.function.DoubleBinaryOperator
+    /// @return             java.util.stream.DoubleStream
+    public static DoubleStream scan(final DoubleStream stream, final DoubleBinaryOperator operator) {
+        Objects.requireNonNull(operator);
+
+        final Spliterator.OfDouble source = stream.spliterator();
+
+        return StreamSupport.doubleStream(new Spliterators.AbstractDoubleSpliterator(source.estimateSize(), source.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED)) {
+            /// True once the first value has been seen.
+            private boolean started;
+
+            /// The running result.
+            private double result;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.DoubleConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final DoubleConsumer action) {
+                return source.tryAdvance((double value) -> this.accept(value, action));
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.DoubleConsumer
+            @Override
+            public void forEachRemaining(final DoubleConsumer action) {
+                source.forEachRemaining((double value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   double
+            /// @param  action  java.util.function.DoubleConsumer
+            private void accept(final double value, final DoubleConsumer action) {
+                this.result = this.started ? operator.applyAsDouble(this.result, value) : value;
+                this.started = true;
+
+                action.accept(this.result);
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the distinct values of a DoubleStream in encounter
+    /// order. Unlike `DoubleStream.distinct()`, which boxes every
+    /// value, the values seen are kept in a primitive hash set.
+    ///
+    /// @param  stream  java.util.stream.DoubleStream
+    /// @return         java.util.stream.DoubleStream
+    public static DoubleStream distinct(final DoubleStream stream) {
+        final Spliterator.OfDouble source = stream.spliterator();
+
+        return StreamSupport.doubleStream(new Spliterators.AbstractDoubleSpliterator(source.estimateSize(), (source.characteristics() & Spliterator.ORDERED) | Spliterator.DISTINCT) {
+            /// The values seen.
+            private final LongHashSet seen = new LongHashSet();
+
+            /// True when the last value read was emitted.
+            private boolean emitted;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.DoubleConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final DoubleConsumer action) {
+                this.emitted = false;
+
+                while (!this.emitted && source.tryAdvance((double value) -> this.accept(value, action))) {
+                    // Read until a new value is emitted or the source is exhausted
+                }
+
+                return this.emitted;
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.DoubleConsumer
+            @Override
+            public void forEachRemaining(final DoubleConsumer action) {
+                source.forEachRemaining((double value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   double
+            /// @param  action  java.util.function.DoubleConsumer
+            private void accept(final double value, final DoubleConsumer action) {
+                if (this.seen.add(Double.doubleToLongBits(value))) {
+                    this.emitted = true;
+
+                    action.accept(value);
+                }
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the values of a DoubleStream without the values
+    /// equal to the one just before them. Only the previous
+    /// value is kept.
+    ///
+    /// @param  stream  java.util.stream.DoubleStream
+    /// @return         java.util.stream.DoubleStream
+    public static DoubleStream distinctUntilChanged(final DoubleStream stream) {
+        final Spliterator.OfDouble source = stream.spliterator();
+
+        return StreamSupport.doubleStream(new Spliterators.AbstractDoubleSpliterator(source.estimateSize(), source.characteristics() & Spliterator.ORDERED) {
+            /// True once the first value has been seen.
+            private boolean started;
+
+            /// The previous value.
+            private double previous;
+
+            /// True when the last value read was emitted.
+            private boolean emitted;
+
+            /// Emit the next result, if any.
+            ///
+            /// @param  action  java.util.function.DoubleConsumer
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final DoubleConsumer action) {
+                this.emitted = false;
+
+                while (!this.emitted && source.tryAdvance((double value) -> this.accept(value, action))) {
+                    // Read until a value is emitted or the source is exhausted
+                }
+
+                return this.emitted;
+            }
+
+            /// Emit the remaining results in bulk.
+            ///
+            /// @param  action  java.util.function.DoubleConsumer
+            @Override
+            public void forEachRemaining(final DoubleConsumer action) {
+                source.forEachRemaining((double value) -> this.accept(value, action));
+            }
+
+            /// Process one value of the source.
+            ///
+            /// @param  value   double
+            /// @param  action  java.util.function.DoubleConsumer
+            private void accept(final double value, final DoubleConsumer action) {
+                if (!this.started || !(Double.compare(value, this.previous) == 0)) {
+                    this.started = true;
+                    this.previous = value;
+                    this.emitted = true;
+
+                    action.accept(value);
+                }
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the consecutive, non-overlapping windows of a
+    /// DoubleStream as arrays. The last window may be shorter.
+    ///
+    /// @param  stream  java.util.stream.DoubleStream
+    /// @param  size    int
+    /// @return         java.util.stream.Stream<double[]>
+    public static Stream<double[]> windowFixed(final DoubleStream stream, final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+
+        final Spliterator.OfDouble source = stream.spliterator();
+
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<double[]>(Long.MAX_VALUE, (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL) {
+            /// The window being filled.
+            private double[] window = new double[size];
+
+            /// The number of values in the window.
+            private int count;
+
+            /// Emit the next window, if any.
+            ///
+            /// @param  action  java.util.function.Consumer<? super double[]>
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final Consumer<? super double[]> action) {
+                while (this.count < size && source.tryAdvance((double value) -> this.window[this.count++] = value)) {
+                    // Fill the window
+                }
+
+                if (this.count == 0) {
+                    return false;
+                }
+
+                action.accept(this.count == size ? this.window : Arrays.copyOf(this.window, this.count));
+
+                this.window = new double[size];
+                this.count = 0;
+
+                return true;
+            }
+        }, false).onClose(stream::close);
+    }
+
+    /// Return the overlapping windows of a DoubleStream, each one
+    /// value further along, as arrays. A stream shorter than the
+    /// window yields a single shorter window.
+    ///
+    /// @param  stream  java.util.stream.DoubleStream
+    /// @param  size    int
+    /// @return         java.util.stream.Stream<double[]>
+    public static Stream<double[]> windowSliding(final DoubleStream stream, final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + size);
+        }
+
+        final Spliterator.OfDouble source = stream.spliterator();
+
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<double[]>(Long.MAX_VALUE, (source.characteristics() & Spliterator.ORDERED) | Spliterator.NONNULL) {
+            /// The last window emitted or null before the first.
+            private double[] window;
+
+            /// The next value read.
+            private double next;
+
+            /// Emit the next window, if any.
+            ///
+            /// @param  action  java.util.function.Consumer<? super double[]>
+            /// @return         boolean
+            @Override
+            public boolean tryAdvance(final Consumer<? super double[]> action) {
+                if (this.window == null) {
+                    final double[] first = new double[size];
+                    final int[] count = new int[1];
+
+                    while (count[0] < size && source.tryAdvance((double value) -> first[count[0]++] = value)) {
+                        // Fill the first window
+                    }
+
+                    if (count[0] == 0) {
+                        return false;
+                    }
+
+                    this.window = count[0] == size ? first : Arrays.copyOf(first, count[0]);
+                } else {
+                    if (this.window.length < size || !source.tryAdvance((double value) -> this.next = value)) {
+                        return false;
+                    }
+
+                    final double[] slid = new double[size];
+
+                    System.arraycopy(this.window, 1, slid, 0, size - 1);
+
+                    slid[size - 1] = this.next;
+                    this.window = slid;
+                }
+
+                action.accept(this.window);
+
+                return true;
+            }
+        }, false).onClose(stream::close);
+    }
+}
@@ -0,0 +1,178 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)ScalarKernels.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// The scalar numeric kernels. Each value is processed one at a
+/// time; these are used when the Vector API is not available.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+final class ScalarKernels implements NumericKernels {
+    /// The default constructor.
+    ScalarKernels() {
+        super();
+    }
+
+    /// Return the sum of a range of values.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    @Override
+    public double sum(final double[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        double sum = 0.0;
+
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+
+        return sum;
+    }
+
+    /// Return the minimum of a range of values.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    @Override
+    public double min(final double[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        double min = Double.POSITIVE_INFINITY;
+
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+
+        return min;
+    }
+
+    /// Return the maximum of a range of values.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    @Override
+    public double max(final double[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        return max;
+    }
+
+    /// Return the number of values in a range
+    /// that are greater than the threshold.
+    ///
+    /// @param  values     double[]
+    /// @param  from       int
+    /// @param  to         int
+    /// @param  threshold  double
+    /// @return            int
+    @Override
+    public int countGreaterThan(final double[] values, final int from, final int to, final double threshold) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        int count = 0;
+
+        for (int i = from; i < to; i++) {
+            if (values[i] > threshold) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /// Return the sum of a range of values.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    @Override
+    public long sum(final long[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        long sum = 0L;
+
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+
+        return sum;
+    }
+
+    /// Return the minimum of a range of values.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    @Override
+    public long min(final long[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        long min = Long.MAX_VALUE;
+
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+
+        return min;
+    }
+
+    /// Return the maximum of a range of values.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    @Override
+    public long max(final long[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        long max = Long.MIN_VALUE;
+
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        return max;
+    }
+}
@@ -0,0 +1,276 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)SimdKernels.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/// The SIMD numeric kernels built on the incubating Vector API.
+/// The preferred species is the widest the CPU supports, so the
+/// same code uses SSE or AVX lanes on x86-64 and NEON lanes on
+/// AArch64. Each kernel processes whole vectors up to the loop
+/// bound, reduces the lanes once, and finishes the remaining tail
+/// one value at a time. Two accumulators are kept for the sums so
+/// that consecutive additions do not wait on each other.
+///
+/// This class must only be loaded when the `jdk.incubator.vector`
+/// module is in the boot layer; see `VectorKernels`.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+final class SimdKernels implements NumericKernels {
+    /// The preferred species for double lanes.
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /// The preferred species for long lanes.
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    /// The default constructor.
+    SimdKernels() {
+        super();
+    }
+
+    /// Return the number of double lanes in the preferred species.
+    ///
+    /// @return int
+    static int doubleLanes() {
+        return DOUBLES.length();
+    }
+
+    /// Return the sum of a range of values.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    @Override
+    public double sum(final double[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        final int lanes = DOUBLES.length();
+        final int bound = from + (to - from) / (2 * lanes) * (2 * lanes);
+
+        DoubleVector first = DoubleVector.zero(DOUBLES);
+        DoubleVector second = DoubleVector.zero(DOUBLES);
+
+        int i = from;
+
+        for (; i < bound; i += 2 * lanes) {
+            first = first.add(DoubleVector.fromArray(DOUBLES, values, i));
+            second = second.add(DoubleVector.fromArray(DOUBLES, values, i + lanes));
+        }
+
+        double sum = first.add(second).reduceLanes(VectorOperators.ADD);
+
+        for (; i < to; i++) {
+            sum += values[i];
+        }
+
+        return sum;
+    }
+
+    /// Return the minimum of a range of values.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    @Override
+    public double min(final double[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        final int bound = from + DOUBLES.loopBound(to - from);
+
+        DoubleVector min = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+
+        int i = from;
+
+        for (; i < bound; i += DOUBLES.length()) {
+            min = min.min(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+
+        double result = min.reduceLanes(VectorOperators.MIN);
+
+        for (; i < to; i++) {
+            result = Math.min(result, values[i]);
+        }
+
+        return result;
+    }
+
+    /// Return the maximum of a range of values.
+    ///
+    /// @param  values  double[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         double
+    @Override
+    public double max(final double[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        final int bound = from + DOUBLES.loopBound(to - from);
+
+        DoubleVector max = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+
+        int i = from;
+
+        for (; i < bound; i += DOUBLES.length()) {
+            max = max.max(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+
+        double result = max.reduceLanes(VectorOperators.MAX);
+
+        for (; i < to; i++) {
+            result = Math.max(result, values[i]);
+        }
+
+        return result;
+    }
+
+    /// Return the number of values in a range
+    /// that are greater than the threshold.
+    ///
+    /// @param  values     double[]
+    /// @param  from       int
+    /// @param  to         int
+    /// @param  threshold  double
+    /// @return            int
+    @Override
+    public int countGreaterThan(final double[] values, final int from, final int to, final double threshold) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        final int bound = from + DOUBLES.loopBound(to - from);
+
+        int count = 0;
+        int i = from;
+
+        for (; i < bound; i += DOUBLES.length()) {
+            count += DoubleVector.fromArray(DOUBLES, values, i)
+                    .compare(VectorOperators.GT, threshold)
+                    .trueCount();
+        }
+
+        for (; i < to; i++) {
+            if (values[i] > threshold) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /// Return the sum of a range of values.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    @Override
+    public long sum(final long[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        final int bound = from + LONGS.loopBound(to - from);
+
+        LongVector sum = LongVector.zero(LONGS);
+
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            sum = sum.add(LongVector.fromArray(LONGS, values, i));
+        }
+
+        long result = sum.reduceLanes(VectorOperators.ADD);
+
+        for (; i < to; i++) {
+            result += values[i];
+        }
+
+        return result;
+    }
+
+    /// Return the minimum of a range of values.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    @Override
+    public long min(final long[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        final int bound = from + LONGS.loopBound(to - from);
+
+        LongVector min = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            min = min.min(LongVector.fromArray(LONGS, values, i));
+        }
+
+        long result = min.reduceLanes(VectorOperators.MIN);
+
+        for (; i < to; i++) {
+            result = Math.min(result, values[i]);
+        }
+
+        return result;
+    }
+
+    /// Return the maximum of a range of values.
+    ///
+    /// @param  values  long[]
+    /// @param  from    int
+    /// @param  to      int
+    /// @return         long
+    @Override
+    public long max(final long[] values, final int from, final int to) {
+        Objects.checkFromToIndex(from, to, values.length);
+
+        final int bound = from + LONGS.loopBound(to - from);
+
+        LongVector max = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            max = max.max(LongVector.fromArray(LONGS, values, i));
+        }
+
+        long result = max.reduceLanes(VectorOperators.MAX);
+
+        for (; i < to; i++) {
+            result = Math.max(result, values[i]);
+        }
+
+        return result;
+    }
+}
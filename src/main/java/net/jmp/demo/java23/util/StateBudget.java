@@ -0,0 +1,343 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)StateBudget.java  0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// A byte budget for the state of a gatherer. The state is not measured
+/// directly: every `samplingInterval`th entry added to it is passed to a
+/// size estimator, and the mean sampled size plus the overhead of a hash
+/// table entry is multiplied by the number of entries. Sampling keeps an
+/// expensive estimator, such as the default one that walks the components
+/// of records, off the per-element path. The estimates of all the live
+/// meters of a budget, one per gatherer state, are added up and reported
+/// as a gauge named `<name>.stateBytes`, so parallel states and nested
+/// merges do not overwrite each other and the gauge's maximum is the
+/// peak size of the state. Each breach of the budget is counted as
+/// `<name>.breaches`; what a gatherer does on a breach is chosen by
+/// the policy.
+///
+/// @param  <E> The type of entry measured
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class StateBudget<E> {
+    /// The estimated overhead in bytes of one hash table entry.
+    public static final long ENTRY_OVERHEAD = 40;
+
+    /// The default sampling interval.
+    public static final int DEFAULT_SAMPLING_INTERVAL = 64;
+
+    /// The estimated size in bytes of an object of unknown shape.
+    private static final long UNKNOWN_SIZE = 32;
+
+    /// The budget that is never exceeded.
+    private static final StateBudget<Object> UNBOUNDED = new StateBudget<>(
+            "unbounded",
+            Long.MAX_VALUE,
+            Policy.FAIL_FAST,
+            Integer.MAX_VALUE,
+            _ -> 0L,
+            new MetricsRegistry()
+    );
+
+    /// The name used for the metrics.
+    private final String name;
+
+    /// The maximum estimated size of the state in bytes.
+    private final long maxBytes;
+
+    /// The action taken when the budget is exceeded.
+    private final Policy policy;
+
+    /// The number of entries added between two samples.
+    private final int samplingInterval;
+
+    /// The entry size estimator.
+    private final ToLongFunction<? super E> sizeEstimator;
+
+    /// The registry the metrics are reported to.
+    private final MetricsRegistry registry;
+
+    /// The sum of the latest estimates of the meters.
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /// A constructor that samples every 64th entry with the
+    /// default estimator and reports to the global registry.
+    ///
+    /// @param  name        java.lang.String
+    /// @param  maxBytes    long
+    /// @param  policy      net.jmp.demo.java23.util.StateBudget.Policy
+    public StateBudget(final String name, final long maxBytes, final Policy policy) {
+        this(name, maxBytes, policy, DEFAULT_SAMPLING_INTERVAL, StateBudget::estimate, MetricsRegistry.global());
+    }
+
+    /// The constructor.
+    ///
+    /// @param  name                java.lang.String
+    /// @param  maxBytes            long
+    /// @param  policy              net.jmp.demo.java23.util.StateBudget.Policy
+    /// @param  samplingInterval    int
+    /// @param  sizeEstimator       java.util.function.ToLongFunction<? super E>
+    /// @param  registry            net.jmp.demo.java23.util.MetricsRegistry
+    public StateBudget(final String name,
+                       final long maxBytes,
+                       final Policy policy,
+                       final int samplingInterval,
+                       final ToLongFunction<? super E> sizeEstimator,
+                       final MetricsRegistry registry) {
+        super();
+
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Byte budget must be positive: " + maxBytes);
+        }
+
+        if (samplingInterval < 1) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + samplingInterval);
+        }
+
+        this.name = Objects.requireNonNull(name);
+        this.maxBytes = maxBytes;
+        this.policy = Objects.requireNonNull(policy);
+        this.samplingInterval = samplingInterval;
+        this.sizeEstimator = Objects.requireNonNull(sizeEstimator);
+        this.registry = Objects.requireNonNull(registry);
+    }
+
+    /// Return the budget that is never exceeded.
+    ///
+    /// @param  <E> The type of entry measured
+    /// @return     net.jmp.demo.java23.util.StateBudget<E>
+    @SuppressWarnings("unchecked")
+    public static <E> StateBudget<E> unbounded() {
+        return (StateBudget<E>) UNBOUNDED;
+    }
+
+    /// Return the name.
+    ///
+    /// @return java.lang.String
+    public String name() {
+        return this.name;
+    }
+
+    /// Return the maximum estimated size of the state in bytes.
+    ///
+    /// @return long
+    public long maxBytes() {
+        return this.maxBytes;
+    }
+
+    /// Return the policy.
+    ///
+    /// @return net.jmp.demo.java23.util.StateBudget.Policy
+    public Policy policy() {
+        return this.policy;
+    }
+
+    /// Return the sampling interval.
+    ///
+    /// @return int
+    public int samplingInterval() {
+        return this.samplingInterval;
+    }
+
+    /// Return true unless this is the unbounded budget.
+    ///
+    /// @return boolean
+    public boolean isBounded() {
+        return this != UNBOUNDED;
+    }
+
+    /// Return a new meter for one gatherer state.
+    ///
+    /// @return net.jmp.demo.java23.util.StateBudget.Meter<E>
+    public Meter<E> meter() {
+        return new Meter<>(this);
+    }
+
+    /// Return a rough estimate of the retained size of an object in
+    /// bytes assuming compressed references. Shared instances such as
+    /// enum constants and currencies count as nothing; the components
+    /// of records are estimated recursively.
+    ///
+    /// @param  object  java.lang.Object
+    /// @return         long
+    public static long estimate(final Object object) {
+        return switch (object) {
+            case null -> 0;
+            case Enum<?> _, Currency _, Class<?> _, Boolean _ -> 0;
+            case Byte _, Short _, Character _, Integer _, Float _ -> 16;
+            case Long _, Double _ -> 24;
+            case String string -> 24 + align(16 + string.length());
+            case BigInteger integer -> 40 + align(16 + 4L * ((integer.bitLength() + 31) / 32));
+            case BigDecimal decimal -> decimal.precision() <= 18 ? 40 : 40 + estimate(decimal.unscaledValue());
+            case Record rec -> estimateRecord(rec);
+            default -> UNKNOWN_SIZE;
+        };
+    }
+
+    /// Estimate a record from its components.
+    ///
+    /// @param  rec java.lang.Record
+    /// @return     long
+    private static long estimateRecord(final Record rec) {
+        final RecordComponent[] components = rec.getClass().getRecordComponents();
+
+        long size = align(16 + 8L * components.length);
+
+        try {
+            for (final RecordComponent component : components) {
+                if (!component.getType().isPrimitive()) {
+                    size += estimate(component.getAccessor().invoke(rec));
+                }
+            }
+        } catch (final ReflectiveOperationException _) {
+            size += UNKNOWN_SIZE * components.length;     // The accessors are not accessible
+        }
+
+        return size;
+    }
+
+    /// Round a size up to the eight byte object alignment.
+    ///
+    /// @param  size    long
+    /// @return         long
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /// The action taken when a budget is exceeded.
+    public enum Policy {
+        /// Throw a state budget exceeded exception.
+        FAIL_FAST,
+
+        /// Write the state to temporary files and continue.
+        SPILL,
+
+        /// Continue with an approximate, bounded state.
+        APPROXIMATE
+    }
+
+    /// The size accounting of one gatherer state.
+    ///
+    /// @param  <E> The type of entry measured
+    public static final class Meter<E> {
+        /// The budget.
+        private final StateBudget<E> budget;
+
+        /// The gauge of the estimated size.
+        private final MetricsRegistry.Gauge gauge;
+
+        /// The number of entries observed.
+        private long observations;
+
+        /// The sum of the sampled entry sizes.
+        private long sampledBytes;
+
+        /// The number of entries sampled.
+        private long samples;
+
+        /// The latest estimated size in bytes.
+        private long bytes;
+
+        /// The estimated size in bytes last added to the budget's total.
+        private long reported;
+
+        /// A constructor that takes the budget.
+        ///
+        /// @param  budget  net.jmp.demo.java23.util.StateBudget<E>
+        private Meter(final StateBudget<E> budget) {
+            super();
+
+            this.budget = budget;
+            this.gauge = budget.registry.gauge(budget.name + ".stateBytes");
+        }
+
+        /// Observe an entry added to, or merged into, a state that
+        /// now holds the given number of entries and return true if
+        /// the estimated size exceeds the budget.
+        ///
+        /// @param  entries long
+        /// @param  entry   E
+        /// @return         boolean
+        public boolean observe(final long entries, final E entry) {
+            final boolean sampled = this.observations++ % this.budget.samplingInterval == 0;
+
+            if (sampled) {
+                this.sampledBytes += ENTRY_OVERHEAD + Math.max(0, this.budget.sizeEstimator.applyAsLong(entry));
+                this.samples++;
+            }
+
+            this.bytes = entries * (this.sampledBytes / this.samples);
+
+            if (sampled) {
+                this.report();
+            }
+
+            return this.bytes > this.budget.maxBytes;
+        }
+
+        /// Count a breach of the budget.
+        public void breached() {
+            this.budget.registry.counter(this.budget.name + ".breaches").increment();
+            this.report();
+        }
+
+        /// Set the estimated size after the state has been replaced.
+        ///
+        /// @param  bytes   long
+        public void reset(final long bytes) {
+            this.bytes = bytes;
+            this.report();
+        }
+
+        /// Return the latest estimated size in bytes.
+        ///
+        /// @return long
+        public long bytes() {
+            return this.bytes;
+        }
+
+        /// Replace this meter's share of the budget's total
+        /// with the latest estimate and report the total.
+        private void report() {
+            final long delta = this.bytes - this.reported;
+
+            this.reported = this.bytes;
+            this.gauge.set(this.budget.totalBytes.addAndGet(delta));
+        }
+
+        /// Return a further gauge of the state, named
+        /// after the budget followed by the given metric.
+        ///
+        /// @param  metric  java.lang.String
+        /// @return         net.jmp.demo.java23.util.MetricsRegistry.Gauge
+        public MetricsRegistry.Gauge gauge(final String metric) {
+            return this.budget.registry.gauge(this.budget.name + "." + metric);
+        }
+    }
+}
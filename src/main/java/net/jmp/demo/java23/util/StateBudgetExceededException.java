@@ -0,0 +1,72 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)StateBudgetExceededException.java 0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// Thrown by a gatherer whose state budget has the fail-fast
+/// policy when the estimated size of its state exceeds the budget.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class StateBudgetExceededException extends RuntimeException {
+    /// The serial version UID.
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /// The estimated size of the state in bytes.
+    private final long bytes;
+
+    /// The maximum estimated size of the state in bytes.
+    private final long maxBytes;
+
+    /// The constructor.
+    ///
+    /// @param  name        java.lang.String
+    /// @param  bytes       long
+    /// @param  maxBytes    long
+    public StateBudgetExceededException(final String name, final long bytes, final long maxBytes) {
+        super(String.format("Estimated state of %s is %d bytes, over its budget of %d bytes", name, bytes, maxBytes));
+
+        this.bytes = bytes;
+        this.maxBytes = maxBytes;
+    }
+
+    /// Return the estimated size of the state in bytes.
+    ///
+    /// @return long
+    public long bytes() {
+        return this.bytes;
+    }
+
+    /// Return the maximum estimated size of the state in bytes.
+    ///
+    /// @return long
+    public long maxBytes() {
+        return this.maxBytes;
+    }
+}
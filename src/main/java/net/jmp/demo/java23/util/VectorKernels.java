@@ -0,0 +1,144 @@
+package net.jmp.demo.java23.util;
+
+/*
+ * (#)VectorKernels.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+/// The entry point to the numeric kernels. The SIMD kernels are
+/// used when the incubating `jdk.incubator.vector` module has been
+/// added to the boot layer, for example with
+/// `--add-modules jdk.incubator.vector`; otherwise the scalar kernels
+/// are used. The module is an optional dependency so the application
+/// still runs without it, and the SIMD class is only loaded once the
+/// module is known to be present.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class VectorKernels {
+    /// The name of the Vector API module.
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /// The scalar kernels.
+    private static final NumericKernels SCALAR = new ScalarKernels();
+
+    /// The preferred kernels.
+    private static final NumericKernels PREFERRED = ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+            ? new SimdKernels()
+            : SCALAR;
+
+    /// The default constructor.
+    private VectorKernels() {
+        super();
+    }
+
+    /// Return the preferred kernels: the SIMD kernels
+    /// when available, otherwise the scalar ones.
+    ///
+    /// @return net.jmp.demo.java23.util.NumericKernels
+    public static NumericKernels preferred() {
+        return PREFERRED;
+    }
+
+    /// Return the scalar kernels.
+    ///
+    /// @return net.jmp.demo.java23.util.NumericKernels
+    public static NumericKernels scalar() {
+        return SCALAR;
+    }
+
+    /// Return true if the preferred kernels use SIMD instructions.
+    ///
+    /// @return boolean
+    public static boolean isVectorized() {
+        return PREFERRED != SCALAR;
+    }
+
+    /// Return the number of doubles processed per vector
+    /// by the preferred kernels; 1 when they are scalar.
+    ///
+    /// @return int
+    public static int doubleLanes() {
+        return isVectorized() ? SimdKernels.doubleLanes() : 1;
+    }
+
+    /// Return the sum of the values.
+    ///
+    /// @param  values  double[]
+    /// @return         double
+    public static double sum(final double[] values) {
+        return PREFERRED.sum(values, 0, values.length);
+    }
+
+    /// Return the minimum of the values.
+    ///
+    /// @param  values  double[]
+    /// @return         double
+    public static double min(final double[] values) {
+        return PREFERRED.min(values, 0, values.length);
+    }
+
+    /// Return the maximum of the values.
+    ///
+    /// @param  values  double[]
+    /// @return         double
+    public static double max(final double[] values) {
+        return PREFERRED.max(values, 0, values.length);
+    }
+
+    /// Return the number of values that are greater than the threshold.
+    ///
+    /// @param  values      double[]
+    /// @param  threshold   double
+    /// @return             int
+    public static int countGreaterThan(final double[] values, final double threshold) {
+        return PREFERRED.countGreaterThan(values, 0, values.length, threshold);
+    }
+
+    /// Return the sum of the values.
+    ///
+    /// @param  values  long[]
+    /// @return         long
+    public static long sum(final long[] values) {
+        return PREFERRED.sum(values, 0, values.length);
+    }
+
+    /// Return the minimum of the values.
+    ///
+    /// @param  values  long[]
+    /// @return         long
+    public static long min(final long[] values) {
+        return PREFERRED.min(values, 0, values.length);
+    }
+
+    /// Return the maximum of the values.
+    ///
+    /// @param  values  long[]
+    /// @return         long
+    public static long max(final long[] values) {
+        return PREFERRED.max(values, 0, values.length);
+    }
+}
@@ -1,6 +1,7 @@
 package net.jmp.demo.java23.demos;
 
 /*
+ * (#)TestStreamGatherersDemo.java  0.9.0   10/19/2026
  * (#)TestStreamGatherersDemo.java  0.8.0   09/24/2024
  * (#)TestStreamGatherersDemo.java  0.7.0   09/20/2024
  *
@@ -29,7 +30,22 @@ package net.jmp.demo.java23.demos;
 
 import module java.base;
 
+import net.jmp.demo.java23.gatherers.WindowView;
+
+import net.jmp.demo.java23.records.CardinalityEstimate;
+import net.jmp.demo.java23.records.ExecutionPlan;
+import net.jmp.demo.java23.records.Group;
+import net.jmp.demo.java23.records.HeavyHitter;
 import net.jmp.demo.java23.records.Money;
+import net.jmp.demo.java23.records.StageMetrics;
+import net.jmp.demo.java23.records.StepDiagnostics;
+import net.jmp.demo.java23.records.TimeWindow;
+
+import net.jmp.demo.java23.util.BinaryCodec;
+import net.jmp.demo.java23.util.GatherersFactory;
+import net.jmp.demo.java23.util.MetricsRegistry;
+import net.jmp.demo.java23.util.MoneyCodec;
+import net.jmp.demo.java23.util.StateBudget;
 
 import static net.jmp.util.testing.testutil.TestUtils.*;
 
@@ -39,7 +55,7 @@ import org.junit.Test;
 
 /// The test class for StreamGatherersDemo.
 ///
-/// @version    0.8.0
+/// @version    0.9.0
 /// @since      0.7.0
 public final class TestStreamGatherersDemo {
     @Test
@@ -118,6 +134,72 @@ public final class TestStreamGatherersDemo {
         assertEquals(List.of("Vivaldi"), window4);
     }
 
+    @Test
+    public void testSlidingWindowViews() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("slidingWindowViews");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+
+        final List<?> list = castToType(List.class, o);
+        final List<String> windows = listToTypedList(list, String.class);
+
+        assertNotNull(windows);
+        assertEquals(4, windows.size());
+
+        assertEquals("India, Poland, UK", windows.get(0));
+        assertEquals("Poland, UK, Australia", windows.get(1));
+        assertEquals("UK, Australia, USA", windows.get(2));
+        assertEquals("Australia, USA, Netherlands", windows.get(3));
+    }
+
+    @Test
+    public void testRetainedWindowViews() {
+        final List<WindowView<String>> sliding = Stream.of("A", "B", "C", "D")
+                .gather(GatherersFactory.<String>windowSlidingView(2))
+                .toList();
+
+        assertEquals(List.of(List.of("A", "B"), List.of("B", "C"), List.of("C", "D")), sliding);
+
+        final List<WindowView<String>> fixed = Stream.of("A", "B", "C", "D", "E")
+                .gather(GatherersFactory.<String>windowFixedView(2))
+                .toList();
+
+        assertEquals(List.of(List.of("A", "B"), List.of("C", "D"), List.of("E")), fixed);
+
+        final WindowView<String> released = fixed.getFirst();
+
+        released.release();
+
+        assertThrows(IllegalStateException.class, () -> released.get(0));
+        assertThrows(IllegalStateException.class, released::size);
+        assertEquals(List.of("C", "D"), fixed.get(1));
+    }
+
+    @Test
+    public void testFixedWindowViews() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("fixedWindowViews");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+
+        final List<?> list = castToType(List.class, o);
+        final List<String> windows = listToTypedList(list, String.class);
+
+        assertNotNull(windows);
+        assertEquals(5, windows.size());
+
+        assertEquals("Mozart, Bach", windows.get(0));
+        assertEquals("Beethoven, Mahler", windows.get(1));
+        assertEquals("Bruckner, Liszt", windows.get(2));
+        assertEquals("Chopin, Telemann", windows.get(3));
+        assertEquals("Vivaldi", windows.get(4));
+    }
+
     @Test
     public void testScan() throws Exception {
         final var demo = new StreamGatherersDemo();
@@ -158,6 +240,46 @@ public final class TestStreamGatherersDemo {
         assertEquals("123456789", result);
     }
 
+    @Test
+    public void testScanMutable() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("scanMutable");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<String> results = listToTypedList(list, String.class);
+
+        assertNotNull(results);
+        assertEquals(9, results.size());
+
+        assertEquals("1", results.get(0));
+        assertEquals("12", results.get(1));
+        assertEquals("123", results.get(2));
+        assertEquals("1234", results.get(3));
+        assertEquals("12345", results.get(4));
+        assertEquals("123456", results.get(5));
+        assertEquals("1234567", results.get(6));
+        assertEquals("12345678", results.get(7));
+        assertEquals("123456789", results.get(8));
+    }
+
+    @Test
+    public void testFoldMutable() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("foldMutable");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final String result = castToType(String.class, o);
+
+        assertNotNull(result);
+
+        assertEquals("123456789", result);
+    }
+
     @Test
     public void testMapConcurrent() throws Exception {
         final var demo = new StreamGatherersDemo();
@@ -201,6 +323,25 @@ public final class TestStreamGatherersDemo {
         assertEquals(new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")), results.get(1));
     }
 
+    @Test
+    public void testCustomDistinctUntilChangedBy() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customDistinctUntilChangedBy", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(3, results.size());
+
+        assertEquals(new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")), results.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")), results.get(1));
+        assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), results.get(2));
+    }
+
     @Test
     public void testCustomReduceByGatherer() throws Exception {
         final var demo = new StreamGatherersDemo();
@@ -236,6 +377,32 @@ public final class TestStreamGatherersDemo {
         assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), result);
     }
 
+    @Test
+    public void testCustomGathererPipeline() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customGathererPipeline", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<ExecutionPlan> plans = listToTypedList(list, ExecutionPlan.class);
+
+        assertNotNull(plans);
+        assertEquals(3, plans.size());
+
+        final ExecutionPlan.Mode large = ForkJoinPool.getCommonPoolParallelism() > 1
+                ? ExecutionPlan.Mode.PARALLEL
+                : ExecutionPlan.Mode.SEQUENTIAL;
+
+        assertEquals(ExecutionPlan.Mode.SEQUENTIAL, plans.get(0).mode());
+        assertEquals(3, plans.get(0).estimatedSize());
+        assertEquals(large, plans.get(1).mode());
+        assertEquals(100_000, plans.get(1).estimatedSize());
+        assertEquals(ExecutionPlan.Mode.SEQUENTIAL, plans.get(2).mode());
+        assertEquals("DistinctByGatherer has no combiner", plans.get(2).reason());
+    }
+
     @Test
     public void testCustomMinByGatherer() throws Exception {
         final var demo = new StreamGatherersDemo();
@@ -301,6 +468,42 @@ public final class TestStreamGatherersDemo {
         assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), result);
     }
 
+    @Test
+    public void testCustomTakeLastGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customTakeLastGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(2, results.size());
+
+        assertEquals(new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")), results.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), results.get(1));
+    }
+
+    @Test
+    public void testCustomFindLastNGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customFindLastNGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(2, results.size());
+
+        assertEquals(new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")), results.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), results.get(1));
+    }
+
     @Test
     public void testCustomGatherAndThen() throws Exception {
         final var demo = new StreamGatherersDemo();
@@ -322,11 +525,808 @@ public final class TestStreamGatherersDemo {
         assertTrue(results.contains(expectedPln));
     }
 
-    private List<Money> getMoney() {
-        return List.of(
-                new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")),
-                new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")),
-                new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN"))
-        );
+    @Test
+    public void testCustomInstrumentedGatherAndThen() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customInstrumentedGatherAndThen");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<StageMetrics> metrics = listToTypedList(list, StageMetrics.class);
+
+        assertNotNull(metrics);
+        assertEquals(2, metrics.size());
+
+        assertEquals("mapNotNull", metrics.get(0).stage());
+        assertEquals(7, metrics.get(0).elementsIn());
+        assertEquals(3, metrics.get(0).elementsOut());
+        assertEquals(7, metrics.get(0).sampledIntegrations());
+        assertEquals("reduceBy", metrics.get(1).stage());
+        assertEquals(3, metrics.get(1).elementsIn());
+        assertEquals(2, metrics.get(1).elementsOut());
+        assertEquals(0, metrics.get(1).shortCircuits());
+    }
+
+    @Test
+    public void testCustomMapParallelGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customMapParallelGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(3, results.size());
+
+        assertEquals(new Money(BigDecimal.valueOf(120), Currency.getInstance("PLN")), results.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(110), Currency.getInstance("EUR")), results.get(1));
+        assertEquals(new Money(BigDecimal.valueOf(150), Currency.getInstance("PLN")), results.get(2));
+    }
+
+    @Test
+    public void testMapParallelBenchmark() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("mapParallelBenchmark", int.class, int.class, int.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, 64, 1, 1);   // A smoke run; the demo times the full benchmark
+        final List<?> list = castToType(List.class, o);
+        final List<String> results = listToTypedList(list, String.class);
+
+        assertNotNull(results);
+        assertEquals(2, results.size());
+
+        assertTrue(results.get(0).startsWith("mapConcurrent: sequential "));
+        assertTrue(results.get(1).startsWith("mapParallel: sequential "));
+    }
+
+    @Test
+    public void testCustomBatchGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customBatchGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+
+        @SuppressWarnings("unchecked")
+        final List<List<Money>> batches = (List<List<Money>>) o;
+
+        assertNotNull(batches);
+        assertEquals(2, batches.size());
+
+        final List<Money> batch0 = listToTypedList(batches.get(0), Money.class);
+        final List<Money> batch1 = listToTypedList(batches.get(1), Money.class);
+
+        assertEquals(2, batch0.size());
+        assertEquals(1, batch1.size());
+
+        assertEquals(new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")), batch0.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")), batch0.get(1));
+        assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), batch1.get(0));
+    }
+
+    @Test
+    public void testBatchFlushesStaleBatchBeforeLateElement() {
+        final List<List<Integer>> batches = Stream.of(1, 2, 3)
+                .peek(number -> {
+                    if (number == 3) {
+                        try {
+                            Thread.sleep(Duration.ofMillis(200));
+                        } catch (final InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                })
+                .gather(GatherersFactory.<Integer>batch(10, Duration.ofMillis(100)))
+                .toList();
+
+        assertEquals(List.of(List.of(1, 2), List.of(3)), batches);
+    }
+
+    @Test
+    public void testCustomSlidingSumGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customSlidingSumGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Double> results = listToTypedList(list, Double.class);
+
+        assertNotNull(results);
+        assertEquals(2, results.size());
+
+        assertEquals(23.0, results.get(0), 0.0);
+        assertEquals(26.0, results.get(1), 0.0);
+    }
+
+    @Test
+    public void testCustomSlidingMaxByGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customSlidingMaxByGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(2, results.size());
+
+        assertEquals(new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")), results.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), results.get(1));
+    }
+
+    @Test
+    public void testCustomSlidingMedianGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customSlidingMedianGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<Double> results = listToTypedList(list, Double.class);
+
+        assertNotNull(results);
+        assertEquals(List.of(2.0, 5.0, 3.0, 8.0), results);
+    }
+
+    @Test
+    public void testCustomTumblingWindowGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customTumblingWindowGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+
+        @SuppressWarnings("unchecked")
+        final List<TimeWindow<Map.Entry<Long, String>>> windows = (List<TimeWindow<Map.Entry<Long, String>>>) o;
+
+        assertNotNull(windows);
+        assertEquals(3, windows.size());
+
+        assertEquals(Instant.ofEpochMilli(0), windows.get(0).start());
+        assertEquals(Instant.ofEpochMilli(10), windows.get(0).end());
+        assertEquals(Instant.ofEpochMilli(10), windows.get(1).start());
+        assertEquals(Instant.ofEpochMilli(20), windows.get(2).start());
+
+        assertEquals(List.of("a", "b", "d"), this.values(windows.get(0)));
+        assertEquals(List.of("c", "e"), this.values(windows.get(1)));
+        assertEquals(List.of("f"), this.values(windows.get(2)));
+    }
+
+    @Test
+    public void testCustomSessionWindowGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customSessionWindowGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+
+        @SuppressWarnings("unchecked")
+        final List<TimeWindow<Map.Entry<Long, String>>> sessions = (List<TimeWindow<Map.Entry<Long, String>>>) o;
+
+        assertNotNull(sessions);
+        assertEquals(3, sessions.size());
+
+        assertEquals(Instant.ofEpochMilli(1), sessions.get(0).start());
+        assertEquals(Instant.ofEpochMilli(8), sessions.get(0).end());
+        assertEquals(Instant.ofEpochMilli(10), sessions.get(1).start());
+        assertEquals(Instant.ofEpochMilli(16), sessions.get(1).end());
+        assertEquals(Instant.ofEpochMilli(20), sessions.get(2).start());
+        assertEquals(Instant.ofEpochMilli(25), sessions.get(2).end());
+
+        assertEquals(List.of("a", "b"), this.values(sessions.get(0)));
+        assertEquals(List.of("c", "d"), this.values(sessions.get(1)));
+        assertEquals(List.of("e"), this.values(sessions.get(2)));
+    }
+
+    @Test
+    public void testCustomParallelScanGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customParallelScanGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(100, results.size());
+
+        for (int i = 1; i <= 100; i++) {
+            assertEquals(new Money(BigDecimal.valueOf(i * (i + 1) / 2), Currency.getInstance("PLN")), results.get(i - 1));
+        }
+    }
+
+    @Test
+    public void testCustomReservoirSampleGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customReservoirSampleGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<Integer> sample = listToTypedList(list, Integer.class);
+
+        assertNotNull(sample);
+        assertEquals(5, sample.size());
+        assertEquals(5, new HashSet<>(sample).size());
+
+        for (final Integer number : sample) {
+            assertTrue(number >= 1 && number <= 1_000);
+        }
+
+        assertEquals(sample, method.invoke(demo));
+    }
+
+    @Test
+    public void testCustomParallelReservoirSampleGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customParallelReservoirSampleGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<Integer> sample = listToTypedList(list, Integer.class);
+
+        assertNotNull(sample);
+        assertEquals(64, sample.size());
+        assertEquals(64, new HashSet<>(sample).size());
+
+        /*
+         * The range splits into equal power-of-two segments of
+         * at least 1,024 elements. Segments that shared a seed
+         * would sample the same offsets within each segment, so
+         * the offsets modulo 1,024 would repeat far more often
+         * than the couple of collisions independent draws give.
+         */
+
+        final Set<Integer> offsets = new HashSet<>();
+
+        for (final Integer number : sample) {
+            assertTrue(number >= 0 && number < 1 << 16);
+
+            offsets.add(number % 1_024);
+        }
+
+        assertTrue(offsets.size() >= 56);
+    }
+
+    @Test
+    public void testReservoirSampleGathererIsReproducible() {
+        final var gatherer = GatherersFactory.<Integer>sample(64, 42L);
+
+        final List<Integer> sequential = IntStream.range(0, 1 << 16).boxed().gather(gatherer).toList();
+        final List<Integer> parallel = IntStream.range(0, 1 << 16).parallel().boxed().gather(gatherer).toList();
+
+        assertEquals(sequential, IntStream.range(0, 1 << 16).boxed().gather(gatherer).toList());
+        assertEquals(parallel, IntStream.range(0, 1 << 16).parallel().boxed().gather(gatherer).toList());
+        assertEquals(sequential, IntStream.range(0, 1 << 16).boxed().gather(GatherersFactory.sample(64, 42L)).toList());
+    }
+
+    @Test
+    public void testCustomCountDistinctByGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customCountDistinctByGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final CardinalityEstimate estimate = castToType(CardinalityEstimate.class, o);
+
+        assertNotNull(estimate);
+        assertTrue(estimate.lowerBound(3) <= 10_000);
+        assertTrue(estimate.upperBound(3) >= 10_000);
+    }
+
+    @Test
+    public void testCountDistinctByHashesLongKeysToSixtyFourBits() {
+        final CardinalityEstimate byKey = LongStream.range(0, 10_000)
+                .map(i -> (i << 32) | i)     // Every key has a hash code of zero
+                .boxed()
+                .gather(GatherersFactory.countDistinctBy(Function.identity()))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(byKey.lowerBound(3) <= 10_000);
+        assertTrue(byKey.upperBound(3) >= 10_000);
+
+        final CardinalityEstimate byHash = LongStream.range(0, 10_000)
+                .map(i -> (i << 32) | i)
+                .boxed()
+                .gather(GatherersFactory.countDistinctByHash(Long::longValue, 12))
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(byHash.lowerBound(3) <= 10_000);
+        assertTrue(byHash.upperBound(3) >= 10_000);
+    }
+
+    @Test
+    public void testCustomQuantilesByGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customQuantilesByGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+
+        @SuppressWarnings("unchecked")
+        final Map<String, List<Double>> percentiles = (Map<String, List<Double>>) o;
+
+        assertNotNull(percentiles);
+        assertEquals(Set.of("EUR", "PLN"), percentiles.keySet());
+
+        assertEquals(List.of(50.0, 95.0, 99.0), percentiles.get("EUR"));
+
+        final List<Double> zlotys = percentiles.get("PLN");
+
+        assertEquals(500.0, zlotys.get(0), 10.0);
+        assertEquals(950.0, zlotys.get(1), 10.0);
+        assertEquals(990.0, zlotys.get(2), 10.0);
+    }
+
+    @Test
+    public void testCustomHeavyHittersGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customHeavyHittersGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+
+        @SuppressWarnings("unchecked")
+        final List<HeavyHitter<String>> hitters = (List<HeavyHitter<String>>) o;
+
+        assertNotNull(hitters);
+        assertEquals(2, hitters.size());
+
+        assertEquals(new HeavyHitter<>("PLN", 50), hitters.get(0));
+        assertEquals(new HeavyHitter<>("EUR", 30), hitters.get(1));
+    }
+
+    @Test
+    public void testCustomReorderGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customReorderGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<String> ordered = listToTypedList(list, String.class);
+
+        assertNotNull(ordered);
+        assertEquals(List.of("a", "b", "c", "d", "e", "f"), ordered);
+    }
+
+    @Test
+    public void testCustomExternalSortGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customExternalSortGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(3, results.size());
+
+        assertEquals(new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")), results.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")), results.get(1));
+        assertEquals(new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN")), results.get(2));
+    }
+
+    @Test
+    public void testExternalSortMergesManyRunsInPasses() {
+        final Currency pln = Currency.getInstance("PLN");
+
+        final List<Money> results = IntStream.range(0, 10_000)
+                .mapToObj(i -> new Money(BigDecimal.valueOf((i * 7_919L) % 1_000), pln))
+                .gather(GatherersFactory.sortBy(Money::amount, 10, new MoneyCodec()))    // A thousand runs
+                .toList();
+
+        assertEquals(10_000, results.size());
+
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).amount().compareTo(results.get(i).amount()) <= 0);
+        }
+    }
+
+    @Test
+    public void testExternalSortMergedRunsSpanBlocks() {
+        final AtomicInteger writes = new AtomicInteger();
+
+        final BinaryCodec<Integer> codec = new BinaryCodec<>() {
+            @Override
+            public void write(final DataOutput output, final Integer value) throws IOException {
+                writes.incrementAndGet();
+                output.writeInt(value);
+            }
+
+            @Override
+            public Integer read(final DataInput input) throws IOException {
+                return input.readInt();
+            }
+        };
+
+        /*
+         * A budget of one element makes every block hold a single element,
+         * so each merged run spans far more blocks than one header could
+         * count, as a merged run past the int limit would
+         */
+
+        final List<Integer> results = IntStream.range(0, 1_000).boxed()
+                .gather(GatherersFactory.sortBy((Integer i) -> i % 10, 1, codec))
+                .toList();
+
+        assertEquals(1_000, results.size());
+        assertTrue(writes.get() > 1_000);     // The runs were merged in a pass before the final merge
+
+        for (int i = 1; i < results.size(); i++) {
+            final int previous = results.get(i - 1);
+            final int current = results.get(i);
+
+            assertTrue(previous % 10 < current % 10 || (previous % 10 == current % 10 && previous < current));
+        }
+    }
+
+    @Test
+    public void testCustomJoinGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customJoinGatherer", List.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, this.getMoney());
+        final List<?> list = castToType(List.class, o);
+        final List<Money> results = listToTypedList(list, Money.class);
+
+        assertNotNull(results);
+        assertEquals(3, results.size());
+
+        assertEquals(new Money(new BigDecimal("3.00"), Currency.getInstance("EUR")), results.get(0));
+        assertEquals(new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")), results.get(1));
+        assertEquals(new Money(new BigDecimal("3.75"), Currency.getInstance("EUR")), results.get(2));
+    }
+
+    @Test
+    public void testLeftJoinGatherer() {
+        final List<Map.Entry<Currency, BigDecimal>> rates = List.of(
+                Map.entry(Currency.getInstance("PLN"), new BigDecimal("0.25")),
+                Map.entry(Currency.getInstance("PLN"), new BigDecimal("0.26")),
+                Map.entry(Currency.getInstance("EUR"), BigDecimal.ONE)
+        );
+
+        final List<String> results = Stream.of(
+                        new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")),
+                        new Money(BigDecimal.valueOf(5), Currency.getInstance("USD")),
+                        new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR"))
+                )
+                .gather(GatherersFactory.<Money, Currency, Map.Entry<Currency, BigDecimal>, String>leftJoin(
+                        rates,
+                        Map.Entry::getKey,
+                        Money::currency,
+                        (m, rate) -> m.currency() + ":" + (rate == null ? "none" : rate.getValue())))
+                .toList();
+
+        assertEquals(List.of("PLN:0.25", "PLN:0.26", "USD:none", "EUR:1"), results);
+    }
+
+    @Test
+    public void testSemiJoinGatherer() {
+        final List<Map.Entry<Currency, BigDecimal>> rates = List.of(
+                Map.entry(Currency.getInstance("PLN"), new BigDecimal("0.25")),
+                Map.entry(Currency.getInstance("PLN"), new BigDecimal("0.26")),
+                Map.entry(Currency.getInstance("EUR"), BigDecimal.ONE)
+        );
+
+        final List<Money> money = List.of(
+                new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")),
+                new Money(BigDecimal.valueOf(5), Currency.getInstance("USD")),
+                new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR"))
+        );
+
+        final List<Money> results = money.stream()
+                .gather(GatherersFactory.<Money, Currency, Map.Entry<Currency, BigDecimal>>semiJoin(
+                        rates,
+                        Map.Entry::getKey,
+                        Money::currency))
+                .toList();
+
+        assertEquals(List.of(money.get(0), money.get(2)), results);    // Once each despite the two PLN rates
+    }
+
+    @Test
+    public void testCustomStreamingGroupGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customStreamingGroupGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+
+        @SuppressWarnings("unchecked")
+        final List<Group<String, String>> groups = (List<Group<String, String>>) o;
+
+        assertNotNull(groups);
+        assertEquals(2, groups.size());
+
+        assertEquals(new Group<>("order-1", List.of("order-1:open", "order-1:pay", "order-1:end")), groups.get(0));
+        assertEquals(new Group<>("order-2", List.of("order-2:open", "order-2:end")), groups.get(1));
+    }
+
+    @Test
+    public void testCustomThrottleGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customThrottleGatherer");
+
+        method.setAccessible(true);
+
+        final long start = System.nanoTime();
+        final Object o = method.invoke(demo);
+        final long elapsed = System.nanoTime() - start;
+
+        final List<?> list = castToType(List.class, o);
+        final List<Integer> numbers = listToTypedList(list, Integer.class);
+
+        assertNotNull(numbers);
+        assertEquals(List.of(1, 2, 3, 4, 5), numbers);
+        assertTrue(elapsed >= Duration.ofMillis(35).toNanos());
+    }
+
+    @Test
+    public void testCustomDebounceGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customDebounceGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<String> queries = listToTypedList(list, String.class);
+
+        assertNotNull(queries);
+        assertEquals(List.of("java"), queries);
+    }
+
+    @Test
+    public void testCustomPrimitiveScan() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customPrimitiveScan");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final int[] sums = castToType(int[].class, o);
+
+        assertNotNull(sums);
+        assertArrayEquals(new int[] {1, 3, 6, 10, 15}, sums);
+    }
+
+    @Test
+    public void testCustomPrimitiveDistinct() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customPrimitiveDistinct");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final double[] values = castToType(double[].class, o);
+
+        assertNotNull(values);
+        assertArrayEquals(new double[] {1.5, 2.5, 3.5}, values, 0.0);
+    }
+
+    @Test
+    public void testCustomPrimitiveWindowSliding() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customPrimitiveWindowSliding");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<long[]> windows = listToTypedList(list, long[].class);
+
+        assertNotNull(windows);
+        assertEquals(3, windows.size());
+
+        assertArrayEquals(new long[] {1, 2, 3}, windows.get(0));
+        assertArrayEquals(new long[] {2, 3, 4}, windows.get(1));
+        assertArrayEquals(new long[] {3, 4, 5}, windows.get(2));
+    }
+
+    @Test
+    public void testCustomDiagnosticGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customDiagnosticGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<StepDiagnostics> diagnostics = listToTypedList(list, StepDiagnostics.class);
+
+        assertNotNull(diagnostics);
+        assertEquals(2, diagnostics.size());
+
+        assertEquals("distinctBy", diagnostics.get(0).name());
+        assertTrue(diagnostics.get(0).sequential());
+        assertEquals(10_000, diagnostics.get(0).elements());
+        assertEquals("maxBy", diagnostics.get(1).name());
+        assertFalse(diagnostics.get(1).sequential());
+        assertEquals(100, diagnostics.get(1).elements());
+    }
+
+    @Test
+    public void testDiagnosticGathererFlagsOnlyParallelStreams() {
+        final List<String> flagged = new CopyOnWriteArrayList<>();
+
+        final long sequential = IntStream.range(0, 1_000)
+                .boxed()
+                .gather(GatherersFactory.diagnose("distinctBy", GatherersFactory.distinctBy((Integer i) -> i % 10), flagged::add, false))
+                .count();
+
+        assertEquals(10, sequential);
+        assertTrue(flagged.isEmpty());
+
+        final long parallel = IntStream.range(0, 1_000)
+                .boxed()
+                .parallel()
+                .gather(GatherersFactory.diagnose("distinctBy", GatherersFactory.distinctBy((Integer i) -> i % 10), flagged::add, true))
+                .count();
+
+        assertEquals(10, parallel);
+        assertEquals(List.of("distinctBy"), flagged);
+    }
+
+    @Test
+    public void testPipelineDiagnoseFlagsStepsThatSerializeIt() {
+        final List<String> flagged = new CopyOnWriteArrayList<>();
+
+        final var pipeline = GatherersFactory.pipeline(IntStream.range(0, 20_000).boxed().toList())
+                .gather(GatherersFactory.distinctBy((Integer i) -> i % 100))
+                .gather(GatherersFactory.maxBy((Integer i) -> i))
+                .diagnose(flagged::add);
+
+        assertEquals(Optional.of(99), pipeline.stream().findFirst());
+
+        final List<String> expected = ForkJoinPool.getCommonPoolParallelism() > 1
+                ? List.of("DistinctByGatherer")
+                : List.of();
+
+        assertEquals(expected, flagged);
+        assertEquals(List.of("DistinctByGatherer"), pipeline.sequentialSteps());
+
+        final List<StepDiagnostics> diagnostics = pipeline.diagnostics();
+
+        assertEquals(20_000, diagnostics.get(0).elements());
+        assertEquals(100, diagnostics.get(1).elements());
+        assertEquals(diagnostics.get(0).time(), pipeline.sequentialTime());
+    }
+
+    @Test
+    public void testCustomRecordedGatherer() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customRecordedGatherer");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<String> events = listToTypedList(list, String.class);
+
+        assertNotNull(events);
+        assertEquals(List.of("distinctBy: 1000"), events);
+    }
+
+    @Test
+    public void testCustomBudgetedGatherers() throws Exception {
+        final var demo = new StreamGatherersDemo();
+        final var method = StreamGatherersDemo.class.getDeclaredMethod("customBudgetedGatherers");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final SortedMap<?, ?> metrics = castToType(SortedMap.class, o);
+
+        assertNotNull(metrics);
+        assertEquals(1L, metrics.get("failFast.breaches"));
+        assertEquals(1L, metrics.get("approximate.breaches"));
+        assertEquals(16_384L, metrics.get("approximate.stateBytes"));
+        assertEquals(0L, metrics.get("approximate.filterOverflow"));
+        assertTrue((Long) metrics.get("approximate.falsePositivePpm") > 0);
+        assertTrue((Long) metrics.get("approximate.falsePositivePpm") < 10_000);
+        assertTrue((Long) metrics.get("spill.breaches") > 1);
+        assertEquals(0L, metrics.get("spill.stateBytes"));
+        assertTrue((Long) metrics.get("spill.stateBytes.max") > 16_384);
+    }
+
+    @Test
+    public void testStateBudgetGaugeAddsUpTheMeters() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final StateBudget<Integer> budget = new StateBudget<>("meters", 1_000_000, StateBudget.Policy.SPILL, 1, _ -> 60L, registry);
+        final StateBudget.Meter<Integer> first = budget.meter();
+        final StateBudget.Meter<Integer> second = budget.meter();
+
+        first.observe(3, 1);        // One hundred bytes per entry
+        second.observe(2, 1);
+
+        assertEquals(500L, registry.gauge("meters.stateBytes").value());
+
+        first.reset(0);
+
+        assertEquals(200L, registry.gauge("meters.stateBytes").value());
+        assertEquals(500L, registry.gauge("meters.stateBytes").max());
+
+        second.reset(0);
+
+        assertEquals(0L, registry.gauge("meters.stateBytes").value());
+        assertEquals(500L, registry.gauge("meters.stateBytes").max());
+    }
+
+    @Test
+    public void testReduceByDeletesSpillFilesWhenTheStreamFails() throws IOException {
+        final StateBudget<Money> spill = new StateBudget<>("failingSpill", 16_384, StateBudget.Policy.SPILL,
+                StateBudget.DEFAULT_SAMPLING_INTERVAL, StateBudget::estimate, new MetricsRegistry());
+        final long before = this.countSpillFiles();
+
+        try {
+            IntStream.rangeClosed(1, 20_000)
+                    .mapToObj(i -> new Money(BigDecimal.valueOf(i), Currency.getInstance("PLN")))
+                    .gather(GatherersFactory.reduceBy((Money m) -> m.amount().intValue() % 5_000,
+                                                      (Money _, Money _) -> {
+                                                          throw new IllegalStateException("Reduction failed");
+                                                      },
+                                                      spill,
+                                                      new MoneyCodec()))
+                    .toList();
+
+            fail("The reduction should have failed");
+        } catch (final IllegalStateException _) {
+            // Thrown by the first reduction, after the state has spilled
+        }
+
+        assertEquals(before, this.countSpillFiles());
+    }
+
+    private long countSpillFiles() throws IOException {
+        try (final Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("reduce-spill-")).count();
+        }
+    }
+
+    private List<Money> getMoney() {
+        return List.of(
+                new Money(BigDecimal.valueOf(12), Currency.getInstance("PLN")),
+                new Money(BigDecimal.valueOf(11), Currency.getInstance("EUR")),
+                new Money(BigDecimal.valueOf(15), Currency.getInstance("PLN"))
+        );
+    }
+
+    private List<String> values(final TimeWindow<Map.Entry<Long, String>> window) {
+        return window.elements()
+                .stream()
+                .map(Map.Entry::getValue)
+                .toList();
     }
 }
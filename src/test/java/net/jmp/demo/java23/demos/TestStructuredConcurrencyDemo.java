@@ -29,6 +29,14 @@ package net.jmp.demo.java23.demos;
 
 import module java.base;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import net.jmp.demo.java23.events.ScopeForkEvent;
+import net.jmp.demo.java23.events.ScopeJoinEvent;
+import net.jmp.demo.java23.events.SubtaskEvent;
+
 import static net.jmp.util.testing.testutil.TestUtils.*;
 
 import static org.junit.Assert.*;
@@ -129,4 +137,67 @@ public final class TestStructuredConcurrencyDemo {
 
         results.forEach(result -> assertTrue(expected.contains(result)));
     }
+
+    @Test
+    public void testCustomPolicyRecordsScopeEvents() throws Exception {
+        final var demo = new StructuredConcurrencyDemo();
+        final var method = StructuredConcurrencyDemo.class.getDeclaredMethod("customPolicy");
+
+        method.setAccessible(true);
+
+        final Path file = Files.createTempFile("scopes-", ".jfr");
+
+        try {
+            try (final Recording recording = new Recording()) {
+                recording.enable(ScopeForkEvent.NAME).withoutStackTrace();
+                recording.enable(ScopeJoinEvent.NAME);
+                recording.enable(SubtaskEvent.NAME);
+                recording.start();
+
+                method.invoke(demo);
+
+                recording.stop();
+                recording.dump(file);
+            }
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> Set.of(ScopeForkEvent.NAME, ScopeJoinEvent.NAME, SubtaskEvent.NAME).contains(event.getEventType().getName()))
+                    .filter(event -> "Custom scope".equals(event.getString("scope")))
+                    .toList();
+
+            final Set<Long> forks = this.subtasks(events, ScopeForkEvent.NAME);
+            final Set<Long> subtasks = this.subtasks(events, SubtaskEvent.NAME);
+
+            assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L), forks);
+            assertEquals(forks, subtasks);
+
+            final Set<Long> failed = events.stream()
+                    .filter(event -> event.getEventType().getName().equals(SubtaskEvent.NAME))
+                    .filter(event -> !event.getBoolean("succeeded"))
+                    .map(event -> event.getLong("subtask"))
+                    .collect(Collectors.toSet());
+
+            assertEquals(Set.of(3L, 6L), failed);     // The divisions by zero
+
+            final List<Long> joins = events.stream()
+                    .filter(event -> event.getEventType().getName().equals(ScopeJoinEvent.NAME))
+                    .map(event -> event.getLong("forked"))
+                    .toList();
+
+            assertEquals(List.of(6L), joins);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Set<Long> subtasks(final List<RecordedEvent> events, final String name) {
+        final List<Long> numbers = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .map(event -> event.getLong("subtask"))
+                .toList();
+
+        assertEquals(numbers.size(), new HashSet<>(numbers).size());   // Each subtask is recorded once
+
+        return Set.copyOf(numbers);
+    }
 }
@@ -0,0 +1,151 @@
+package net.jmp.demo.java23.demos;
+
+/*
+ * (#)TestVectorApiDemo.java    0.9.0   10/19/2026
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import module java.base;
+
+import net.jmp.demo.java23.util.NumericKernels;
+import net.jmp.demo.java23.util.VectorKernels;
+
+import static net.jmp.util.testing.testutil.TestUtils.*;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/// The test class for VectorApiDemo.
+///
+/// @version    0.9.0
+/// @since      0.9.0
+public final class TestVectorApiDemo {
+    @Test
+    public void testBatchSums() throws Exception {
+        final var demo = new VectorApiDemo();
+        final var method = VectorApiDemo.class.getDeclaredMethod("batchSums");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<Double> sums = listToTypedList(list, Double.class);
+
+        assertNotNull(sums);
+        assertEquals(List.of(15.0, 40.0, 65.0, 90.0), sums);
+    }
+
+    @Test
+    public void testBatchCounts() throws Exception {
+        final var demo = new VectorApiDemo();
+        final var method = VectorApiDemo.class.getDeclaredMethod("batchCounts");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final List<?> list = castToType(List.class, o);
+        final List<Long> counts = listToTypedList(list, Long.class);
+
+        assertNotNull(counts);
+        assertEquals(List.of(0L, 1L, 2L), counts);
+    }
+
+    @Test
+    public void testWindowMaximums() throws Exception {
+        final var demo = new VectorApiDemo();
+        final var method = VectorApiDemo.class.getDeclaredMethod("windowMaximums");
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo);
+        final double[] maximums = castToType(double[].class, o);
+
+        assertNotNull(maximums);
+        assertArrayEquals(new double[] {4.5, 8.0, 7.0}, maximums, 0.0);
+    }
+
+    @Test
+    public void testBenchmark() throws Exception {
+        final var demo = new VectorApiDemo();
+        final var method = VectorApiDemo.class.getDeclaredMethod("benchmark", int.class, int.class, int.class);
+
+        method.setAccessible(true);
+
+        final Object o = method.invoke(demo, 1_024, 1, 1);    // A smoke run; the demo times the full benchmark
+        final List<?> list = castToType(List.class, o);
+        final List<String> results = listToTypedList(list, String.class);
+
+        assertNotNull(results);
+        assertEquals(4, results.size());
+
+        assertTrue(results.get(0).startsWith("sum: scalar "));
+        assertTrue(results.get(1).startsWith("min: scalar "));
+        assertTrue(results.get(2).startsWith("max: scalar "));
+        assertTrue(results.get(3).startsWith("count: scalar "));
+    }
+
+    @Test
+    public void testPreferredDoubleKernelsMatchScalar() {
+        final NumericKernels scalar = VectorKernels.scalar();
+        final NumericKernels preferred = VectorKernels.preferred();
+        final double[] values = new SplittableRandom(45).doubles(200_010, -1.0, 1.0).toArray();
+
+        for (final int length : this.lengths()) {
+            for (final int from : new int[] {0, 1, 3}) {
+                final int to = from + length;
+                final String range = from + ".." + to;
+
+                assertEquals(range, scalar.min(values, from, to), preferred.min(values, from, to), 0.0);
+                assertEquals(range, scalar.max(values, from, to), preferred.max(values, from, to), 0.0);
+                assertEquals(range, scalar.countGreaterThan(values, from, to, 0.25), preferred.countGreaterThan(values, from, to, 0.25));
+                assertEquals(range, scalar.sum(values, from, to), preferred.sum(values, from, to), 1e-12 * Math.max(1, length));
+            }
+        }
+    }
+
+    @Test
+    public void testPreferredLongKernelsMatchScalar() {
+        final NumericKernels scalar = VectorKernels.scalar();
+        final NumericKernels preferred = VectorKernels.preferred();
+        final long[] values = new SplittableRandom(45).longs(200_010).toArray();
+
+        for (final int length : this.lengths()) {
+            for (final int from : new int[] {0, 1, 3}) {
+                final int to = from + length;
+                final String range = from + ".." + to;
+
+                assertEquals(range, scalar.min(values, from, to), preferred.min(values, from, to));
+                assertEquals(range, scalar.max(values, from, to), preferred.max(values, from, to));
+                assertEquals(range, scalar.sum(values, from, to), preferred.sum(values, from, to));
+            }
+        }
+    }
+
+    private int[] lengths() {
+        final int lanes = VectorKernels.doubleLanes();
+
+        return new int[] {0, 1, Math.max(0, lanes - 1), lanes, 2 * lanes + 1, 200_001};
+    }
+}